@@ -103,6 +103,27 @@ tasks {
         jvmArgs("--enable-preview")
     }
 
+    named<Test>("test") {
+        useJUnitPlatform {
+            excludeTags("benchmark")
+        }
+    }
+
+    create<Test>("benchmark") {
+        description = "Runs the benchmarks in the test source set."
+
+        useJUnitPlatform {
+            includeTags("benchmark")
+        }
+
+        systemProperties(
+            "junit.jupiter.execution.timeout.testable.method.default" to "10 m"
+        )
+        maxHeapSize = "2g"
+        testLogging.showStandardStreams = true
+        outputs.upToDateWhen { false }
+    }
+
     create<Test>("testProvided") {
         useJUnitPlatform {
             includeTags("provided")
@@ -111,6 +132,30 @@ tasks {
         }
     }
 
+    create<JavaExec>("selfPlay") {
+        description = "Plays a puzzle headlessly with robots, e.g. --args='puzzles/04-random.game Smart 100000'."
+
+        classpath = sourceSets.main.get().runtimeClasspath
+        mainClass.set("hk.ust.cse.sim.SelfPlayEngine")
+        workingDir = rootDir
+    }
+
+    create<JavaExec>("packPuzzles") {
+        description = "Builds a pack file from a directory of game files, e.g. --args='puzzles puzzles.gamepack'."
+
+        classpath = sourceSets.main.get().runtimeClasspath
+        mainClass.set("hk.ust.cse.util.GamePack")
+        workingDir = rootDir
+    }
+
+    create<JavaExec>("replay") {
+        description = "Replays a recorded game and checks the scores, e.g. --args='puzzles/02-mines.game game.replay 42'."
+
+        classpath = sourceSets.main.get().runtimeClasspath
+        mainClass.set("hk.ust.cse.sim.ReplayEngine")
+        workingDir = rootDir
+    }
+
     create<ProGuardTask>("proguard") {
         injars(jar.flatMap { it.archiveFile })
         outjars(jar.flatMap { it.destinationDirectory.file("${project.name}-proguard.jar") })
@@ -1,6 +1,7 @@
 package hk.ust.cse;
 
 import hk.ust.cse.model.GameState;
+import hk.ust.cse.view.controls.SpriteAtlas;
 import hk.ust.cse.view.panes.MainGamePane;
 import hk.ust.cse.view.panes.MainMenuPane;
 import javafx.scene.Scene;
@@ -31,6 +32,9 @@ public class InertiaFxGame {
      * Starts the game application.
      */
     public void run() {
+        // Decode the sprites while the main menu is shown, so that the first game board is displayed without delay
+        SpriteAtlas.getDefault().preloadAsync();
+
         primaryStage.setTitle("Inertia Game");
         primaryStage.setWidth(WINDOW_WIDTH);
         primaryStage.setHeight(WINDOW_HEIGHT);
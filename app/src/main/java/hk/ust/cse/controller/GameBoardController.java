@@ -17,16 +17,68 @@ import java.util.Objects;
  */
 public class GameBoardController {
 
+    /**
+     * Algorithms which can be used to resolve a move.
+     *
+     * <p>
+     * All engines produce identical {@link MoveResult}s; They only differ in performance characteristics.
+     * </p>
+     */
+    public enum MoveEngine {
+        /**
+         * Resolves moves using the {@link SlideTable} of the game board, visiting each entity along the slide.
+         */
+        SLIDE_TABLE,
+        /**
+         * Resolves moves using the {@link BitBoard} of the game board, scanning 64 cells along the slide at a time.
+         */
+        BITBOARD
+    }
+
     @NotNull
     private final GameBoard gameBoard;
 
+    @NotNull
+    private final MoveEngine moveEngine;
+
     /**
-     * Creates an instance.
+     * The buffer which {@link GameBoardController#tryMove} evaluates moves into. Guarded by the lock of this instance.
+     */
+    @NotNull
+    private final MoveBuffer moveBuffer = new MoveBuffer();
+
+    /**
+     * Creates an instance which uses the default {@link MoveEngine} of the game board.
+     *
+     * <p>
+     * Game boards using packed storage use {@link MoveEngine#BITBOARD}, whose masks cost less than two bytes per
+     * cell, so that the memory saved by the packed storage is not spent on a {@link SlideTable}. All other game
+     * boards use {@link MoveEngine#SLIDE_TABLE}.
+     * </p>
      *
      * @param gameBoard The instance of {@link GameBoard} to control.
      */
     public GameBoardController(@NotNull final GameBoard gameBoard) {
+        this(gameBoard, gameBoard.isPacked() ? MoveEngine.BITBOARD : MoveEngine.SLIDE_TABLE);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param gameBoard  The instance of {@link GameBoard} to control.
+     * @param moveEngine The algorithm used to resolve moves.
+     */
+    public GameBoardController(@NotNull final GameBoard gameBoard, @NotNull final MoveEngine moveEngine) {
         this.gameBoard = Objects.requireNonNull(gameBoard);
+        this.moveEngine = Objects.requireNonNull(moveEngine);
+    }
+
+    /**
+     * @return The algorithm used by this instance to resolve moves.
+     */
+    @NotNull
+    public MoveEngine getMoveEngine() {
+        return moveEngine;
     }
 
     /**
@@ -85,27 +137,52 @@ public class GameBoardController {
         final var origPosition = playerOwner.getPosition();
         final var tryMoveResult = tryMove(origPosition, direction, playerID);
         if (tryMoveResult instanceof MoveResult.Valid.Alive alive) {
-            // Clear all outstanding entities that the player would've picked up
-            for (@NotNull final var gemPos : alive.collectedGems) {
-                gameBoard.getEntityCell(gemPos).setEntity(null);
-            }
-            for (@NotNull final var extraLifePos : alive.collectedExtraLives) {
-                gameBoard.getEntityCell(extraLifePos).setEntity(null);
-            }
-
-            // Move the player directly over
-            assert alive.newPosition != null;
-            gameBoard.getEntityCell(alive.newPosition).setEntity(gameBoard.getPlayer(playerID));
+            applyMove(alive, playerID);
         }
 
         return tryMoveResult;
     }
 
+    /**
+     * Applies the changes of a move which leaves the player alive to the game board, i.e. removes the collected
+     * entities and moves the player to its new position.
+     * Thread synchronization: make move
+     *
+     * <p>
+     * The move is not checked against the game board. This is used by {@link GameBoardController#makeMove} after
+     * finding the result of the move, and for re-applying moves which were previously made on the same game board,
+     * e.g. when restoring a checkpoint.
+     * </p>
+     *
+     * @param alive    The result of the move.
+     * @param playerID The id of the player who made the move.
+     */
+    public synchronized void applyMove(@NotNull final MoveResult.Valid.Alive alive, int playerID) {
+        Objects.requireNonNull(alive);
+
+        // Clear all outstanding entities that the player would've picked up
+        for (@NotNull final var gemPos : alive.collectedGems) {
+            gameBoard.getEntityCell(gemPos).setEntity(null);
+        }
+        for (@NotNull final var extraLifePos : alive.collectedExtraLives) {
+            gameBoard.getEntityCell(extraLifePos).setEntity(null);
+        }
+
+        // Move the player directly over
+        assert alive.newPosition != null;
+        gameBoard.getEntityCell(alive.newPosition).setEntity(gameBoard.getPlayer(playerID));
+    }
+
 
     /**
      * Undoes a move by reverting all changes performed by the specified move.
      * Thread synchronization: undo move
      *
+     * <p>
+     * The collected gems and extra lives are restored as {@link Gem#SHARED} and {@link ExtraLife#SHARED}, so undoing a
+     * move does not allocate any entity.
+     * </p>
+     *
      * @param prevMove The {@link MoveResult} object to revert.
      */
     public synchronized void undoMove(@NotNull final MoveResult prevMove) {
@@ -123,10 +200,10 @@ public class GameBoardController {
         gameBoard.getEntityCell(aliveState.origPosition).setEntity(gameBoard.getPlayer());
 
         for (@NotNull final var gemPos : aliveState.collectedGems) {
-            gameBoard.getEntityCell(gemPos).setEntity(new Gem());
+            gameBoard.getEntityCell(gemPos).setEntity(Gem.SHARED);
         }
         for (@NotNull final var extraLifePos : aliveState.collectedExtraLives) {
-            gameBoard.getEntityCell(extraLifePos).setEntity(new ExtraLife());
+            gameBoard.getEntityCell(extraLifePos).setEntity(ExtraLife.SHARED);
         }
     }
 
@@ -138,6 +215,10 @@ public class GameBoardController {
      * Note that this method does <b>NOT</b> actually move the player. It just tries to move the player and return
      * the state of the player as-if it has been moved.
      * </p>
+     * <p>
+     * The slide is resolved by the {@link MoveEngine} of this instance. Callers evaluating many moves should use
+     * {@link GameBoardController#evaluateMove} instead, which does not allocate any object.
+     * </p>
      *
      * @param position  The original position of the player.
      * @param direction The direction to move the player in.
@@ -149,73 +230,268 @@ public class GameBoardController {
         Objects.requireNonNull(position);
         Objects.requireNonNull(direction);
 
-        final var collectedGems = new ArrayList<Position>();
-        final var collectedExtraLives = new ArrayList<Position>();
-        Position lastValidPosition = position;
-        do {
-            final Position newPosition = offsetPosition(lastValidPosition, direction);
-            if (newPosition == null) {
+        final var index = gameBoard.indexOf(position);
+        final var origPosition = positionAt(index);
+        final var buffer = moveBuffer;
+        evaluateMove(index, direction, playerID, buffer);
+
+        return switch (buffer.getOutcome()) {
+            case MoveBuffer.ALIVE -> {
+                final var collectedGems = new ArrayList<Position>(buffer.getNumGems());
+                for (int i = 0; i < buffer.getNumGems(); ++i) {
+                    collectedGems.add(positionAt(buffer.getGemIndex(i)));
+                }
+                final var collectedExtraLives = new ArrayList<Position>(buffer.getNumExtraLives());
+                for (int i = 0; i < buffer.getNumExtraLives(); ++i) {
+                    collectedExtraLives.add(positionAt(buffer.getExtraLifeIndex(i)));
+                }
+                yield new MoveResult.Valid.Alive(positionAt(buffer.getNewIndex()), origPosition, collectedGems,
+                        collectedExtraLives);
+            }
+            case MoveBuffer.DEAD -> new MoveResult.Valid.Dead(origPosition, positionAt(buffer.getMineIndex()));
+            default -> new MoveResult.Invalid(origPosition);
+        };
+    }
+
+    /**
+     * Evaluates the move of the player from a cell in the specified direction, without moving the player, and writes
+     * the result into a buffer.
+     * Thread synchronization: try move
+     *
+     * <p>
+     * This is the allocation-free counterpart of {@link GameBoardController#tryMove}, for hot loops such as robots and
+     * solvers evaluating many moves. The results of both methods always agree.
+     * </p>
+     *
+     * @param index     The index of the cell of the player, i.e. {@code row * numCols + col}.
+     * @param direction The direction to move the player in.
+     * @param playerID  The id of the player to move.
+     * @param buffer    The buffer to write the result into, overwriting its previous content.
+     */
+    public synchronized void evaluateMove(final int index, @NotNull final Direction direction, final int playerID,
+                                          @NotNull final MoveBuffer buffer) {
+        Objects.requireNonNull(direction);
+        Objects.checkIndex(index, gameBoard.getNumRows() * gameBoard.getNumCols());
+
+        buffer.reset(index);
+        switch (moveEngine) {
+            case SLIDE_TABLE -> evaluateWithSlideTable(index, direction, playerID, buffer);
+            case BITBOARD -> evaluateWithBitBoard(index, direction, playerID, buffer);
+        }
+    }
+
+    /**
+     * Evaluates the move of a player from a cell of a {@link BoardSnapshot} in the specified direction, and writes the
+     * result into a buffer.
+     *
+     * <p>
+     * This is the counterpart of {@link GameBoardController#evaluateMove(int, Direction, int, MoveBuffer)} for
+     * snapshots, which lets robots and solvers explore the moves of a game board without holding its lock. The slide
+     * is resolved by walking the cells along the way, and the cell of the moving player in the snapshot does not block
+     * its own slide.
+     * </p>
+     *
+     * @param snapshot  The snapshot to evaluate the move on.
+     * @param index     The index of the cell of the player, i.e. {@code row * numCols + col}.
+     * @param direction The direction to move the player in.
+     * @param playerID  The id of the player to move.
+     * @param buffer    The buffer to write the result into, overwriting its previous content.
+     */
+    public static void evaluateMove(@NotNull final BoardSnapshot snapshot, final int index,
+                                    @NotNull final Direction direction, final int playerID,
+                                    @NotNull final MoveBuffer buffer) {
+        Objects.requireNonNull(snapshot);
+        Objects.requireNonNull(direction);
+        final var numRows = snapshot.getNumRows();
+        final var numCols = snapshot.getNumCols();
+        Objects.checkIndex(index, numRows * numCols);
+
+        var playerIndex = -1;
+        try {
+            final var playerPosition = snapshot.getPlayerPosition(playerID);
+            if (playerPosition != null) {
+                playerIndex = playerPosition.row() * numCols + playerPosition.col();
+            }
+        } catch (IllegalArgumentException e) {
+            // The moving player is not on the snapshot at all, so every player blocks the slide
+        }
+
+        buffer.reset(index);
+        var r = index / numCols;
+        var c = index % numCols;
+        var current = index;
+        while (true) {
+            r += direction.getRowOffset();
+            c += direction.getColOffset();
+            if (r < 0 || r >= numRows || c < 0 || c >= numCols) {
                 break;
             }
 
+            final var next = r * numCols + c;
+            final var code = snapshot.getCellCode(next);
             // in multiplayer mode, we consider other players as a wall.
-            if (gameBoard.getCell(newPosition) instanceof EntityCell entityCell)
-                if (entityCell.getEntity() instanceof Player otherPlayer)
-                    if (otherPlayer.getId() != playerID)
-                        break;
+            if (code == CellCode.WALL || (CellCode.hasPlayer(code) && next != playerIndex)) {
+                break;
+            }
+            if (code == CellCode.MINE) {
+                buffer.setDead(next);
+                return;
+            }
 
+            if (code == CellCode.GEM) {
+                buffer.addGem(next);
+            } else if (code == CellCode.EXTRA_LIFE) {
+                buffer.addExtraLife(next);
+            }
 
-            lastValidPosition = newPosition;
+            current = next;
+            if (CellCode.isStopCell(code)) {
+                break;
+            }
+        }
 
-            if (gameBoard.getCell(newPosition) instanceof StopCell) {
+        if (current != index) {
+            buffer.setAlive(current);
+        }
+    }
+
+    /**
+     * Implementation of {@link GameBoardController#evaluateMove} for {@link MoveEngine#SLIDE_TABLE}.
+     *
+     * <p>
+     * The stop cell of the slide is looked up directly, and only the cells holding an entity along the way are
+     * visited. Entities are identified by the {@link CellCode}s of the game board, so that cells of a packed game
+     * board are not materialized by this method.
+     * </p>
+     */
+    private void evaluateWithSlideTable(final int index, @NotNull final Direction direction, final int playerID,
+                                        @NotNull final MoveBuffer buffer) {
+        final var slideTable = gameBoard.getSlideTable();
+        final var stop = slideTable.getStop(index, direction);
+        if (stop == index) {
+            return;
+        }
+
+        var lastValidIndex = stop;
+        for (int i = slideTable.getNextOccupied(index, direction); i != SlideTable.NONE;
+             i = slideTable.getNextOccupied(i, direction)) {
+            final var code = gameBoard.getCellCode(i);
+
+            // in multiplayer mode, we consider other players as a wall.
+            if (CellCode.hasPlayer(code) && isOtherPlayer(i, playerID)) {
+                lastValidIndex = i - (direction.getRowOffset() * gameBoard.getNumCols() + direction.getColOffset());
                 break;
             }
 
-            if (gameBoard.getCell(newPosition) instanceof EntityCell entityCell) {
-                if (entityCell.getEntity() instanceof Mine) {
-                    return new MoveResult.Valid.Dead(position, newPosition);
-                }
+            if (code == CellCode.MINE) {
+                buffer.setDead(i);
+                return;
+            }
 
-                if (entityCell.getEntity() instanceof Gem) {
-                    collectedGems.add(newPosition);
-                } else if (entityCell.getEntity() instanceof ExtraLife) {
-                    collectedExtraLives.add(newPosition);
-                }
+            if (code == CellCode.GEM) {
+                buffer.addGem(i);
+            } else if (code == CellCode.EXTRA_LIFE) {
+                buffer.addExtraLife(i);
             }
-        } while (true);
 
-        if (lastValidPosition.equals(position)) {
-            return new MoveResult.Invalid(position);
+            if (i == stop) {
+                break;
+            }
         }
 
-        return new MoveResult.Valid.Alive(lastValidPosition, position, collectedGems, collectedExtraLives);
+        if (lastValidIndex != index) {
+            buffer.setAlive(lastValidIndex);
+        }
     }
 
     /**
-     * Offsets the {@link Position} in the specified {@link Direction} by one step.
+     * Implementation of {@link GameBoardController#evaluateMove} for {@link MoveEngine#BITBOARD}.
      *
-     * @param position  The original position.
-     * @param direction The direction to offset.
-     * @return The given position offset by one in the specified direction. If the new position is outside of the game
-     * board, or contains a non-{@link EntityCell}, returns {@code null}.
+     * <p>
+     * The extent of the slide is found by scanning the masks of walls, stop cells and players, and the entities
+     * encountered are found by scanning the masks of mines, gems and extra lives over the travelled span.
+     * </p>
      */
-    @Nullable
-    private Position offsetPosition(
-            @NotNull final Position position,
-            @NotNull final Direction direction
-    ) {
-        Objects.requireNonNull(position);
-        Objects.requireNonNull(direction);
+    private void evaluateWithBitBoard(final int index, @NotNull final Direction direction, final int playerID,
+                                      @NotNull final MoveBuffer buffer) {
+        final var bitBoard = gameBoard.getBitBoard();
+        final var stride = direction.getRowOffset() * gameBoard.getNumCols() + direction.getColOffset();
+
+        var steps = bitBoard.getStepsToBorder(index, direction);
+        final var wall = bitBoard.findNext(BitBoard.Layer.WALL, index, direction, 1, steps);
+        if (wall != BitBoard.NONE) {
+            steps = wall - 1;
+        }
+        final var stop = bitBoard.findNext(BitBoard.Layer.STOP_CELL, index, direction, 1, steps);
+        if (stop != BitBoard.NONE) {
+            steps = stop;
+        }
 
-        final var newPos = position.offsetByOrNull(direction.getOffset(), gameBoard.getNumRows(), gameBoard.getNumCols());
+        // in multiplayer mode, we consider other players as a wall.
+        for (int i = bitBoard.findNext(BitBoard.Layer.PLAYER, index, direction, 1, steps); i != BitBoard.NONE;
+             i = bitBoard.findNext(BitBoard.Layer.PLAYER, index, direction, i + 1, steps)) {
+            if (isOtherPlayer(index + i * stride, playerID)) {
+                steps = i - 1;
+                break;
+            }
+        }
 
-        if (newPos == null) {
-            return null;
+        if (steps == 0) {
+            return;
         }
-        if (!(gameBoard.getCell(newPos) instanceof EntityCell)) {
-            return null;
+
+        final var mine = bitBoard.findNext(BitBoard.Layer.MINE, index, direction, 1, steps);
+        if (mine != BitBoard.NONE) {
+            buffer.setDead(index + mine * stride);
+            return;
+        }
+
+        for (int i = bitBoard.findNext(BitBoard.Layer.GEM, index, direction, 1, steps); i != BitBoard.NONE;
+             i = bitBoard.findNext(BitBoard.Layer.GEM, index, direction, i + 1, steps)) {
+            buffer.addGem(index + i * stride);
+        }
+        for (int i = bitBoard.findNext(BitBoard.Layer.EXTRA_LIFE, index, direction, 1, steps); i != BitBoard.NONE;
+             i = bitBoard.findNext(BitBoard.Layer.EXTRA_LIFE, index, direction, i + 1, steps)) {
+            buffer.addExtraLife(index + i * stride);
         }
+        buffer.setAlive(index + steps * stride);
+    }
 
-        return newPos;
+    /**
+     * Checks whether the player on a cell is not the moving player, without materializing the cell.
+     *
+     * <p>
+     * The moving player may be evaluated from a cell other than its own, e.g. by a solver exploring moves, in which
+     * case the moving player does not block its own slide.
+     * </p>
+     *
+     * @param index    The index of a cell holding a player.
+     * @param playerID The id of the moving player.
+     * @return Whether the player on the cell is another player.
+     */
+    private boolean isOtherPlayer(final int index, final int playerID) {
+        final Player player;
+        try {
+            player = gameBoard.getPlayer(playerID);
+        } catch (IllegalArgumentException e) {
+            // The moving player is not on this game board at all
+            return true;
+        }
+
+        final var owner = player.getOwner();
+        if (owner == null) {
+            return true;
+        }
+        final var position = owner.getPosition();
+        return index != position.row() * gameBoard.getNumCols() + position.col();
+    }
+
+    /**
+     * @param index The index of a cell, as used by {@link SlideTable}.
+     * @return The canonical {@link Position} of the cell at the index.
+     */
+    @NotNull
+    private Position positionAt(final int index) {
+        return gameBoard.getPosition(index);
     }
 }
@@ -7,8 +7,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Controller for {@link InertiaFxGame}.
@@ -25,6 +27,12 @@ public class GameController {
     @NotNull
     private final Map<Integer, GameState> gameStates;
 
+    /**
+     * The listeners notified of every processed move and undo.
+     */
+    @NotNull
+    private final List<MoveListener> moveListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Gets the current {@link GameState} controlled by the controller if the game is single player mode.
      *
@@ -106,20 +114,65 @@ public class GameController {
 
     /**
      * Processes a Move action performed by the player.
-     * Thread synchronization: process move
+     * Thread synchronization: process move, holding the lock of the shared {@link GameBoard} so that moves made by
+     * different threads, e.g. robots and the JavaFX thread, are serialized. Callers which need to read the game board
+     * consistently with the move should hold the same lock.
      *
      * @param direction The direction the player wants to move to.
      * @param playerID  ID of the player to move.
      * @return An instance of {@link MoveResult} indicating the result of the action.
      */
-    public synchronized MoveResult processMove(@NotNull final Direction direction, int playerID) {
+    public MoveResult processMove(@NotNull final Direction direction, int playerID) {
         Objects.requireNonNull(direction);
 
-        var result = this.getGameState(playerID).getGameBoardController().makeMove(direction, playerID);
-        if (result == null) {
-            return null;
+        synchronized (getGameBoard()) {
+            var result = this.getGameState(playerID).getGameBoardController().makeMove(direction, playerID);
+            if (result == null) {
+                return null;
+            }
+
+            result = updateGameState(result, playerID);
+            for (var listener : moveListeners) {
+                listener.onMove(playerID, direction, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Applies the result of a move which was processed before, e.g. recorded in a checkpoint, without finding the
+     * result on the game board again.
+     *
+     * <p>
+     * The game board and the game state of the player are updated as if {@link GameController#processMove} returned
+     * {@code result}. The move must have been made from the current state of the game board. Listeners are not
+     * notified.
+     * </p>
+     *
+     * @param result   The result of the move.
+     * @param playerID ID of the player who made the move.
+     * @return The result of the move, which is the same as {@code result}.
+     */
+    public MoveResult restoreMove(@NotNull final MoveResult result, int playerID) {
+        Objects.requireNonNull(result);
+
+        synchronized (getGameBoard()) {
+            if (result instanceof MoveResult.Valid.Alive alive) {
+                this.getGameState(playerID).getGameBoardController().applyMove(alive, playerID);
+            }
+            return updateGameState(result, playerID);
         }
+    }
 
+    /**
+     * Updates the game state of a player after the game board has been updated for a move.
+     * Must be called holding the lock of the game board.
+     *
+     * @param result   The result of the move.
+     * @param playerID ID of the player who made the move.
+     * @return {@code result}, or {@link MoveResult.Valid.KickedOut} if the player has been kicked out by the move.
+     */
+    private MoveResult updateGameState(@NotNull MoveResult result, int playerID) {
         var gameState = this.getGameState(playerID);
         if (result instanceof MoveResult.Valid v) {
             gameState.incrementNumMoves();
@@ -128,7 +181,8 @@ public class GameController {
                 gameState.increaseNumLives(va.collectedExtraLives.size());
                 gameState.increaseNumGotGems(va.collectedGems.size());
                 gameState.getMoveStack().push(va);
-            } else if (v instanceof MoveResult.Valid.Dead) {
+            } else {
+                // A player who has been kicked out also died
                 gameState.incrementNumDeaths();
                 var livesLeft = gameState.decrementNumLives();
                 if (livesLeft == 0) {
@@ -137,7 +191,6 @@ public class GameController {
                 }
             }
         }
-
         return result;
     }
 
@@ -153,20 +206,43 @@ public class GameController {
             throw new IllegalCallerException();
         }
 
-        if (this.getGameState().getMoveStack().isEmpty()) {
-            return false;
-        }
+        synchronized (getGameBoard()) {
+            if (this.getGameState().getMoveStack().isEmpty()) {
+                return false;
+            }
 
-        final var prevState = this.getGameState().getMoveStack().pop();
-        // This condition is impossible under this implementation, but just do it anyways.
-        if (!(prevState instanceof final MoveResult.Valid.Alive aliveState)) {
-            return false;
+            final var prevState = this.getGameState().getMoveStack().pop();
+            // This condition is impossible under this implementation, but just do it anyways.
+            if (!(prevState instanceof final MoveResult.Valid.Alive aliveState)) {
+                return false;
+            }
+
+            this.getGameState().decreaseNumLives(aliveState.collectedExtraLives.size());
+
+            this.getGameState().getGameBoardController().undoMove(aliveState);
+            for (var listener : moveListeners) {
+                listener.onUndo(this.getGameState().getPlayer().getId(), aliveState);
+            }
+            return true;
         }
+    }
 
-        this.getGameState().decreaseNumLives(aliveState.collectedExtraLives.size());
+    /**
+     * Adds a listener which is notified of every move and undo processed by this controller.
+     *
+     * @param listener The listener to add.
+     */
+    public void addMoveListener(@NotNull final MoveListener listener) {
+        moveListeners.add(Objects.requireNonNull(listener));
+    }
 
-        this.getGameState().getGameBoardController().undoMove(aliveState);
-        return true;
+    /**
+     * Removes a listener added by {@link GameController#addMoveListener(MoveListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeMoveListener(@NotNull final MoveListener listener) {
+        moveListeners.remove(listener);
     }
 
     /**
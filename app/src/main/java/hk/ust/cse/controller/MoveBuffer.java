@@ -0,0 +1,172 @@
+package hk.ust.cse.controller;
+
+import hk.ust.cse.model.MoveResult;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reusable buffer holding the result of a move evaluated by
+ * {@link GameBoardController#evaluateMove(int, hk.ust.cse.model.Direction, int, MoveBuffer)}.
+ *
+ * <p>
+ * This is the primitive counterpart of {@link MoveResult}. Cells are identified by their index
+ * {@code row * numCols + col}, and the cells of the collected entities are stored in arrays which only grow when a
+ * move collects more entities than any move evaluated into the same buffer before. Evaluating moves into the same
+ * buffer repeatedly therefore does not allocate any object.
+ * </p>
+ * <p>
+ * A buffer is overwritten by every evaluation, and must not be shared by threads evaluating moves concurrently.
+ * </p>
+ */
+public final class MoveBuffer {
+
+    /**
+     * The move is invalid, i.e. the player cannot move in the direction. Corresponds to {@link MoveResult.Invalid}.
+     */
+    public static final int INVALID = 0;
+    /**
+     * The player is alive after the move. Corresponds to {@link MoveResult.Valid.Alive}.
+     */
+    public static final int ALIVE = 1;
+    /**
+     * The player hits a mine in the move. Corresponds to {@link MoveResult.Valid.Dead}.
+     */
+    public static final int DEAD = 2;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int outcome = INVALID;
+    private int origIndex = -1;
+    private int newIndex = -1;
+    private int mineIndex = -1;
+
+    private int[] gemIndices = new int[INITIAL_CAPACITY];
+    private int numGems = 0;
+
+    private int[] extraLifeIndices = new int[INITIAL_CAPACITY];
+    private int numExtraLives = 0;
+
+    /**
+     * Clears the result, before evaluating a move from a cell.
+     *
+     * @param index The index of the cell the move is made from.
+     */
+    void reset(final int index) {
+        outcome = INVALID;
+        origIndex = index;
+        newIndex = index;
+        mineIndex = -1;
+        numGems = 0;
+        numExtraLives = 0;
+    }
+
+    /**
+     * Records that the player stops on a cell after the move.
+     *
+     * @param index The index of the cell.
+     */
+    void setAlive(final int index) {
+        outcome = ALIVE;
+        newIndex = index;
+    }
+
+    /**
+     * Records that the player hits a mine in the move. The entities collected before hitting the mine are discarded.
+     *
+     * @param index The index of the cell of the mine.
+     */
+    void setDead(final int index) {
+        outcome = DEAD;
+        mineIndex = index;
+        numGems = 0;
+        numExtraLives = 0;
+    }
+
+    /**
+     * Records that a gem is collected in the move.
+     *
+     * @param index The index of the cell of the gem.
+     */
+    void addGem(final int index) {
+        if (numGems == gemIndices.length) {
+            gemIndices = Arrays.copyOf(gemIndices, numGems * 2);
+        }
+        gemIndices[numGems++] = index;
+    }
+
+    /**
+     * Records that an extra life is collected in the move.
+     *
+     * @param index The index of the cell of the extra life.
+     */
+    void addExtraLife(final int index) {
+        if (numExtraLives == extraLifeIndices.length) {
+            extraLifeIndices = Arrays.copyOf(extraLifeIndices, numExtraLives * 2);
+        }
+        extraLifeIndices[numExtraLives++] = index;
+    }
+
+    /**
+     * @return The outcome of the move, which is one of {@link MoveBuffer#INVALID}, {@link MoveBuffer#ALIVE} and
+     * {@link MoveBuffer#DEAD}.
+     */
+    public int getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return The index of the cell the move is made from.
+     */
+    public int getOrigIndex() {
+        return origIndex;
+    }
+
+    /**
+     * @return The index of the cell of the player after the move, which is {@link MoveBuffer#getOrigIndex()} unless
+     * the outcome is {@link MoveBuffer#ALIVE}.
+     */
+    public int getNewIndex() {
+        return newIndex;
+    }
+
+    /**
+     * @return The index of the cell of the mine hit by the player if the outcome is {@link MoveBuffer#DEAD}, or
+     * {@code -1} otherwise.
+     */
+    public int getMineIndex() {
+        return mineIndex;
+    }
+
+    /**
+     * @return The number of gems collected in the move.
+     */
+    public int getNumGems() {
+        return numGems;
+    }
+
+    /**
+     * @param i The index of the gem, between {@code 0} and {@link MoveBuffer#getNumGems()} (exclusive).
+     * @return The index of the cell of the collected gem, in the order of the slide.
+     */
+    public int getGemIndex(final int i) {
+        Objects.checkIndex(i, numGems);
+        return gemIndices[i];
+    }
+
+    /**
+     * @return The number of extra lives collected in the move.
+     */
+    public int getNumExtraLives() {
+        return numExtraLives;
+    }
+
+    /**
+     * @param i The index of the extra life, between {@code 0} and {@link MoveBuffer#getNumExtraLives()} (exclusive).
+     * @return The index of the cell of the collected extra life, in the order of the slide.
+     */
+    public int getExtraLifeIndex(final int i) {
+        Objects.checkIndex(i, numExtraLives);
+        return extraLifeIndices[i];
+    }
+}
@@ -0,0 +1,36 @@
+package hk.ust.cse.controller;
+
+import hk.ust.cse.model.Direction;
+import hk.ust.cse.model.MoveResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener of the moves and undos processed by a {@link GameController}.
+ *
+ * <p>
+ * Listeners are called on the thread processing the action while it holds the lock of the game board, after the game
+ * states have been updated, so they observe every action in the order it was processed. Listeners should therefore
+ * return quickly.
+ * </p>
+ *
+ * @see GameController#addMoveListener(MoveListener)
+ */
+public interface MoveListener {
+
+    /**
+     * Called after a move has been processed.
+     *
+     * @param playerID  ID of the player who moved.
+     * @param direction The direction of the move.
+     * @param result    The result of the move, as returned by {@link GameController#processMove(Direction, int)}.
+     */
+    void onMove(int playerID, @NotNull Direction direction, @NotNull MoveResult result);
+
+    /**
+     * Called after a move has been undone.
+     *
+     * @param playerID ID of the player whose move was undone.
+     * @param undone   The move which was undone.
+     */
+    void onUndo(int playerID, @NotNull MoveResult.Valid.Alive undone);
+}
@@ -0,0 +1,228 @@
+package hk.ust.cse.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Bitmask representation of a {@link GameBoard}.
+ *
+ * <p>
+ * For every {@link Layer}, this class stores one bitmask per row and one bitmask per column, each packed into
+ * {@code long} words. Bit {@code c} of the mask of row {@code r} and bit {@code r} of the mask of column {@code c} are
+ * both set iff the cell at {@code (r, c)} belongs to the layer. The nearest cell of a layer along a slide can then be
+ * found with a single {@link Long#numberOfTrailingZeros} or {@link Long#numberOfLeadingZeros} per 64 cells.
+ * </p>
+ * <p>
+ * The masks of entities are kept up-to-date by {@link GameBoard} whenever an {@link EntityCell} on the board changes
+ * its entity.
+ * </p>
+ */
+public final class BitBoard {
+
+    /**
+     * Value indicating the absence of a cell.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Kinds of cells tracked by a {@link BitBoard}.
+     */
+    public enum Layer {
+        WALL,
+        STOP_CELL,
+        GEM,
+        MINE,
+        EXTRA_LIFE,
+        PLAYER
+    }
+
+    private final int numRows;
+    private final int numCols;
+
+    /**
+     * Number of words in the mask of a single row.
+     */
+    private final int rowStride;
+    /**
+     * Number of words in the mask of a single column.
+     */
+    private final int colStride;
+
+    /**
+     * {@code rowMasks[layer.ordinal()]} holds the masks of all rows of the layer, where the mask of row {@code r}
+     * occupies the words starting from {@code r * rowStride}.
+     */
+    @NotNull
+    private final long[][] rowMasks;
+    /**
+     * {@code colMasks[layer.ordinal()]} holds the masks of all columns of the layer, where the mask of column
+     * {@code c} occupies the words starting from {@code c * colStride}.
+     */
+    @NotNull
+    private final long[][] colMasks;
+
+    /**
+     * Creates the bitboard of a game board.
+     *
+     * @param gameBoard The game board to create the bitboard for.
+     */
+    BitBoard(@NotNull final GameBoard gameBoard) {
+        Objects.requireNonNull(gameBoard);
+
+        this.numRows = gameBoard.getNumRows();
+        this.numCols = gameBoard.getNumCols();
+        this.rowStride = (numCols + Long.SIZE - 1) / Long.SIZE;
+        this.colStride = (numRows + Long.SIZE - 1) / Long.SIZE;
+
+        final var numLayers = Layer.values().length;
+        this.rowMasks = new long[numLayers][numRows * rowStride];
+        this.colMasks = new long[numLayers][numCols * colStride];
+
+        for (int index = 0; index < numRows * numCols; ++index) {
+            onCellCodeChanged(index, CellCode.EMPTY, gameBoard.getCellCode(index));
+        }
+    }
+
+    /**
+     * Updates the masks after the code of a cell has changed.
+     *
+     * @param index   The index of the cell.
+     * @param oldCode The previous code of the cell.
+     * @param newCode The current code of the cell.
+     */
+    void onCellCodeChanged(final int index, final byte oldCode, final byte newCode) {
+        final var r = index / numCols;
+        final var c = index % numCols;
+
+        for (@NotNull final var layer : Layer.values()) {
+            final var wasSet = isInLayer(oldCode, layer);
+            final var isSet = isInLayer(newCode, layer);
+            if (wasSet == isSet) {
+                continue;
+            }
+
+            final var rowWord = r * rowStride + c / Long.SIZE;
+            final var colWord = c * colStride + r / Long.SIZE;
+            rowMasks[layer.ordinal()][rowWord] ^= 1L << c;
+            colMasks[layer.ordinal()][colWord] ^= 1L << r;
+        }
+    }
+
+    /**
+     * Finds the nearest cell of a layer along a slide.
+     *
+     * @param layer     The layer to search.
+     * @param index     The index {@code row * numCols + col} of the starting cell.
+     * @param dir       The direction to slide in.
+     * @param fromSteps The minimum number of steps away from the starting cell, inclusive.
+     * @param toSteps   The maximum number of steps away from the starting cell, inclusive. Must not exceed
+     *                  {@link BitBoard#getStepsToBorder}.
+     * @return The number of steps from the starting cell to the nearest cell of {@code layer} which is between
+     * {@code fromSteps} and {@code toSteps} steps away, or {@link BitBoard#NONE} if there is no such cell.
+     */
+    public int findNext(@NotNull final Layer layer, final int index, @NotNull final Direction dir,
+                        final int fromSteps, final int toSteps) {
+        if (fromSteps > toSteps) {
+            return NONE;
+        }
+
+        final var r = index / numCols;
+        final var c = index % numCols;
+
+        final long[] words;
+        final int base;
+        final int stride;
+        final int pos;
+        if (dir.getRowOffset() == 0) {
+            words = rowMasks[layer.ordinal()];
+            stride = rowStride;
+            base = r * rowStride;
+            pos = c;
+        } else {
+            words = colMasks[layer.ordinal()];
+            stride = colStride;
+            base = c * colStride;
+            pos = r;
+        }
+
+        if (dir.getRowOffset() + dir.getColOffset() > 0) {
+            final var found = nextSetBit(words, base, stride, pos + fromSteps);
+            return found != NONE && found <= pos + toSteps ? found - pos : NONE;
+        } else {
+            final var found = prevSetBit(words, base, pos - fromSteps);
+            return found != NONE && found >= pos - toSteps ? pos - found : NONE;
+        }
+    }
+
+    /**
+     * @param index The index {@code row * numCols + col} of the starting cell.
+     * @param dir   The direction to slide in.
+     * @return The number of cells between the starting cell and the border of the game board in {@code dir}.
+     */
+    public int getStepsToBorder(final int index, @NotNull final Direction dir) {
+        return switch (dir) {
+            case UP -> index / numCols;
+            case DOWN -> numRows - 1 - index / numCols;
+            case LEFT -> index % numCols;
+            case RIGHT -> numCols - 1 - index % numCols;
+        };
+    }
+
+    /**
+     * @param words  The words of the masks.
+     * @param base   The index of the first word of the mask to search.
+     * @param stride The number of words in the mask.
+     * @param from   The first bit to search from, inclusive.
+     * @return The lowest set bit at or after {@code from}, or {@link BitBoard#NONE} if there is none. Bits beyond the
+     * end of the row or column are never set, so searching past them is harmless.
+     */
+    private static int nextSetBit(@NotNull final long[] words, final int base, final int stride, final int from) {
+        var w = from / Long.SIZE;
+        if (w >= stride) {
+            return NONE;
+        }
+
+        var word = words[base + w] & (-1L << from);
+        while (word == 0) {
+            if (++w == stride) {
+                return NONE;
+            }
+            word = words[base + w];
+        }
+        return w * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @param words The words of the masks.
+     * @param base  The index of the first word of the mask to search.
+     * @param from  The first bit to search from, inclusive.
+     * @return The highest set bit at or before {@code from}, or {@link BitBoard#NONE} if there is none.
+     */
+    private static int prevSetBit(@NotNull final long[] words, final int base, final int from) {
+        if (from < 0) {
+            return NONE;
+        }
+
+        var w = from / Long.SIZE;
+        var word = words[base + w] & (-1L >>> (Long.SIZE - 1 - from % Long.SIZE));
+        while (word == 0) {
+            if (w-- == 0) {
+                return NONE;
+            }
+            word = words[base + w];
+        }
+        return w * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    private static boolean isInLayer(final byte code, @NotNull final Layer layer) {
+        return switch (layer) {
+            case WALL -> code == CellCode.WALL;
+            case STOP_CELL -> CellCode.isStopCell(code);
+            case GEM -> code == CellCode.GEM;
+            case MINE -> code == CellCode.MINE;
+            case EXTRA_LIFE -> code == CellCode.EXTRA_LIFE;
+            case PLAYER -> CellCode.hasPlayer(code);
+        };
+    }
+}
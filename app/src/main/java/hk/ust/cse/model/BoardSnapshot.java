@@ -0,0 +1,427 @@
+package hk.ust.cse.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the state of a {@link GameBoard}, on which moves can be made speculatively without affecting
+ * the game board.
+ *
+ * <p>
+ * The {@link CellCode}s of the cells are stored in a persistent radix tree: leaves hold {@link BoardSnapshot#LEAF_SIZE}
+ * consecutive cells, and every branch holds {@link BoardSnapshot#BRANCH_SIZE} children. Making a move only copies the
+ * leaves of the changed cells and the branches above them, and shares every other node with the snapshot it was made
+ * on. A move therefore costs {@code O(log n)} in time and memory regardless of the size of the game board, and any
+ * number of snapshots can be branched from the same snapshot safely, including from different threads.
+ * </p>
+ * <p>
+ * Moves are resolved by walking the cells along the slide, with the same rules as
+ * {@link hk.ust.cse.controller.GameBoardController#tryMove}: other players block the slide as walls do, mines kill the
+ * player, and gems and extra lives on the way are collected.
+ * </p>
+ */
+public final class BoardSnapshot {
+
+    private static final int LEAF_BITS = 6;
+    private static final int BRANCH_BITS = 5;
+
+    /**
+     * The number of cells in each leaf of the tree.
+     */
+    static final int LEAF_SIZE = 1 << LEAF_BITS;
+
+    /**
+     * The number of children of each branch of the tree.
+     */
+    static final int BRANCH_SIZE = 1 << BRANCH_BITS;
+
+    private final int numRows;
+    private final int numCols;
+
+    /**
+     * The number of levels of branches above the leaves.
+     */
+    private final int depth;
+
+    /**
+     * The root of the tree, which is a {@code byte[]} if {@link BoardSnapshot#depth} is {@code 0}, or an
+     * {@code Object[]} otherwise.
+     */
+    @NotNull
+    private final Object root;
+
+    /**
+     * The {@link Player#getId()} of each player, in the order of {@link GameBoard#getPlayers()} of the initial game
+     * board. Shared by all snapshots branched from the same snapshot.
+     */
+    @NotNull
+    private final int[] playerIds;
+
+    /**
+     * The index of the cell of each player, or {@code -1} if the player is no longer on the game board.
+     */
+    @NotNull
+    private final int[] playerIndices;
+
+    private final int numGems;
+
+    private final long stateHash;
+
+    /**
+     * The canonical positions of the game board the snapshot is taken from.
+     */
+    @NotNull
+    private final PositionPool positionPool;
+
+    /**
+     * Creates a snapshot from the state of a game board. Must be called holding the lock of the game board.
+     *
+     * @param numRows       The number of rows.
+     * @param numCols       The number of columns.
+     * @param codes         The {@link CellCode} of each cell, which are copied.
+     * @param playerIds     The id of each player.
+     * @param playerIndices The index of the cell of each player, which are copied.
+     * @param numGems       The number of gems.
+     * @param stateHash     The {@link GameBoard#stateHash()} of the state.
+     * @param positionPool  The canonical positions of the game board.
+     */
+    BoardSnapshot(final int numRows, final int numCols, @NotNull final byte[] codes, @NotNull final int[] playerIds,
+                  @NotNull final int[] playerIndices, final int numGems, final long stateHash,
+                  @NotNull final PositionPool positionPool) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.playerIds = playerIds;
+        this.playerIndices = playerIndices.clone();
+        this.numGems = numGems;
+        this.stateHash = stateHash;
+        this.positionPool = positionPool;
+
+        // Build the tree bottom-up
+        var numNodes = (codes.length + LEAF_SIZE - 1) / LEAF_SIZE;
+        var nodes = new Object[numNodes];
+        for (int i = 0; i < numNodes; ++i) {
+            nodes[i] = Arrays.copyOfRange(codes, i * LEAF_SIZE, (i + 1) * LEAF_SIZE);
+        }
+        var levels = 0;
+        while (numNodes > 1) {
+            final var numParents = (numNodes + BRANCH_SIZE - 1) / BRANCH_SIZE;
+            final var parents = new Object[numParents];
+            for (int i = 0; i < numParents; ++i) {
+                parents[i] = Arrays.copyOfRange(nodes, i * BRANCH_SIZE, (i + 1) * BRANCH_SIZE);
+            }
+            nodes = parents;
+            numNodes = numParents;
+            ++levels;
+        }
+        this.depth = levels;
+        this.root = nodes[0];
+    }
+
+    private BoardSnapshot(@NotNull final BoardSnapshot base, @NotNull final Object root,
+                          @NotNull final int[] playerIndices, final int numGems, final long stateHash) {
+        this.numRows = base.numRows;
+        this.numCols = base.numCols;
+        this.depth = base.depth;
+        this.playerIds = base.playerIds;
+        this.root = root;
+        this.playerIndices = playerIndices;
+        this.numGems = numGems;
+        this.stateHash = stateHash;
+        this.positionPool = base.positionPool;
+    }
+
+    /**
+     * @return The number of rows of the game board.
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * @return The number of columns of the game board.
+     */
+    public int getNumCols() {
+        return numCols;
+    }
+
+    /**
+     * @return The number of gems still present in this snapshot.
+     */
+    public int getNumGems() {
+        return numGems;
+    }
+
+    /**
+     * @return The hash of this snapshot, which is equal to {@link GameBoard#stateHash()} of a game board in the same
+     * state.
+     */
+    public long stateHash() {
+        return stateHash;
+    }
+
+    /**
+     * @param r Row index.
+     * @param c Column index.
+     * @return The {@link CellCode} of the cell at the specified location.
+     */
+    public byte getCellCode(final int r, final int c) {
+        Objects.checkIndex(r, numRows);
+        Objects.checkIndex(c, numCols);
+
+        return getCellCode(r * numCols + c);
+    }
+
+    /**
+     * @param index The index of the cell, i.e. {@code row * numCols + col}.
+     * @return The {@link CellCode} of the cell at the specified index.
+     */
+    public byte getCellCode(final int index) {
+        Objects.checkIndex(index, numRows * numCols);
+
+        var node = root;
+        for (int level = depth; level > 0; --level) {
+            node = ((Object[]) node)[childOf(index, level)];
+        }
+        return ((byte[]) node)[index & (LEAF_SIZE - 1)];
+    }
+
+    /**
+     * @return A copy of the {@link CellCode}s of all cells, which can be passed to
+     * {@link GameBoard#GameBoard(int, int, byte[])} to create a game board in the same state.
+     */
+    @NotNull
+    public byte[] getCellCodes() {
+        final var codes = new byte[numRows * numCols];
+        for (int i = 0; i < codes.length; i += LEAF_SIZE) {
+            var node = root;
+            for (int level = depth; level > 0; --level) {
+                node = ((Object[]) node)[childOf(i, level)];
+            }
+            System.arraycopy(node, 0, codes, i, Math.min(LEAF_SIZE, codes.length - i));
+        }
+        return codes;
+    }
+
+    /**
+     * @param index The index of a cell, i.e. {@code row * numCols + col}.
+     * @return The canonical position of the cell, as returned by {@link GameBoard#getPosition(int)}.
+     */
+    @NotNull
+    public Position getPosition(final int index) {
+        return positionAt(index);
+    }
+
+    /**
+     * @return The {@link Player#getId()} of each player of the game board, including the players which are no longer
+     * on it.
+     */
+    @NotNull
+    public int[] getPlayerIds() {
+        return playerIds.clone();
+    }
+
+    /**
+     * @param playerID The id of a player.
+     * @return The position of the player, or {@code null} if the player is no longer on the game board.
+     * @throws IllegalArgumentException if the player with the id does not exist.
+     */
+    @Nullable
+    public Position getPlayerPosition(final int playerID) {
+        final var index = playerIndices[slotOf(playerID)];
+        return index < 0 ? null : positionAt(index);
+    }
+
+    /**
+     * Tries to move a player in the given direction as far as possible, without changing this snapshot.
+     *
+     * @param direction Direction to move the player in.
+     * @param playerID  ID of the player to move.
+     * @return An instance of {@link MoveResult} representing the result of the move, or {@code null} if the player is
+     * no longer on the game board.
+     * @throws IllegalArgumentException if the player with the id does not exist.
+     */
+    @Nullable
+    public MoveResult tryMove(@NotNull final Direction direction, final int playerID) {
+        Objects.requireNonNull(direction);
+
+        final var index = playerIndices[slotOf(playerID)];
+        if (index < 0) {
+            return null;
+        }
+
+        final var position = positionAt(index);
+        final var collectedGems = new ArrayList<Position>();
+        final var collectedExtraLives = new ArrayList<Position>();
+        var current = index;
+        while (true) {
+            final var next = neighborOf(current, direction);
+            if (next < 0) {
+                break;
+            }
+
+            final var code = getCellCode(next);
+            // Other players are considered as walls
+            if (code == CellCode.WALL || CellCode.hasPlayer(code)) {
+                break;
+            }
+            if (code == CellCode.MINE) {
+                return new MoveResult.Valid.Dead(position, positionAt(next));
+            }
+
+            if (code == CellCode.GEM) {
+                collectedGems.add(positionAt(next));
+            } else if (code == CellCode.EXTRA_LIFE) {
+                collectedExtraLives.add(positionAt(next));
+            }
+
+            current = next;
+            if (CellCode.isStopCell(code)) {
+                break;
+            }
+        }
+
+        if (current == index) {
+            return new MoveResult.Invalid(position);
+        }
+        return new MoveResult.Valid.Alive(positionAt(current), position, collectedGems, collectedExtraLives);
+    }
+
+    /**
+     * Moves a player in the given direction.
+     *
+     * <p>
+     * Like {@link hk.ust.cse.controller.GameBoardController#makeMove}, the state only changes if the move is valid
+     * and the player is still alive after the move. Use {@link BoardSnapshot#tryMove} to find the result of the move.
+     * </p>
+     *
+     * @param direction Direction to move the player in.
+     * @param playerID  ID of the player to move.
+     * @return The snapshot after the move, or this snapshot if the state does not change.
+     * @throws IllegalArgumentException if the player with the id does not exist.
+     */
+    @NotNull
+    public BoardSnapshot makeMove(@NotNull final Direction direction, final int playerID) {
+        if (tryMove(direction, playerID) instanceof MoveResult.Valid.Alive alive) {
+            return applyMove(alive, playerID);
+        }
+        return this;
+    }
+
+    /**
+     * Applies the changes of a move which leaves the player alive, i.e. removes the collected entities and moves the
+     * player to its new position.
+     *
+     * <p>
+     * The move is not checked against this snapshot, and must have been found by {@link BoardSnapshot#tryMove} on
+     * this snapshot, or on a game board in the same state.
+     * </p>
+     *
+     * @param alive    The result of the move.
+     * @param playerID The id of the player who made the move.
+     * @return The snapshot after the move.
+     * @throws IllegalArgumentException if the player with the id does not exist.
+     */
+    @NotNull
+    public BoardSnapshot applyMove(@NotNull final MoveResult.Valid.Alive alive, final int playerID) {
+        Objects.requireNonNull(alive);
+        assert alive.newPosition != null;
+
+        final var slot = slotOf(playerID);
+        var newRoot = root;
+        var newHash = stateHash;
+
+        for (@NotNull final var gemPos : alive.collectedGems) {
+            final var index = indexOf(gemPos);
+            newRoot = set(newRoot, depth, index, CellCode.EMPTY);
+            newHash ^= Zobrist.cellKey(index, CellCode.GEM);
+        }
+        for (@NotNull final var extraLifePos : alive.collectedExtraLives) {
+            final var index = indexOf(extraLifePos);
+            newRoot = set(newRoot, depth, index, CellCode.EMPTY);
+            newHash ^= Zobrist.cellKey(index, CellCode.EXTRA_LIFE);
+        }
+
+        final var origIndex = indexOf(alive.origPosition);
+        final var origCode = getCellCode(origIndex);
+        final var leftCode = origCode == CellCode.PLAYER_ON_STOP ? CellCode.STOP : CellCode.EMPTY;
+        newRoot = set(newRoot, depth, origIndex, leftCode);
+        newHash ^= Zobrist.cellKey(origIndex, origCode) ^ Zobrist.cellKey(origIndex, leftCode)
+                ^ Zobrist.playerKey(origIndex, slot);
+
+        // The cell may have held one of the collected entities, which has been cleared above
+        final var newIndex = indexOf(alive.newPosition);
+        final var isStopCell = CellCode.isStopCell(getCellCode(newIndex));
+        final var enteredCode = isStopCell ? CellCode.PLAYER_ON_STOP : CellCode.PLAYER;
+        newRoot = set(newRoot, depth, newIndex, enteredCode);
+        newHash ^= Zobrist.cellKey(newIndex, isStopCell ? CellCode.STOP : CellCode.EMPTY)
+                ^ Zobrist.cellKey(newIndex, enteredCode) ^ Zobrist.playerKey(newIndex, slot);
+
+        final var newPlayerIndices = playerIndices.clone();
+        newPlayerIndices[slot] = newIndex;
+        return new BoardSnapshot(this, newRoot, newPlayerIndices, numGems - alive.collectedGems.size(), newHash);
+    }
+
+    /**
+     * Returns a copy of a subtree with the code of a single cell replaced.
+     *
+     * @param node  The root of the subtree.
+     * @param level The level of {@code node}, where leaves are at level {@code 0}.
+     * @param index The index of the cell.
+     * @param code  The new code of the cell.
+     * @return The root of the copy, which shares all other nodes with {@code node}.
+     */
+    @NotNull
+    private static Object set(@NotNull final Object node, final int level, final int index, final byte code) {
+        if (level == 0) {
+            final var leaf = ((byte[]) node).clone();
+            leaf[index & (LEAF_SIZE - 1)] = code;
+            return leaf;
+        }
+
+        final var branch = ((Object[]) node).clone();
+        final var child = childOf(index, level);
+        branch[child] = set(branch[child], level - 1, index, code);
+        return branch;
+    }
+
+    /**
+     * @param index The index of a cell.
+     * @param level The level of a branch, where leaves are at level {@code 0}.
+     * @return The index of the child of the branch containing the cell.
+     */
+    private static int childOf(final int index, final int level) {
+        return (index >>> (LEAF_BITS + (level - 1) * BRANCH_BITS)) & (BRANCH_SIZE - 1);
+    }
+
+    private int slotOf(final int playerID) {
+        for (int slot = 0; slot < playerIds.length; ++slot) {
+            if (playerIds[slot] == playerID) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException();
+    }
+
+    private int neighborOf(final int index, @NotNull final Direction dir) {
+        final var r = index / numCols + dir.getRowOffset();
+        final var c = index % numCols + dir.getColOffset();
+
+        if (r < 0 || r >= numRows || c < 0 || c >= numCols) {
+            return -1;
+        }
+        return r * numCols + c;
+    }
+
+    private int indexOf(@NotNull final Position position) {
+        return positionPool.indexOf(position);
+    }
+
+    @NotNull
+    private Position positionAt(final int index) {
+        return positionPool.get(index);
+    }
+}
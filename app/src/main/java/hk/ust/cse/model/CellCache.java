@@ -0,0 +1,61 @@
+package hk.ust.cse.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The cells of a packed {@link GameBoard} which have been materialized, indexed by {@code row * numCols + col}.
+ *
+ * <p>
+ * Like {@link PositionPool}, the cells are stored in chunks of {@link CellCache#CHUNK_SIZE} cells, and a chunk is only
+ * allocated once a cell in it is materialized. Cells which are never accessed as objects therefore cost no more than
+ * their share of a single reference to an absent chunk.
+ * </p>
+ * <p>
+ * This class is not thread-safe; The game board guards it with its own lock.
+ * </p>
+ */
+final class CellCache {
+
+    private static final int CHUNK_BITS = 10;
+
+    /**
+     * The number of cells in each chunk.
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    @NotNull
+    private final Cell[][] chunks;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param numCells The number of cells of the game board.
+     */
+    CellCache(final int numCells) {
+        this.chunks = new Cell[(numCells + CHUNK_SIZE - 1) >>> CHUNK_BITS][];
+    }
+
+    /**
+     * @param index The index of a cell.
+     * @return The materialized cell, or {@code null} if the cell has not been materialized yet.
+     */
+    @Nullable
+    Cell get(final int index) {
+        final var chunk = chunks[index >>> CHUNK_BITS];
+        return chunk == null ? null : chunk[index & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * @param index The index of a cell.
+     * @param cell  The materialized cell.
+     */
+    void put(final int index, @NotNull final Cell cell) {
+        var chunk = chunks[index >>> CHUNK_BITS];
+        if (chunk == null) {
+            chunk = new Cell[CHUNK_SIZE];
+            chunks[index >>> CHUNK_BITS] = chunk;
+        }
+        chunk[index & (CHUNK_SIZE - 1)] = cell;
+    }
+}
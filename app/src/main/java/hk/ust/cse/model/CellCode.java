@@ -0,0 +1,146 @@
+package hk.ust.cse.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Compact type codes of the cells on a {@link GameBoard}.
+ *
+ * <p>
+ * Each code describes the type of a cell together with the type of the entity it holds, so that the content of a
+ * whole game board fits in a {@code byte[]} with one element per cell. All codes fit in 3 bits.
+ * </p>
+ */
+public final class CellCode {
+
+    /**
+     * An {@link EntityCell} without any entity.
+     */
+    public static final byte EMPTY = 0;
+    /**
+     * A {@link Wall}.
+     */
+    public static final byte WALL = 1;
+    /**
+     * A {@link StopCell} without any entity.
+     */
+    public static final byte STOP = 2;
+    /**
+     * An {@link EntityCell} holding a {@link Gem}.
+     */
+    public static final byte GEM = 3;
+    /**
+     * An {@link EntityCell} holding a {@link Mine}.
+     */
+    public static final byte MINE = 4;
+    /**
+     * An {@link EntityCell} holding an {@link ExtraLife}.
+     */
+    public static final byte EXTRA_LIFE = 5;
+    /**
+     * An {@link EntityCell} holding a {@link Player}.
+     */
+    public static final byte PLAYER = 6;
+    /**
+     * A {@link StopCell} holding a {@link Player}.
+     */
+    public static final byte PLAYER_ON_STOP = 7;
+
+    private CellCode() {
+    }
+
+    /**
+     * @param code A cell code.
+     * @return Whether {@code code} is one of the codes defined in this class.
+     */
+    public static boolean isValid(final byte code) {
+        return code >= EMPTY && code <= PLAYER_ON_STOP;
+    }
+
+    /**
+     * @param code A cell code.
+     * @return Whether the cell is a {@link StopCell}.
+     */
+    public static boolean isStopCell(final byte code) {
+        return code == STOP || code == PLAYER_ON_STOP;
+    }
+
+    /**
+     * @param code A cell code.
+     * @return Whether the cell holds an entity.
+     */
+    public static boolean isOccupied(final byte code) {
+        return code != EMPTY && code != WALL && code != STOP;
+    }
+
+    /**
+     * @param code A cell code.
+     * @return Whether the cell holds a {@link Player}.
+     */
+    public static boolean hasPlayer(final byte code) {
+        return code == PLAYER || code == PLAYER_ON_STOP;
+    }
+
+    /**
+     * Computes the code of a cell from its current content.
+     *
+     * @param cell The cell.
+     * @return The code describing {@code cell}.
+     */
+    public static byte of(@NotNull final Cell cell) {
+        Objects.requireNonNull(cell);
+
+        if (cell instanceof Wall) {
+            return WALL;
+        }
+
+        final var entity = ((EntityCell) cell).getEntity();
+        if (cell instanceof StopCell) {
+            return entity instanceof Player ? PLAYER_ON_STOP : STOP;
+        }
+        if (entity instanceof Gem) {
+            return GEM;
+        }
+        if (entity instanceof Mine) {
+            return MINE;
+        }
+        if (entity instanceof ExtraLife) {
+            return EXTRA_LIFE;
+        }
+        if (entity instanceof Player) {
+            return PLAYER;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Creates a new {@link Cell} instance described by a code.
+     *
+     * <p>
+     * Codes holding a player create a new {@link Player} instance. Other entities are their shared instances, e.g.
+     * {@link Gem#SHARED}.
+     * </p>
+     *
+     * @param code     The code of the cell.
+     * @param position The position of the cell.
+     * @return A new cell described by {@code code}.
+     * @throws IllegalArgumentException if {@code code} is not a valid code.
+     */
+    @NotNull
+    static Cell toCell(final byte code, @NotNull final Position position) {
+        Objects.requireNonNull(position);
+
+        return switch (code) {
+            case EMPTY -> new EntityCell(position);
+            case WALL -> new Wall(position);
+            case STOP -> new StopCell(position);
+            case GEM -> new EntityCell(position, Gem.SHARED);
+            case MINE -> new EntityCell(position, Mine.SHARED);
+            case EXTRA_LIFE -> new EntityCell(position, ExtraLife.SHARED);
+            case PLAYER -> new EntityCell(position, new Player());
+            case PLAYER_ON_STOP -> new StopCell(position, new Player());
+            default -> throw new IllegalArgumentException("Unknown cell code: " + code);
+        };
+    }
+}
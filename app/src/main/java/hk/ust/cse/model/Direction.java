@@ -25,11 +25,22 @@ public enum Direction {
     RIGHT;
 
     /**
-     * @return An instance of {@link PositionOffset} representing a single-cell offset in this direction.
+     * The offset of each direction, indexed by {@link Direction#ordinal()}.
+     */
+    private static final PositionOffset[] OFFSETS = new PositionOffset[]{
+            new PositionOffset(-1, 0),
+            new PositionOffset(1, 0),
+            new PositionOffset(0, -1),
+            new PositionOffset(0, 1),
+    };
+
+    /**
+     * @return An instance of {@link PositionOffset} representing a single-cell offset in this direction. The same
+     * instance is returned by every call.
      */
     @NotNull
     public PositionOffset getOffset() {
-        return new PositionOffset(getRowOffset(), getColOffset());
+        return OFFSETS[ordinal()];
     }
 
     /**
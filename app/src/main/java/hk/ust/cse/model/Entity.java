@@ -4,12 +4,23 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * An entity on the game board.
+ *
+ * <p>
+ * Entities without any state of their own, i.e. {@link Gem}, {@link Mine} and {@link ExtraLife}, have a shared
+ * instance which can reside on any number of cells at the same time. A shared entity is never owned by any cell; The
+ * cells holding it are tracked by the {@link EntityCell}s and the {@link GameBoard} instead.
+ * </p>
  */
 public abstract sealed class Entity implements BoardElement permits ExtraLife, Gem, Mine, Player {
 
     @Nullable
     private EntityCell owner;
 
+    /**
+     * Whether this is the shared instance of its class.
+     */
+    private final boolean shared;
+
     /**
      * Creates an instance of {@link Entity}, initially not present on any {@link EntityCell}.
      */
@@ -24,11 +35,26 @@ public abstract sealed class Entity implements BoardElement permits ExtraLife, G
      */
     protected Entity(@Nullable final EntityCell owner) {
         this.owner = owner;
+        this.shared = false;
+    }
+
+    /**
+     * Creates an instance of {@link Entity}, initially not present on any {@link EntityCell}.
+     *
+     * @param shared Whether the instance is the shared instance of its class.
+     */
+    Entity(final boolean shared) {
+        this.owner = null;
+        this.shared = shared;
     }
 
     /**
      * Sets the new owner of this entity.
      *
+     * <p>
+     * This method does nothing if this is a shared entity, which is never owned by any cell.
+     * </p>
+     *
      * @param owner The new {@link EntityCell} owning this entity, or {@code null} if this entity is no longer owned by
      *              any cell.
      * @return The previous {@link EntityCell} owning this entity, or {@code null} if this entity was not previously
@@ -36,13 +62,18 @@ public abstract sealed class Entity implements BoardElement permits ExtraLife, G
      */
     @Nullable
     public final EntityCell setOwner(@Nullable final EntityCell owner) {
+        if (shared) {
+            return null;
+        }
+
         final var prevOwner = getOwner();
         this.owner = owner;
         return prevOwner;
     }
 
     /**
-     * @return The {@link EntityCell} owning this entity, or {@code null} if this entity is not bound to a cell.
+     * @return The {@link EntityCell} owning this entity, or {@code null} if this entity is not bound to a cell or is a
+     * shared entity.
      */
     @Nullable
     public final EntityCell getOwner() {
@@ -13,7 +13,8 @@ import org.jetbrains.annotations.Nullable;
  *     <li>There must be at most one entity owned by each cell; In other words, there should never be two entities'
  *     {@link Entity#getOwner()} pointing to the same {@link EntityCell}.</li>
  *     <li>There must be at most one cell owning each entity; In other words, there should never be two cells'
- *     {@link EntityCell#getEntity()} pointing to the same {@link Entity}.</li>
+ *     {@link EntityCell#getEntity()} pointing to the same {@link Entity}. Shared entities, e.g. {@link Gem#SHARED},
+ *     are exempt from this constraint, since they are never owned by any cell.</li>
  * </ul>
  * <p>
  * More information is provided in the Javadoc of the methods in this class.
@@ -27,6 +28,12 @@ public sealed class EntityCell extends Cell permits StopCell {
     @Nullable
     Entity entity = null;
 
+    /**
+     * The game board this cell belongs to, or {@code null} if this cell has not been placed on a game board yet.
+     */
+    @Nullable
+    GameBoard gameBoard = null;
+
     /**
      * Creates an instance of {@link EntityCell} at the given game board position.
      *
@@ -89,6 +96,11 @@ public sealed class EntityCell extends Cell permits StopCell {
             this.entity.setOwner(this);
         }
 
+        // Let the game board update its derived data
+        if (gameBoard != null) {
+            gameBoard.onEntityChanged(this);
+        }
+
         return prevEntity;
     }
 
@@ -11,6 +11,12 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class ExtraLife extends Entity {
 
+    /**
+     * The shared instance of {@link ExtraLife}, which is never owned by any cell and can be placed on any number of
+     * cells.
+     */
+    public static final ExtraLife SHARED = new ExtraLife(true);
+
     /**
      * Creates an instance of {@link ExtraLife}, initially not present on any {@link EntityCell}.
      */
@@ -27,6 +33,13 @@ public final class ExtraLife extends Entity {
         super(owner);
     }
 
+    /**
+     * Creates the shared instance.
+     */
+    private ExtraLife(final boolean shared) {
+        super(shared);
+    }
+
     @Override
     public char toUnicodeChar() {
         return '\u2661';
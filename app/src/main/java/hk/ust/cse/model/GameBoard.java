@@ -24,17 +24,70 @@ public final class GameBoard {
     private final int numCols;
 
     /**
-     * 2D array representing each cell in the game board.
+     * 2D array representing each cell in the game board, or {@code null} if this game board uses packed storage.
      */
-    @NotNull
+    @Nullable
     private final Cell[][] board;
 
+    /**
+     * The {@link CellCode} of each cell in the game board, indexed by {@code row * numCols + col}.
+     *
+     * <p>
+     * The codes are always kept in sync with the cells. If this game board uses packed storage, this array is the
+     * only storage of the cells which have not been materialized.
+     * </p>
+     */
+    @NotNull
+    private final byte[] codes;
+
+    /**
+     * Cells which have been materialized from {@link GameBoard#codes}, keyed by their index, or {@code null} if this
+     * game board does not use packed storage.
+     */
+    @Nullable
+    private final CellCache materializedCells;
+
     /**
      * The instance of {@link Player} on this game board.
      */
     @NotNull
     private final List<Player> players;
 
+    /**
+     * The canonical {@link Position} of each cell.
+     */
+    @NotNull
+    private final PositionPool positionPool;
+
+    /**
+     * The index of the cell of each player in {@link GameBoard#players}, or {@code -1} if the player is no longer on
+     * this game board, e.g. after being kicked out.
+     */
+    @NotNull
+    private final int[] playerIndices;
+
+    /**
+     * The number of gems currently present in the game board.
+     */
+    private int numGems = 0;
+
+    /**
+     * The Zobrist hash of the current state of this game board. See {@link GameBoard#stateHash()}.
+     */
+    private long stateHash = 0;
+
+    /**
+     * The {@link SlideTable} of this game board, or {@code null} if it has not been built yet.
+     */
+    @Nullable
+    private SlideTable slideTable = null;
+
+    /**
+     * The {@link BitBoard} of this game board, or {@code null} if it has not been built yet.
+     */
+    @Nullable
+    private BitBoard bitBoard = null;
+
     /**
      * Creates an instance using the provided creation parameters.
      *
@@ -54,6 +107,7 @@ public final class GameBoard {
         this.numRows = numRows;
         this.numCols = numCols;
         this.board = Objects.requireNonNull(cells);
+        this.materializedCells = null;
 
         if (cells.length != numRows) {
             throw new IllegalArgumentException();
@@ -62,7 +116,23 @@ public final class GameBoard {
             throw new IllegalArgumentException();
         }
 
+        // The positions of the cells are the canonical positions of this game board
+        this.positionPool = new PositionPool(numRows, numCols);
+        this.codes = new byte[numRows * numCols];
+        for (int r = 0; r < numRows; ++r) {
+            for (int c = 0; c < numCols; ++c) {
+                final var position = cells[r][c].getPosition();
+                if (position.row() == r && position.col() == c) {
+                    positionPool.intern(position);
+                }
+                codes[r * numCols + c] = CellCode.of(cells[r][c]);
+            }
+        }
+        countGems();
+
         this.players = getPlayers();
+        this.playerIndices = new int[players.size()];
+        initStateHash();
 
         if (getNumGems() == 0) {
             throw new IllegalArgumentException();
@@ -70,166 +140,336 @@ public final class GameBoard {
         if (!isAllGemsReachable()) {
             throw new IllegalArgumentException();
         }
-    }
 
-    /**
-     * Checks that a single player exists on the game board, and returns the instance of the player.
-     *
-     * @return The single instance of player on the game board.
-     * @throws IllegalArgumentException if the game board has zero, or more than one player entities.
-     */
-    @NotNull
-    public List<Player> getPlayers() {
-        var players = new ArrayList<Player>();
         for (final var row : board) {
             for (final var cell : row) {
-                if (cell instanceof EntityCell ec && ec.getEntity() instanceof Player p) {
-                    players.add(p);
+                if (cell instanceof EntityCell ec) {
+                    ec.gameBoard = this;
                 }
             }
         }
+    }
 
-        if (players.size() == 0) {
+    /**
+     * Creates an instance which uses packed storage.
+     *
+     * <p>
+     * A game board using packed storage stores its cells in {@code cellCodes} only. {@link Cell} instances are created
+     * on first access through {@link GameBoard#getCell} and friends, and are kept in sync with the codes afterwards.
+     * Game boards created this way therefore only cost about one byte per cell which has never been accessed as an
+     * object.
+     * </p>
+     *
+     * @param numRows   The number of rows in the game board.
+     * @param numCols   The number of columns in the game board.
+     * @param cellCodes The {@link CellCode} of each cell, indexed by {@code row * numCols + col}. The array is used
+     *                  directly as the storage of the game board and must not be modified by the caller afterwards.
+     * @throws IllegalArgumentException if any of the following are true:
+     *                                  <ul>
+     *                                      <li>{@code numRows} or {@code numCols} is not positive</li>
+     *                                      <li>{@code numRows * numCols} is not equal to {@code cellCodes.length}
+     *                                      </li>
+     *                                      <li>{@code cellCodes} contains an invalid code</li>
+     *                                      <li>There is no player in {@code cellCodes}</li>
+     *                                      <li>There are no gems in {@code cellCodes}</li>
+     *                                      <li>There are some gems which cannot be reached by the player</li>
+     *                                  </ul>
+     */
+    public GameBoard(final int numRows, final int numCols, @NotNull final byte[] cellCodes) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.board = null;
+        this.codes = Objects.requireNonNull(cellCodes);
+        this.materializedCells = new CellCache(cellCodes.length);
+
+        if (numRows <= 0 || numCols <= 0 || (long) numRows * numCols != cellCodes.length) {
             throw new IllegalArgumentException();
         }
+        this.positionPool = new PositionPool(numRows, numCols);
+        for (int index = 0; index < cellCodes.length; ++index) {
+            if (!CellCode.isValid(cellCodes[index])) {
+                throw new IllegalArgumentException();
+            }
+            // Players must be materialized upfront, so that there is a single instance for each of them
+            if (CellCode.hasPlayer(cellCodes[index])) {
+                materialize(index);
+            }
+        }
+        countGems();
 
-        return players;
+        this.players = getPlayers();
+        this.playerIndices = new int[players.size()];
+        initStateHash();
+
+        if (getNumGems() == 0) {
+            throw new IllegalArgumentException();
+        }
+        if (!isAllGemsReachable()) {
+            throw new IllegalArgumentException();
+        }
     }
 
     /**
-     * Retrieves the instance of {@link EntityCell} by a position with an offset.
+     * Returns the {@link SlideTable} of this game board, building it on first use.
+     *
+     * <p>
+     * The table stores several indices per cell and direction, which is far more than the packed storage of the cells
+     * themselves. Packed game boards should therefore resolve moves with their {@link GameBoard#getBitBoard()}
+     * instead, which is what {@link hk.ust.cse.controller.GameBoardController} does by default.
+     * </p>
      *
-     * @param pos    Position.
-     * @param offset Positional offset to apply.
-     * @return An instance of {@link EntityCell}, or {@code null} if the resulting position does not contain an entity
-     * cell.
+     * @return The slide table of this game board.
      */
-    @Nullable
-    private Position getEntityCellByOffset(@NotNull final Position pos, @NotNull final PositionOffset offset) {
-        final var newPos = pos.offsetByOrNull(offset, getNumRows(), getNumCols());
-        if (newPos == null) {
-            return null;
-        }
-        if (getCell(newPos) instanceof Wall) {
-            return null;
+    @NotNull
+    public synchronized SlideTable getSlideTable() {
+        if (slideTable == null) {
+            slideTable = new SlideTable(this);
         }
+        return slideTable;
+    }
 
-        return newPos;
+    /**
+     * Returns the {@link BitBoard} of this game board, building it on first use.
+     *
+     * @return The bitboard of this game board.
+     */
+    @NotNull
+    public synchronized BitBoard getBitBoard() {
+        if (bitBoard == null) {
+            bitBoard = new BitBoard(this);
+        }
+        return bitBoard;
     }
 
     /**
-     * Gets all {@link Position} of cells which the player can stop on from the cell of the {@code initialPosition}.
+     * Takes an immutable snapshot of the current state of this game board.
      *
      * <p>
-     * A cell is "stoppable" iff the player can stop on the cell with any combination of valid moves.
+     * Moves can be made on the snapshot speculatively, e.g. by a search, without affecting this game board. Taking a
+     * snapshot copies the cell codes once, while every move made on a snapshot afterwards shares the unchanged cells
+     * with the snapshot it was made on.
      * </p>
      *
-     * @param initialPosition The starting position to get all stoppable cells.
-     * @return {@link List} of all positions stoppable from {@code initialPosition}.
+     * @return A snapshot of the current state of this game board.
      */
     @NotNull
-    private List<Position> getAllStoppablePositions(@NotNull final Position initialPosition) {
-        Objects.requireNonNull(initialPosition);
+    public synchronized BoardSnapshot snapshot() {
+        final var playerIds = players.stream().mapToInt(Player::getId).toArray();
+        return new BoardSnapshot(numRows, numCols, codes, playerIds, playerIndices, numGems, stateHash, positionPool);
+    }
+
+    /**
+     * Notifies this game board that the entity of one of its cells has been replaced.
+     *
+     * @param cell The cell whose entity has been replaced.
+     */
+    synchronized void onEntityChanged(@NotNull final EntityCell cell) {
+        final var index = indexOf(cell.getPosition());
+        final var prevCode = codes[index];
+        final var newCode = CellCode.of(cell);
+        codes[index] = newCode;
+
+        stateHash ^= Zobrist.cellKey(index, prevCode) ^ Zobrist.cellKey(index, newCode);
+        if (CellCode.hasPlayer(prevCode)) {
+            for (int slot = 0; slot < playerIndices.length; ++slot) {
+                if (playerIndices[slot] == index) {
+                    stateHash ^= Zobrist.playerKey(index, slot);
+                    playerIndices[slot] = -1;
+                }
+            }
+        }
+        if (cell.getEntity() instanceof Player player) {
+            final var slot = players.indexOf(player);
+            if (slot >= 0) {
+                // The player may be placed on this cell before it is removed from its previous cell
+                if (playerIndices[slot] >= 0) {
+                    stateHash ^= Zobrist.playerKey(playerIndices[slot], slot);
+                }
+                playerIndices[slot] = index;
+                stateHash ^= Zobrist.playerKey(index, slot);
+            }
+        }
 
-        final List<Position> allStoppablePos = new ArrayList<>();
-        final List<Position> posToTraverse = new ArrayList<>();
+        if (prevCode == CellCode.GEM) {
+            --numGems;
+        }
+        if (newCode == CellCode.GEM) {
+            ++numGems;
+        }
 
-        posToTraverse.add(initialPosition);
+        if (slideTable != null && CellCode.isOccupied(prevCode) != CellCode.isOccupied(newCode)) {
+            slideTable.onOccupancyChanged(index);
+        }
+        if (bitBoard != null) {
+            bitBoard.onCellCodeChanged(index, prevCode, newCode);
+        }
+    }
 
-        while (!posToTraverse.isEmpty()) {
-            final var nextPos = posToTraverse.remove(posToTraverse.size() - 1);
+    /**
+     * Computes {@link GameBoard#stateHash} and {@link GameBoard#playerIndices} from the current state of this game
+     * board.
+     */
+    private void initStateHash() {
+        stateHash = 0;
+        for (int index = 0; index < codes.length; ++index) {
+            stateHash ^= Zobrist.cellKey(index, codes[index]);
+        }
+        for (int slot = 0; slot < players.size(); ++slot) {
+            final var position = Objects.requireNonNull(players.get(slot).getOwner()).getPosition();
+            playerIndices[slot] = indexOf(position);
+            stateHash ^= Zobrist.playerKey(playerIndices[slot], slot);
+        }
+    }
 
-            if (!(getCell(nextPos) instanceof EntityCell)) {
-                continue;
-            }
-            if (allStoppablePos.contains(nextPos)) {
-                continue;
+    /**
+     * Counts the gems in {@link GameBoard#codes} into {@link GameBoard#numGems}.
+     */
+    private void countGems() {
+        numGems = 0;
+        for (final var code : codes) {
+            if (code == CellCode.GEM) {
+                ++numGems;
             }
-            allStoppablePos.add(nextPos);
+        }
+    }
 
-            for (@NotNull final var dir : Direction.values()) {
-                for (int i = 0; i < Math.max(getNumRows(), getNumCols()); ++i) {
-                    final var posOffset = new PositionOffset(dir.getRowOffset() * i, dir.getColOffset() * i);
-                    final var posToAdd = getEntityCellByOffset(nextPos, posOffset);
-
-                    if (posToAdd == null) {
-                        final var maxDist = i - 1;
-                        if (maxDist > 0) {
-                            final var posOffsetBeforeThis = new PositionOffset(
-                                    dir.getRowOffset() * maxDist,
-                                    dir.getColOffset() * maxDist
-                            );
-                            final var posBeforeThis = getEntityCellByOffset(nextPos, posOffsetBeforeThis);
-
-                            if (posBeforeThis != null && !posToTraverse.contains(posBeforeThis)) {
-                                posToTraverse.add(posBeforeThis);
-                            }
-                        }
+    /**
+     * Returns the cell at the index, creating it from its code if it has not been materialized yet.
+     *
+     * @param index The index of the cell.
+     * @return The {@link Cell} instance at the index.
+     */
+    @NotNull
+    private Cell materialize(final int index) {
+        assert materializedCells != null;
 
-                        break;
-                    }
+        synchronized (materializedCells) {
+            final var cached = materializedCells.get(index);
+            if (cached != null) {
+                return cached;
+            }
 
-                    if (getCell(posToAdd) instanceof StopCell || isBorderCell(posToAdd, dir)) {
-                        posToTraverse.add(posToAdd);
-                    }
-                }
+            final var cell = CellCode.toCell(codes[index], positionPool.get(index));
+            if (cell instanceof EntityCell ec) {
+                ec.gameBoard = this;
+            }
+            materializedCells.put(index, cell);
+            return cell;
+        }
+    }
+
+    /**
+     * Checks that a single player exists on the game board, and returns the instance of the player.
+     *
+     * @return The single instance of player on the game board.
+     * @throws IllegalArgumentException if the game board has zero, or more than one player entities.
+     */
+    @NotNull
+    public List<Player> getPlayers() {
+        var players = new ArrayList<Player>();
+        for (int index = 0; index < codes.length; ++index) {
+            if (CellCode.hasPlayer(codes[index])
+                    && getEntityCell(index / numCols, index % numCols).getEntity() instanceof Player p) {
+                players.add(p);
             }
         }
 
-        return Collections.unmodifiableList(allStoppablePos);
+        if (players.size() == 0) {
+            throw new IllegalArgumentException();
+        }
+
+        return players;
+    }
+
+    /**
+     * Returns the index of the adjacent cell in a direction.
+     *
+     * @param index The index of a cell.
+     * @param dir   The direction to offset.
+     * @return The index of the adjacent cell in the given direction, or {@link SlideTable#NONE} if it is outside the
+     * game board.
+     */
+    int neighborOf(final int index, @NotNull final Direction dir) {
+        final var r = index / numCols + dir.getRowOffset();
+        final var c = index % numCols + dir.getColOffset();
+
+        if (r < 0 || r >= numRows || c < 0 || c >= numCols) {
+            return SlideTable.NONE;
+        }
+        return r * numCols + c;
     }
 
     /**
-     * Gets all {@link Position} of cells which are reachable from the cell of the {@code initialPosition}.
+     * Gets the indices of all cells which are reachable from the cell at {@code initialIndex}.
      *
      * <p>
-     * A cell is reachable iff the player can move over the cell with any combination of valid moves.
+     * A cell is reachable iff the player can move over the cell with any combination of valid moves, and a cell is
+     * "stoppable" iff the player can stop on the cell with any combination of valid moves. Entities are ignored.
+     * </p>
+     * <p>
+     * Stoppable cells are found by a breadth-first search, where each step slides from a stoppable cell to its stop
+     * cell in one direction, and marks the cells on the way as reachable. All cells passed by a slide in a direction
+     * share the same stop cell in that direction, so they are recorded in {@code passed} and never scanned in that
+     * direction again. Each cell is therefore scanned at most once per direction.
      * </p>
      *
-     * @param initialPosition The starting position to get all reachable cells.
-     * @return {@link List} of all positions reachable from {@code initialPosition}.
+     * @param initialIndex The index of the starting cell.
+     * @return {@link BitSet} of the indices of all cells reachable from {@code initialIndex}.
      */
     @NotNull
-    private List<Position> getAllReachablePositions(@NotNull final Position initialPosition) {
-        Objects.requireNonNull(initialPosition);
+    private BitSet getAllReachableIndices(final int initialIndex) {
+        final var numCells = numRows * numCols;
+        final var allStoppable = new BitSet(numCells);
+        final var allReachable = new BitSet(numCells);
+        final var passed = new BitSet[Direction.values().length];
+        for (int i = 0; i < passed.length; ++i) {
+            passed[i] = new BitSet(numCells);
+        }
+
+        var indicesToTraverse = new int[16];
+        int head = 0;
+        int tail = 0;
+
+        allStoppable.set(initialIndex);
+        allReachable.set(initialIndex);
+        indicesToTraverse[tail++] = initialIndex;
 
-        final List<Position> allReachablePos = new ArrayList<>();
-        final List<Position> allStoppablePos = getAllStoppablePositions(initialPosition);
+        while (head < tail) {
+            final var index = indicesToTraverse[head++];
 
-        for (@NotNull final var reachablePos : allStoppablePos) {
             for (@NotNull final var dir : Direction.values()) {
-                for (int i = 0; i < Math.max(getNumRows(), getNumCols()); ++i) {
-                    final var posOffset = new PositionOffset(dir.getRowOffset() * i, dir.getColOffset() * i);
-                    final var posToAdd = getEntityCellByOffset(reachablePos, posOffset);
-                    if (posToAdd == null) {
+                final var dirPassed = passed[dir.ordinal()];
+                if (dirPassed.get(index)) {
+                    continue;
+                }
+
+                var stop = index;
+                while (true) {
+                    dirPassed.set(stop);
+
+                    final var next = neighborOf(stop, dir);
+                    if (next == SlideTable.NONE || codes[next] == CellCode.WALL) {
                         break;
                     }
 
-                    if (!allReachablePos.contains(posToAdd)) {
-                        allReachablePos.add(posToAdd);
+                    stop = next;
+                    allReachable.set(stop);
+                    if (CellCode.isStopCell(codes[stop])) {
+                        break;
+                    }
+                }
+
+                if (!allStoppable.get(stop)) {
+                    allStoppable.set(stop);
+                    if (tail == indicesToTraverse.length) {
+                        indicesToTraverse = Arrays.copyOf(indicesToTraverse, tail * 2);
                     }
+                    indicesToTraverse[tail++] = stop;
                 }
             }
         }
 
-        return Collections.unmodifiableList(allReachablePos);
-    }
-
-    /**
-     * Checks whether the given cell is a border cell with reference to the direction.
-     *
-     * @param cellPos The position of the cell.
-     * @param dir     The direction is moving at.
-     * @return {@code true} if the cell at the specified position is a border cell, i.e. the last cell in the game board
-     * before going out of bounds in the given direction.
-     */
-    private boolean isBorderCell(@NotNull final Position cellPos, @NotNull final Direction dir) {
-        return switch (dir) {
-            case UP -> cellPos.row() == 0;
-            case DOWN -> cellPos.row() == getNumRows() - 1;
-            case LEFT -> cellPos.col() == 0;
-            case RIGHT -> cellPos.col() == getNumCols() - 1;
-        };
+        return allReachable;
     }
 
     /**
@@ -249,12 +489,13 @@ public final class GameBoard {
     private boolean isAllGemsReachableFor(Player player) {
         final var expectedNumOfGems = getNumGems();
         final var initialPosition = Objects.requireNonNull(player.getOwner()).getPosition();
-        final var playerReachableCells = getAllReachablePositions(initialPosition);
+        final var initialIndex = indexOf(initialPosition);
+        final var playerReachableCells = getAllReachableIndices(initialIndex);
 
         int actualNumOfGems = 0;
-        for (final var pos : playerReachableCells) {
-            final var cell = getCell(pos);
-            if (cell instanceof EntityCell ec && ec.getEntity() instanceof Gem) {
+        for (int index = playerReachableCells.nextSetBit(0); index >= 0;
+             index = playerReachableCells.nextSetBit(index + 1)) {
+            if (codes[index] == CellCode.GEM) {
                 ++actualNumOfGems;
             }
         }
@@ -271,7 +512,15 @@ public final class GameBoard {
      */
     @NotNull
     public Cell[] getRow(final int r) {
-        return board[r];
+        if (board != null) {
+            return board[r];
+        }
+
+        final var row = new Cell[numCols];
+        for (int c = 0; c < numCols; ++c) {
+            row[c] = getCell(r, c);
+        }
+        return row;
     }
 
     /**
@@ -301,7 +550,13 @@ public final class GameBoard {
      */
     @NotNull
     public Cell getCell(final int r, final int c) {
-        return board[r][c];
+        if (board != null) {
+            return board[r][c];
+        }
+
+        Objects.checkIndex(r, numRows);
+        Objects.checkIndex(c, numCols);
+        return materialize(r * numCols + c);
     }
 
     /**
@@ -355,6 +610,46 @@ public final class GameBoard {
         return getEntityCell(position.row(), position.col());
     }
 
+    /**
+     * Returns the canonical {@link Position} of a cell.
+     *
+     * <p>
+     * Every position handed out by this game board, e.g. by {@link Cell#getPosition()} of its cells and in the
+     * {@link MoveResult}s of moves made on it, is the canonical instance, so positions of the same game board can be
+     * compared by identity, and do not need to be allocated again.
+     * </p>
+     *
+     * @param r Row index.
+     * @param c Column index.
+     * @return The canonical position of the cell at the specified location.
+     */
+    @NotNull
+    public Position getPosition(final int r, final int c) {
+        Objects.checkIndex(r, numRows);
+        Objects.checkIndex(c, numCols);
+
+        return positionPool.get(r * numCols + c);
+    }
+
+    /**
+     * @param index The index of the cell, i.e. {@code row * numCols + col}.
+     * @return The canonical position of the cell at the specified index.
+     * @see GameBoard#getPosition(int, int)
+     */
+    @NotNull
+    public Position getPosition(final int index) {
+        return positionPool.get(index);
+    }
+
+    /**
+     * @param position A position on this game board.
+     * @return The index of the cell at the position, i.e. {@code row * numCols + col}.
+     * @throws IndexOutOfBoundsException if the position is outside this game board.
+     */
+    public int indexOf(@NotNull final Position position) {
+        return positionPool.indexOf(position);
+    }
+
     /**
      * @return The number of rows of this game board.
      */
@@ -419,20 +714,63 @@ public final class GameBoard {
         return players.size() != 1;
     }
 
+    /**
+     * Returns the 64-bit Zobrist hash of the current state of this game board.
+     *
+     * <p>
+     * The hash covers the {@link CellCode} of every cell and the cell of every player, and is updated in O(1) whenever
+     * the entity of a cell is replaced, e.g. when a player moves, a gem or an extra life is collected, or a move is
+     * undone. Game boards of the same size in the same state, including which player is on which cell, have the same
+     * hash, so it can be used as the key of transposition tables and caches. Different states may collide, although
+     * with negligible probability.
+     * </p>
+     *
+     * @return The hash of the current state of this game board.
+     */
+    public long stateHash() {
+        return stateHash;
+    }
+
     /**
      * @return The number of gems still present in the game board.
      */
     public int getNumGems() {
-        var count = 0;
+        return numGems;
+    }
 
-        for (final var row : board) {
-            for (final var cell : row) {
-                if (cell instanceof EntityCell ec && ec.getEntity() instanceof Gem) {
-                    count++;
-                }
-            }
-        }
+    /**
+     * @param r Row index.
+     * @param c Column index.
+     * @return The {@link CellCode} of the cell at the specified location.
+     */
+    public byte getCellCode(final int r, final int c) {
+        Objects.checkIndex(r, numRows);
+        Objects.checkIndex(c, numCols);
 
-        return count;
+        return codes[r * numCols + c];
+    }
+
+    /**
+     * @param index The index of the cell, i.e. {@code row * numCols + col}.
+     * @return The {@link CellCode} of the cell at the specified index.
+     */
+    public byte getCellCode(final int index) {
+        return codes[index];
+    }
+
+    /**
+     * @return A copy of the {@link CellCode}s of all cells, indexed by {@code row * numCols + col}. The copy can be
+     * passed to {@link GameBoard#GameBoard(int, int, byte[])} to create an independent game board in the same state.
+     */
+    @NotNull
+    public synchronized byte[] getCellCodes() {
+        return codes.clone();
+    }
+
+    /**
+     * @return Whether this game board uses packed storage, i.e. was created from an array of {@link CellCode}s.
+     */
+    public boolean isPacked() {
+        return board == null;
     }
 }
@@ -3,6 +3,7 @@ package hk.ust.cse.model;
 import hk.ust.cse.controller.GameBoardController;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -297,6 +298,37 @@ public class GameState {
         return gameBoard;
     }
 
+    /**
+     * @return The moves which can be undone, from the earliest to the latest.
+     */
+    @NotNull
+    public List<MoveResult> getUndoableMoves() {
+        return moveStack.getMoves();
+    }
+
+    /**
+     * Restores the statistics and the move history of this game state, e.g. when resuming a game from a checkpoint.
+     *
+     * @param numMoves      The number of moves taken by the player.
+     * @param numDeaths     The number of deaths of the player.
+     * @param numGotGems    The number of gems collected by the player.
+     * @param undoableMoves The moves which can be undone, from the earliest to the latest.
+     * @param numUndos      The number of moves which have been undone.
+     * @throws IllegalArgumentException if any of the numbers is negative, or any of {@code undoableMoves} is not a
+     *                                  {@link MoveResult.Valid.Alive}.
+     */
+    public void restoreStatistics(final int numMoves, final int numDeaths, final int numGotGems,
+                                  @NotNull final List<MoveResult> undoableMoves, final int numUndos) {
+        if (numMoves < 0 || numDeaths < 0 || numGotGems < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        moveStack.restore(undoableMoves, numUndos);
+        this.numMoves = numMoves;
+        this.numDeaths = numDeaths;
+        this.numGotGems = numGotGems;
+    }
+
     /**
      * @return The instance of the managed {@link MoveStack}.
      */
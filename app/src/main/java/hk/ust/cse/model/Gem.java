@@ -11,6 +11,11 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class Gem extends Entity {
 
+    /**
+     * The shared instance of {@link Gem}, which is never owned by any cell and can be placed on any number of cells.
+     */
+    public static final Gem SHARED = new Gem(true);
+
     /**
      * Creates an instance of {@link Gem}, initially not present on any {@link EntityCell}.
      */
@@ -27,6 +32,13 @@ public final class Gem extends Entity {
         super(owner);
     }
 
+    /**
+     * Creates the shared instance.
+     */
+    private Gem(final boolean shared) {
+        super(shared);
+    }
+
     @Override
     public char toUnicodeChar() {
         return '\u25C7';
@@ -11,6 +11,11 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class Mine extends Entity {
 
+    /**
+     * The shared instance of {@link Mine}, which is never owned by any cell and can be placed on any number of cells.
+     */
+    public static final Mine SHARED = new Mine(true);
+
     /**
      * Creates an instance of {@link Mine}, initially not present on any {@link EntityCell}.
      */
@@ -27,6 +32,13 @@ public final class Mine extends Entity {
         super(owner);
     }
 
+    /**
+     * Creates the shared instance.
+     */
+    private Mine(final boolean shared) {
+        super(shared);
+    }
+
     @Override
     public char toUnicodeChar() {
         return '\u26A0';
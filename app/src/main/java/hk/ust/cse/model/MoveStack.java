@@ -57,6 +57,33 @@ public class MoveStack {
         return popCount;
     }
 
+    /**
+     * @return All moves in this stack, from the bottom to the top.
+     */
+    @NotNull
+    List<MoveResult> getMoves() {
+        return List.copyOf(moves);
+    }
+
+    /**
+     * Replaces the contents of this stack.
+     *
+     * @param moves    The moves to put into this stack, from the bottom to the top.
+     * @param popCount The number of {@link MoveStack#pop} calls invoked.
+     */
+    void restore(@NotNull final List<MoveResult> moves, final int popCount) {
+        Objects.requireNonNull(moves);
+        if (popCount < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.moves.clear();
+        for (final var move : moves) {
+            push(move);
+        }
+        this.popCount = popCount;
+    }
+
     /**
      * Peeks the topmost of the element of the stack.
      *
@@ -3,7 +3,9 @@ package hk.ust.cse.model;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The player entity on a game board.
@@ -13,7 +15,7 @@ import java.util.Objects;
  * </p>
  */
 public final class Player extends Entity {
-    private static int count = 0;
+    private static final AtomicInteger count = new AtomicInteger();
     private static final String[] PLAYER_IMAGES = new String[]{
             "/images/player.png",
             "/images/player2.png",
@@ -43,7 +45,7 @@ public final class Player extends Entity {
     public Player(@Nullable EntityCell owner, @Nullable GameState state) {
         super(owner);
         this.gameState = state;
-        id = count++;
+        id = count.getAndIncrement();
         image = PLAYER_IMAGES[id % PLAYER_IMAGES.length];
     }
 
@@ -56,6 +58,14 @@ public final class Player extends Entity {
         this(owner, null);
     }
 
+    /**
+     * @return The paths to the images of all players, as returned by {@link Player#toImage()}.
+     */
+    @NotNull
+    public static List<String> getImages() {
+        return List.of(PLAYER_IMAGES);
+    }
+
     /**
      * Get the id of the instance.
      *
@@ -0,0 +1,102 @@
+package hk.ust.cse.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The canonical {@link Position} instances of the cells of a {@link GameBoard}, indexed by {@code row * numCols + col}.
+ *
+ * <p>
+ * Positions are created on first use, in chunks of {@link PositionPool#CHUNK_SIZE} cells, so a large packed game board
+ * only pays for the positions it actually hands out. Every position is published with a compare-and-set, so
+ * concurrent callers always observe the same instance for the same cell, and positions of the same game board can be
+ * compared by identity.
+ * </p>
+ */
+final class PositionPool {
+
+    private static final int CHUNK_BITS = 10;
+
+    /**
+     * The number of positions in each chunk.
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final int numRows;
+    private final int numCols;
+
+    @NotNull
+    private final AtomicReferenceArray<AtomicReferenceArray<Position>> chunks;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param numRows The number of rows of the game board.
+     * @param numCols The number of columns of the game board.
+     */
+    PositionPool(final int numRows, final int numCols) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.chunks = new AtomicReferenceArray<>((numRows * numCols + CHUNK_SIZE - 1) >>> CHUNK_BITS);
+    }
+
+    /**
+     * @param index The index of a cell.
+     * @return The canonical position of the cell.
+     */
+    @NotNull
+    Position get(final int index) {
+        Objects.checkIndex(index, numRows * numCols);
+
+        final var chunk = getChunk(index);
+        final var offset = index & (CHUNK_SIZE - 1);
+        final var position = chunk.get(offset);
+        if (position != null) {
+            return position;
+        }
+
+        final var created = new Position(index / numCols, index % numCols);
+        final var witness = chunk.compareAndExchange(offset, null, created);
+        return witness != null ? witness : created;
+    }
+
+    /**
+     * Makes a position the canonical position of its cell, unless the cell already has one.
+     *
+     * @param position The position of a cell.
+     * @return The canonical position of the cell.
+     */
+    @NotNull
+    Position intern(@NotNull final Position position) {
+        final var index = indexOf(position);
+        final var witness = getChunk(index).compareAndExchange(index & (CHUNK_SIZE - 1), null, position);
+        return witness != null ? witness : position;
+    }
+
+    /**
+     * @param position A position on the game board.
+     * @return The index of the cell at the position.
+     * @throws IndexOutOfBoundsException if the position is outside the game board.
+     */
+    int indexOf(@NotNull final Position position) {
+        Objects.checkIndex(position.row(), numRows);
+        Objects.checkIndex(position.col(), numCols);
+
+        return position.row() * numCols + position.col();
+    }
+
+    @NotNull
+    private AtomicReferenceArray<Position> getChunk(final int index) {
+        final var chunkIndex = index >>> CHUNK_BITS;
+        final var chunk = chunks.get(chunkIndex);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        final var created = new AtomicReferenceArray<Position>(CHUNK_SIZE);
+        final var witness = chunks.compareAndExchange(chunkIndex, null, created);
+        return witness != null ? witness : created;
+    }
+}
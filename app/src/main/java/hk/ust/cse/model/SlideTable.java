@@ -0,0 +1,176 @@
+package hk.ust.cse.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Precomputed slide information of a {@link GameBoard}.
+ *
+ * <p>
+ * Cells are addressed by their index {@code row * numCols + col}. For every cell and every {@link Direction}, this
+ * table stores:
+ * </p>
+ * <ul>
+ *     <li>The <em>stop cell</em>, i.e. the cell the player would stop on if it slides from the cell in the direction
+ *     and the path is clear of entities. This only depends on walls, {@link StopCell}s and the borders of the game
+ *     board, which never change.</li>
+ *     <li>The <em>next occupied cell</em>, i.e. the nearest cell along the same slide which currently holds an
+ *     {@link Entity}. Following these links visits every gem, extra life, mine and player on the way without scanning
+ *     the empty cells in between.</li>
+ * </ul>
+ * <p>
+ * The links are kept up-to-date by {@link GameBoard} whenever an {@link EntityCell} on the board changes its entity.
+ * </p>
+ */
+public final class SlideTable {
+
+    /**
+     * Index value indicating the absence of a cell.
+     */
+    public static final int NONE = -1;
+
+    @NotNull
+    private final GameBoard gameBoard;
+
+    private final int numRows;
+    private final int numCols;
+
+    /**
+     * {@code stops[dir.ordinal()][index]} is the index of the cell where a slide from {@code index} in {@code dir}
+     * ends, ignoring entities. Equals to {@code index} if the slide cannot move at all.
+     */
+    @NotNull
+    private final int[][] stops;
+
+    /**
+     * {@code nextOccupied[dir.ordinal()][index]} is the index of the nearest occupied cell reached by sliding from
+     * {@code index} in {@code dir}, or {@link SlideTable#NONE} if the slide does not pass through any entity.
+     */
+    @NotNull
+    private final int[][] nextOccupied;
+
+    /**
+     * Creates the slide table of a game board.
+     *
+     * @param gameBoard The game board to create the table for.
+     */
+    SlideTable(@NotNull final GameBoard gameBoard) {
+        this.gameBoard = Objects.requireNonNull(gameBoard);
+        this.numRows = gameBoard.getNumRows();
+        this.numCols = gameBoard.getNumCols();
+
+        final var numDirs = Direction.values().length;
+        this.stops = new int[numDirs][numRows * numCols];
+        this.nextOccupied = new int[numDirs][numRows * numCols];
+
+        for (@NotNull final var dir : Direction.values()) {
+            build(dir);
+        }
+    }
+
+    /**
+     * Fills the table for a single direction.
+     *
+     * <p>
+     * Cells are visited from the far end of the direction, so that the neighbour of a cell is always computed before
+     * the cell itself.
+     * </p>
+     *
+     * @param dir The direction to fill.
+     */
+    private void build(@NotNull final Direction dir) {
+        final var stop = stops[dir.ordinal()];
+        final var next = nextOccupied[dir.ordinal()];
+
+        final var rowDescending = dir.getRowOffset() > 0;
+        final var colDescending = dir.getColOffset() > 0;
+        for (int i = 0; i < numRows; ++i) {
+            final var r = rowDescending ? numRows - 1 - i : i;
+            for (int j = 0; j < numCols; ++j) {
+                final var c = colDescending ? numCols - 1 - j : j;
+                final var index = r * numCols + c;
+                final var neighbor = gameBoard.neighborOf(index, dir);
+
+                if (neighbor == NONE || isWall(neighbor)) {
+                    stop[index] = index;
+                    next[index] = NONE;
+                } else if (isStopCell(neighbor)) {
+                    stop[index] = neighbor;
+                    next[index] = isOccupied(neighbor) ? neighbor : NONE;
+                } else {
+                    stop[index] = stop[neighbor];
+                    next[index] = isOccupied(neighbor) ? neighbor : next[neighbor];
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the links after the occupancy of a cell has changed.
+     *
+     * <p>
+     * Only the cells whose slide passes through the changed cell without hitting another entity need to be updated,
+     * so this method walks backwards from the changed cell until it hits a wall, a stop cell or another entity.
+     * </p>
+     *
+     * @param index The index of the cell whose entity has been added or removed.
+     */
+    void onOccupancyChanged(final int index) {
+        for (@NotNull final var dir : Direction.values()) {
+            final var next = nextOccupied[dir.ordinal()];
+            final var value = isOccupied(index) ? index : (isStopCell(index) ? NONE : next[index]);
+            final var opposite = oppositeOf(dir);
+
+            for (int i = gameBoard.neighborOf(index, opposite); i != NONE; i = gameBoard.neighborOf(i, opposite)) {
+                next[i] = value;
+                if (isWall(i) || isStopCell(i) || isOccupied(i)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param index The index of the starting cell.
+     * @param dir   The direction to slide in.
+     * @return The index of the cell where a slide ends if there are no entities on the way. Returns {@code index} if
+     * the slide cannot move at all.
+     */
+    public int getStop(final int index, @NotNull final Direction dir) {
+        return stops[dir.ordinal()][index];
+    }
+
+    /**
+     * @param index The index of the starting cell, or of an occupied cell previously returned by this method.
+     * @param dir   The direction to slide in.
+     * @return The index of the next occupied cell along the slide, or {@link SlideTable#NONE} if there is none. Note
+     * that the returned cell may lie beyond {@link SlideTable#getStop} of the original starting cell if the stop cell
+     * itself is occupied; Callers should stop following the links once the stop cell is reached.
+     */
+    public int getNextOccupied(final int index, @NotNull final Direction dir) {
+        return nextOccupied[dir.ordinal()][index];
+    }
+
+    @NotNull
+    private static Direction oppositeOf(@NotNull final Direction dir) {
+        return switch (dir) {
+            case UP -> Direction.DOWN;
+            case DOWN -> Direction.UP;
+            case LEFT -> Direction.RIGHT;
+            case RIGHT -> Direction.LEFT;
+        };
+    }
+
+    private boolean isWall(final int index) {
+        return gameBoard.getCellCode(index) == CellCode.WALL;
+    }
+
+    private boolean isStopCell(final int index) {
+        return CellCode.isStopCell(gameBoard.getCellCode(index));
+    }
+
+    private boolean isOccupied(final int index) {
+        return CellCode.isOccupied(gameBoard.getCellCode(index));
+    }
+}
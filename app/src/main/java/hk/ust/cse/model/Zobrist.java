@@ -0,0 +1,44 @@
+package hk.ust.cse.model;
+
+/**
+ * Keys of the Zobrist hash maintained by {@link GameBoard#stateHash()}.
+ *
+ * <p>
+ * Instead of a table of random numbers, which would cost 64 bytes per cell, every key is derived on demand by mixing
+ * its cell index and the {@link CellCode} or player with the SplitMix64 finalizer. Keys are therefore the same across
+ * game boards and runs, so equal states of different game boards of the same size have equal hashes.
+ * </p>
+ */
+final class Zobrist {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param index The index of a cell.
+     * @param code  The {@link CellCode} of the cell.
+     * @return The key of the cell having the code. The key of {@link CellCode#EMPTY} is {@code 0}, so empty cells do not
+     * contribute to the hash.
+     */
+    static long cellKey(final int index, final byte code) {
+        return code == CellCode.EMPTY ? 0 : mix((long) index << 8 | code);
+    }
+
+    /**
+     * @param index The index of a cell.
+     * @param slot  The index of a player in {@link GameBoard#getPlayers()} of the initial game board.
+     * @return The key of the player being on the cell.
+     */
+    static long playerKey(final int index, final int slot) {
+        return mix((long) index << 8 | 0x80 | slot);
+    }
+
+    private static long mix(final long value) {
+        var z = value * SEED + SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
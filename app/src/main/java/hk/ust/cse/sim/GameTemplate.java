@@ -0,0 +1,79 @@
+package hk.ust.cse.sim;
+
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.GameState;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Immutable copy of the initial state of a game, from which any number of independent games can be created.
+ *
+ * <p>
+ * The game board is stored as an array of {@link hk.ust.cse.model.CellCode}s, and every game is created as a packed
+ * {@link GameBoard} from a copy of it, which avoids parsing the puzzle again for every game.
+ * </p>
+ */
+final class GameTemplate {
+
+    private final int numRows;
+    private final int numCols;
+    @NotNull
+    private final byte[] codes;
+
+    /**
+     * The number of lives of each player, in the order of {@link GameBoard#getPlayers()}.
+     */
+    @NotNull
+    private final int[] numLives;
+
+    /**
+     * Creates a template from the game states of all players of a game.
+     *
+     * @param gameStates The game states of all players on the same game board, e.g. as returned by
+     *                   {@link hk.ust.cse.util.GameStateSerializer#loadFrom(java.nio.file.Path)}.
+     * @throws IllegalArgumentException if {@code gameStates} is empty, or the game states are not of all players of
+     *                                  the same game board.
+     */
+    GameTemplate(@NotNull final GameState[] gameStates) {
+        Objects.requireNonNull(gameStates);
+        if (gameStates.length == 0) {
+            throw new IllegalArgumentException();
+        }
+
+        final var gameBoard = gameStates[0].getGameBoard();
+        final var players = gameBoard.getPlayers();
+        if (players.size() != gameStates.length) {
+            throw new IllegalArgumentException();
+        }
+
+        this.numRows = gameBoard.getNumRows();
+        this.numCols = gameBoard.getNumCols();
+        this.codes = gameBoard.getCellCodes();
+        this.numLives = new int[players.size()];
+        for (final var gameState : gameStates) {
+            final var index = players.indexOf(gameState.getPlayer());
+            if (gameState.getGameBoard() != gameBoard || index < 0) {
+                throw new IllegalArgumentException();
+            }
+            numLives[index] = gameState.hasUnlimitedLives() ? GameState.UNLIMITED_LIVES : gameState.getNumLives();
+        }
+    }
+
+    /**
+     * Creates a new game in the initial state.
+     *
+     * @return The game states of all players on a new game board.
+     */
+    @NotNull
+    GameState[] newGame() {
+        final var gameBoard = new GameBoard(numRows, numCols, codes.clone());
+        final var players = gameBoard.getPlayers();
+
+        final var gameStates = new GameState[players.size()];
+        for (int i = 0; i < gameStates.length; ++i) {
+            gameStates[i] = new GameState(gameBoard, players.get(i), numLives[i]);
+        }
+        return gameStates;
+    }
+}
@@ -0,0 +1,197 @@
+package hk.ust.cse.sim;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.model.GameState;
+import hk.ust.cse.util.GameStateSerializer;
+import hk.ust.cse.util.ReplayLog;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Headless engine which replays a {@link ReplayLog} against the game it was recorded on, e.g. to verify the scores
+ * submitted to a leaderboard.
+ *
+ * <p>
+ * Every action in the log is processed by {@link GameController#processMove(hk.ust.cse.model.Direction, int)} or
+ * {@link GameController#processUndo()} on a new game created from the initial game states, and its outcome is checked
+ * against the recorded outcome, so a log which was not produced by the game, or was produced on a different game
+ * board, is rejected. The replay file is memory mapped and read directly, without the JavaFX toolkit and without
+ * waiting between moves.
+ * </p>
+ */
+public final class ReplayEngine {
+
+    @NotNull
+    private final GameTemplate template;
+
+    private final int numPlayers;
+
+    private final int checksum;
+
+    /**
+     * Creates an engine replaying logs recorded on a game.
+     *
+     * @param gameStates The game states of all players in the initial state of the game. They are only copied, and
+     *                   not modified by the engine.
+     * @throws IllegalArgumentException if {@code gameStates} are not of all players of the same game board.
+     */
+    public ReplayEngine(@NotNull final GameState[] gameStates) {
+        this.template = new GameTemplate(gameStates);
+        this.numPlayers = gameStates.length;
+        this.checksum = ReplayLog.computeChecksum(gameStates[0].getGameBoard());
+    }
+
+    /**
+     * Replays all actions in a replay file on a new game.
+     *
+     * @param replayFile The replay file.
+     * @return The game states of all players after the last action, in the order of
+     * {@link hk.ust.cse.model.GameBoard#getPlayers()} of the initial game board.
+     * @throws FileNotFoundException    if {@code replayFile} does not exist.
+     * @throws IllegalArgumentException if {@code replayFile} is not a replay file, or was recorded on another game.
+     * @throws IllegalStateException    if the outcome of an action is different from the recorded outcome.
+     */
+    @NotNull
+    public GameState[] replay(@NotNull final Path replayFile) throws FileNotFoundException {
+        Objects.requireNonNull(replayFile);
+
+        if (!Files.isRegularFile(replayFile)) {
+            throw new FileNotFoundException(replayFile.toString());
+        }
+
+        try (var channel = FileChannel.open(replayFile, StandardOpenOption.READ)) {
+            if (channel.size() < ReplayLog.HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a replay file: " + replayFile);
+            }
+            return replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Replays all actions in a replay file on a new game.
+     *
+     * @param buffer The contents of the replay file.
+     * @return The game states of all players after the last action.
+     */
+    @NotNull
+    private GameState[] replay(@NotNull final MappedByteBuffer buffer) {
+        if (buffer.getInt() != ReplayLog.MAGIC) {
+            throw new IllegalArgumentException("Not a replay file");
+        }
+        final var version = buffer.getShort();
+        if (version != ReplayLog.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay file version: " + version);
+        }
+        if (buffer.getShort() != numPlayers || buffer.getInt() != checksum) {
+            throw new IllegalArgumentException("The replay was recorded on another game");
+        }
+
+        final var gameStates = template.newGame();
+        final var controller = new GameController(gameStates);
+        final var playerIds = Arrays.stream(gameStates).mapToInt(gameState -> gameState.getPlayer().getId()).toArray();
+
+        final var numActions = buffer.remaining();
+        for (int i = 0; i < numActions; ++i) {
+            final var action = buffer.get(ReplayLog.HEADER_SIZE + i);
+            final var playerIndex = ReplayLog.getPlayerIndex(action);
+            final var outcome = ReplayLog.getOutcome(action);
+            if (playerIndex >= numPlayers) {
+                throw new IllegalStateException("Action " + i + " is made by an unknown player");
+            }
+
+            final boolean matched;
+            if (outcome == ReplayLog.Outcome.UNDO) {
+                matched = numPlayers == 1 && controller.processUndo();
+            } else {
+                final var result = controller.processMove(ReplayLog.getDirection(action), playerIds[playerIndex]);
+                matched = result != null && ReplayLog.Outcome.of(result) == outcome;
+            }
+            if (!matched) {
+                throw new IllegalStateException("Action " + i + " does not have the recorded outcome " + outcome);
+            }
+        }
+        return gameStates;
+    }
+
+    /**
+     * Replays a replay file, and checks the final scores of all players.
+     *
+     * @param replayFile     The replay file.
+     * @param expectedScores The expected score of each player, in the order of
+     *                       {@link hk.ust.cse.model.GameBoard#getPlayers()} of the initial game board.
+     * @return {@code true} if the replay is valid and every player has the expected score.
+     * @throws FileNotFoundException if {@code replayFile} does not exist.
+     */
+    public boolean verify(@NotNull final Path replayFile, @NotNull final int... expectedScores)
+            throws FileNotFoundException {
+        Objects.requireNonNull(expectedScores);
+
+        final GameState[] gameStates;
+        try {
+            gameStates = replay(replayFile);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return false;
+        }
+        return Arrays.equals(Arrays.stream(gameStates).mapToInt(GameState::getScore).toArray(), expectedScores);
+    }
+
+    /**
+     * Replays a replay file headlessly and prints the final scores.
+     *
+     * <p>
+     * Usage: {@code ReplayEngine <puzzle file> <replay file> [expected score of each player...]}. The process exits
+     * with a non-zero status if the replay is invalid or the scores are not the expected scores.
+     * </p>
+     *
+     * @param args Arguments from the command-line.
+     * @throws FileNotFoundException if the puzzle file or the replay file does not exist.
+     */
+    public static void main(@NotNull final String[] args) throws FileNotFoundException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReplayEngine <puzzle file> <replay file> [expected scores...]");
+            System.exit(1);
+        }
+
+        final var engine = new ReplayEngine(GameStateSerializer.loadFrom(Path.of(args[0])));
+        final var replayFile = Path.of(args[1]);
+        final var startTime = System.nanoTime();
+        final int[] scores;
+        try {
+            scores = Arrays.stream(engine.replay(replayFile)).mapToInt(GameState::getScore).toArray();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Invalid replay: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        final var elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+
+        final long numActions;
+        try {
+            numActions = Files.size(replayFile) - ReplayLog.HEADER_SIZE;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        System.out.println("scores: " + Arrays.toString(scores));
+        System.out.printf("%d actions, %.2f s, %.0f actions/s%n", numActions, elapsedSeconds,
+                numActions / elapsedSeconds);
+
+        if (args.length > 2) {
+            final var expectedScores = Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray();
+            if (!Arrays.equals(scores, expectedScores)) {
+                System.err.println("Expected scores: " + Arrays.toString(expectedScores));
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package hk.ust.cse.sim;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.model.GameState;
+import hk.ust.cse.util.GameStateSerializer;
+import hk.ust.cse.util.Robot;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Headless engine which plays a puzzle many times with {@link Robot} strategies and aggregates the results.
+ *
+ * <p>
+ * Games are played by calling {@link Robot#makeMove} and {@link GameController#processMove(hk.ust.cse.model.Direction,
+ * int)} directly, without the JavaFX toolkit and without waiting between moves. Every game is independent, so games
+ * are spread over the worker threads of a {@link ForkJoinPool}, each of which collects its results separately before
+ * they are merged.
+ * </p>
+ */
+public final class SelfPlayEngine {
+
+    /**
+     * The default maximum number of moves per player in a single game.
+     */
+    public static final int DEFAULT_MAX_MOVES = 1000;
+
+    @NotNull
+    private final GameTemplate template;
+
+    @NotNull
+    private final Robot.Strategy strategy;
+
+    private final int maxMoves;
+
+    /**
+     * Creates an engine playing a game with every player controlled by a robot of the same strategy.
+     *
+     * @param gameStates The game states of all players in the initial state of the game. They are only copied, and
+     *                   not modified by the engine.
+     * @param strategy   The strategy of the robots.
+     * @param maxMoves   The maximum number of moves per player, after which a game is stopped.
+     * @throws IllegalArgumentException if {@code gameStates} are not of all players of the same game board, or
+     *                                  {@code maxMoves} is not positive.
+     */
+    public SelfPlayEngine(@NotNull final GameState[] gameStates, @NotNull final Robot.Strategy strategy,
+                          final int maxMoves) {
+        if (maxMoves <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.template = new GameTemplate(gameStates);
+        this.strategy = Objects.requireNonNull(strategy);
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Plays a number of games using all available processors.
+     *
+     * @param numGames The number of games to play.
+     * @return The aggregate results of the games.
+     */
+    @NotNull
+    public SimulationResults run(final int numGames) {
+        return run(numGames, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays a number of games using a number of threads.
+     *
+     * @param numGames    The number of games to play.
+     * @param parallelism The number of threads to play the games on.
+     * @return The aggregate results of the games.
+     * @throws IllegalArgumentException if {@code numGames} is negative or {@code parallelism} is not positive.
+     */
+    @NotNull
+    public SimulationResults run(final int numGames, final int parallelism) {
+        if (numGames < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        final var pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> IntStream.range(0, numGames)
+                            .parallel()
+                            .collect(SimulationResults.Accumulator::new,
+                                    (accumulator, game) -> playGame(accumulator),
+                                    SimulationResults.Accumulator::merge))
+                    .get()
+                    .toResults();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a single game until it is over, or no player can move anymore, or the move limit is reached.
+     *
+     * <p>
+     * The players take turns in the order of their game states. Players which have lost are skipped.
+     * </p>
+     *
+     * @param accumulator The container to add the results of the game to.
+     */
+    private void playGame(@NotNull final SimulationResults.Accumulator accumulator) {
+        final var gameStates = template.newGame();
+        final var controller = new GameController(gameStates);
+        final var robots = Arrays.stream(gameStates)
+                .map(gameState -> new Robot(gameState, strategy))
+                .toArray(Robot[]::new);
+
+        var finished = false;
+        for (int round = 0; round < maxMoves && !finished; ++round) {
+            var anyMoved = false;
+            for (int i = 0; i < gameStates.length && !finished; ++i) {
+                final var gameState = gameStates[i];
+                if (gameState.hasLost() || gameState.getPlayer().getOwner() == null) {
+                    continue;
+                }
+
+                final var numMoves = gameState.getNumMoves();
+                final var playerId = gameState.getPlayer().getId();
+                robots[i].makeMove(direction -> controller.processMove(direction, playerId));
+                anyMoved |= gameState.getNumMoves() != numMoves;
+                finished = controller.getWinners() != null;
+            }
+            if (!anyMoved) {
+                break;
+            }
+        }
+
+        final var winners = controller.getWinners();
+        accumulator.add(gameStates, winners != null && winners.length > 0, finished);
+    }
+
+    /**
+     * Plays a puzzle headlessly and prints the aggregate results.
+     *
+     * <p>
+     * Usage: {@code SelfPlayEngine <puzzle file> [strategy] [number of games] [max moves per player]}
+     * </p>
+     *
+     * @param args Arguments from the command-line.
+     * @throws FileNotFoundException if the puzzle file does not exist.
+     */
+    public static void main(@NotNull final String[] args) throws FileNotFoundException {
+        if (args.length < 1) {
+            System.err.println("Usage: SelfPlayEngine <puzzle file> [strategy] [number of games] [max moves]");
+            System.exit(1);
+        }
+
+        final var gameStates = GameStateSerializer.loadFrom(Path.of(args[0]));
+        final var strategy = args.length > 1 ? Robot.Strategy.valueOf(args[1]) : Robot.Strategy.Random;
+        final var numGames = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        final var maxMoves = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_MOVES;
+
+        final var engine = new SelfPlayEngine(gameStates, strategy, maxMoves);
+        final var startTime = System.nanoTime();
+        final var results = engine.run(numGames);
+        final var elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.println(results);
+        System.out.println("score distribution: " + results.getScoreDistribution());
+        System.out.printf("%.2f s, %.0f games/hour%n", elapsedSeconds, numGames / elapsedSeconds * 3600);
+    }
+}
@@ -0,0 +1,176 @@
+package hk.ust.cse.sim;
+
+import hk.ust.cse.model.GameState;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.IntSummaryStatistics;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Aggregate results of the games run by a {@link SelfPlayEngine}.
+ */
+public final class SimulationResults {
+
+    private final int numGames;
+    private final int numWins;
+    private final int numUnfinished;
+    @NotNull
+    private final IntSummaryStatistics moves;
+    @NotNull
+    private final IntSummaryStatistics deaths;
+    @NotNull
+    private final IntSummaryStatistics scores;
+    @NotNull
+    private final NavigableMap<Integer, Integer> scoreDistribution;
+
+    private SimulationResults(@NotNull final Accumulator accumulator) {
+        this.numGames = accumulator.numGames;
+        this.numWins = accumulator.numWins;
+        this.numUnfinished = accumulator.numUnfinished;
+        this.moves = accumulator.moves;
+        this.deaths = accumulator.deaths;
+        this.scores = accumulator.scores;
+        this.scoreDistribution = Collections.unmodifiableNavigableMap(accumulator.scoreDistribution);
+    }
+
+    /**
+     * @return The number of games run.
+     */
+    public int getNumGames() {
+        return numGames;
+    }
+
+    /**
+     * @return The number of games with at least one winner.
+     */
+    public int getNumWins() {
+        return numWins;
+    }
+
+    /**
+     * @return The fraction of games with at least one winner, or {@code 0} if no games were run.
+     */
+    public double getWinRate() {
+        return numGames == 0 ? 0 : (double) numWins / numGames;
+    }
+
+    /**
+     * @return The number of games which were stopped because they reached the move limit, or because no player could
+     * move anymore.
+     */
+    public int getNumUnfinished() {
+        return numUnfinished;
+    }
+
+    /**
+     * @return Statistics of the total number of moves made in each game.
+     */
+    @NotNull
+    public IntSummaryStatistics getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return Statistics of the total number of deaths in each game.
+     */
+    @NotNull
+    public IntSummaryStatistics getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * @return Statistics of the final {@link GameState#getScore()} of every player in every game.
+     */
+    @NotNull
+    public IntSummaryStatistics getScores() {
+        return scores;
+    }
+
+    /**
+     * @return The number of players finishing with each {@link GameState#getScore()}, ordered by score.
+     */
+    @NotNull
+    public NavigableMap<Integer, Integer> getScoreDistribution() {
+        return scoreDistribution;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "games=%d wins=%d (%.2f%%) unfinished=%d%n"
+                        + "moves: avg=%.2f min=%d max=%d%n"
+                        + "deaths: avg=%.2f min=%d max=%d%n"
+                        + "scores: avg=%.2f min=%d max=%d",
+                numGames, numWins, getWinRate() * 100, numUnfinished,
+                moves.getAverage(), moves.getMin(), moves.getMax(),
+                deaths.getAverage(), deaths.getMin(), deaths.getMax(),
+                scores.getAverage(), scores.getMin(), scores.getMax());
+    }
+
+    /**
+     * Mutable container collecting the results of games, which can be merged with the results collected by other
+     * threads.
+     */
+    static final class Accumulator {
+
+        private int numGames = 0;
+        private int numWins = 0;
+        private int numUnfinished = 0;
+        private final IntSummaryStatistics moves = new IntSummaryStatistics();
+        private final IntSummaryStatistics deaths = new IntSummaryStatistics();
+        private final IntSummaryStatistics scores = new IntSummaryStatistics();
+        private final TreeMap<Integer, Integer> scoreDistribution = new TreeMap<>();
+
+        /**
+         * Adds the results of a finished game.
+         *
+         * @param gameStates The final game states of all players of the game.
+         * @param won        Whether the game has at least one winner.
+         * @param finished   Whether the game ended normally, rather than being stopped.
+         */
+        void add(@NotNull final GameState[] gameStates, final boolean won, final boolean finished) {
+            ++numGames;
+            if (won) {
+                ++numWins;
+            }
+            if (!finished) {
+                ++numUnfinished;
+            }
+
+            var numMoves = 0;
+            var numDeaths = 0;
+            for (final var gameState : gameStates) {
+                numMoves += gameState.getNumMoves();
+                numDeaths += gameState.getNumDeaths();
+
+                final var score = gameState.getScore();
+                scores.accept(score);
+                scoreDistribution.merge(score, 1, Integer::sum);
+            }
+            moves.accept(numMoves);
+            deaths.accept(numDeaths);
+        }
+
+        /**
+         * Adds the results collected by another instance.
+         *
+         * @param other The instance to merge into this one.
+         */
+        void merge(@NotNull final Accumulator other) {
+            numGames += other.numGames;
+            numWins += other.numWins;
+            numUnfinished += other.numUnfinished;
+            moves.combine(other.moves);
+            deaths.combine(other.deaths);
+            scores.combine(other.scores);
+            other.scoreDistribution.forEach((score, count) -> scoreDistribution.merge(score, count, Integer::sum));
+        }
+
+        @NotNull
+        SimulationResults toResults() {
+            return new SimulationResults(this);
+        }
+    }
+}
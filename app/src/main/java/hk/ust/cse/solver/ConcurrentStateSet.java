@@ -0,0 +1,64 @@
+package hk.ust.cse.solver;
+
+/**
+ * Thread-safe set of search states, i.e. pairs of a {@link MoveGraph} node and a bitmask of remaining gems.
+ *
+ * <p>
+ * The states are spread over a number of {@link StateTable} stripes by the high bits of their hash, and each stripe is
+ * guarded by its own lock. Threads adding states to different stripes therefore never wait for each other.
+ * </p>
+ */
+final class ConcurrentStateSet {
+
+    /**
+     * The number of stripes per expected concurrent thread.
+     */
+    private static final int STRIPES_PER_THREAD = 8;
+
+    private final StateTable[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Creates an empty set.
+     *
+     * @param concurrency The expected number of threads adding states concurrently.
+     */
+    ConcurrentStateSet(final int concurrency) {
+        final var numStripes = Integer.highestOneBit(Math.max(1, concurrency * STRIPES_PER_THREAD - 1)) << 1;
+        this.stripes = new StateTable[numStripes];
+        for (int i = 0; i < numStripes; ++i) {
+            stripes[i] = new StateTable();
+        }
+        this.stripeShift = Integer.SIZE - Integer.numberOfTrailingZeros(numStripes);
+    }
+
+    /**
+     * Adds a state to the set.
+     *
+     * @param node The node of the state.
+     * @param gems The bitmask of remaining gems of the state.
+     * @return Whether the state was added, i.e. it was not in the set before.
+     */
+    boolean add(final int node, final long gems) {
+        // The stripe tables index their slots by the low bits of the hash, so the stripe is chosen by the high bits
+        final var hash = StateTable.hash(node, gems);
+        final var stripe = stripes[hash >>> stripeShift];
+        synchronized (stripe) {
+            final var size = stripe.size();
+            return stripe.getOrAdd(node, gems) == size;
+        }
+    }
+
+    /**
+     * @return The number of states in the set.
+     */
+    int size() {
+        var size = 0;
+        for (final var stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
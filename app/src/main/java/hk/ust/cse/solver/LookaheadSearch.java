@@ -0,0 +1,282 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.model.Direction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Depth-limited lookahead over a {@link MoveGraph}, choosing the move which collects the most gems within a number of
+ * moves.
+ *
+ * <p>
+ * A sequence of moves scores {@link LookaheadSearch#GEM_SCORE} for every tracked gem collected and loses
+ * {@link LookaheadSearch#MOVE_COST} for every move. The best score reachable from each (node, remaining gems) state
+ * is memoised in a transposition table for each depth the state was searched to, so a state reached through different
+ * move orders with the same number of moves left is only searched once. The table is kept between calls, so the search
+ * for the next move reuses most of the work done for the previous one.
+ * </p>
+ * <p>
+ * A stored score is only reused for a search to exactly the same depth. A score searched deeper is never lower, so
+ * reusing it for a shallower search would compare sibling moves at different horizons.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class LookaheadSearch {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The score of collecting a single gem.
+     */
+    public static final int GEM_SCORE = 10;
+
+    /**
+     * The cost of making a single move.
+     */
+    public static final int MOVE_COST = 1;
+
+    /**
+     * The maximum number of moves to look ahead.
+     */
+    public static final int MAX_DEPTH = Byte.MAX_VALUE;
+
+    /**
+     * The number of states searched between checks of the deadline.
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+
+    /**
+     * The maximum number of entries in the transposition table, to bound its memory use. Once the table is full, new
+     * entries are searched without being stored, and the table is discarded at the start of the next search.
+     */
+    private static final int MAX_ENTRIES = 1 << 20;
+
+    /**
+     * Score of an entry which has been added to the table but not searched yet. Scores of searched entries are never
+     * negative, since stopping early is allowed.
+     */
+    private static final int NOT_SEARCHED = -1;
+
+    @NotNull
+    private final MoveGraph graph;
+
+    /**
+     * The (node, remaining gems) states in the transposition table.
+     */
+    @NotNull
+    private StateTable states = new StateTable();
+
+    /**
+     * The entries of the transposition table, each of which is a state searched to a depth, keyed by the id of the
+     * state in {@link LookaheadSearch#states} and the depth.
+     */
+    @NotNull
+    private StateTable entries = new StateTable();
+    @NotNull
+    private int[] scores = new int[1 << 9];
+
+    /**
+     * The {@link System#nanoTime()} after which the current search is abandoned.
+     */
+    private long deadline = 0;
+    private boolean hasDeadline = false;
+    private int statesUntilDeadlineCheck = 0;
+
+    /**
+     * Creates a search over a move graph, with an empty transposition table.
+     *
+     * @param graph The move graph to search.
+     */
+    public LookaheadSearch(@NotNull final MoveGraph graph) {
+        this.graph = Objects.requireNonNull(graph);
+    }
+
+    /**
+     * @return The move graph searched by this instance.
+     */
+    @NotNull
+    public MoveGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Finds the move with the best score within a number of moves.
+     *
+     * @param node          The current node.
+     * @param remainingGems The bitmask of gems which have not been collected.
+     * @param depth         The number of moves to look ahead. Must be between 1 and {@link LookaheadSearch#MAX_DEPTH}.
+     * @param random        The source of randomness to break ties between moves with the same score.
+     * @return The best move, or {@code null} if every move is invalid or kills the player.
+     * @throws IllegalArgumentException if {@code depth} is out of range.
+     */
+    @Nullable
+    public Direction bestDirection(final int node, final long remainingGems, final int depth,
+                                   @NotNull final Random random) {
+        hasDeadline = false;
+        try {
+            return search(node, remainingGems, depth, random);
+        } catch (SearchTimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Finds the move with the best score within a number of moves, giving up once a deadline has passed.
+     *
+     * <p>
+     * The results of the states searched completely before the deadline are kept in the transposition table, so a
+     * search which timed out still speeds up later searches.
+     * </p>
+     *
+     * @param node          The current node.
+     * @param remainingGems The bitmask of gems which have not been collected.
+     * @param depth         The number of moves to look ahead. Must be between 1 and {@link LookaheadSearch#MAX_DEPTH}.
+     * @param random        The source of randomness to break ties between moves with the same score.
+     * @param deadline      The {@link System#nanoTime()} after which the search is abandoned.
+     * @return The best move, or {@code null} if every move is invalid or kills the player.
+     * @throws IllegalArgumentException if {@code depth} is out of range.
+     * @throws TimeoutException         if the deadline passed before the search completed.
+     */
+    @Nullable
+    public Direction bestDirection(final int node, final long remainingGems, final int depth,
+                                   @NotNull final Random random, final long deadline) throws TimeoutException {
+        this.deadline = deadline;
+        this.hasDeadline = true;
+        this.statesUntilDeadlineCheck = 0;
+        try {
+            return search(node, remainingGems, depth, random);
+        } catch (SearchTimeoutException e) {
+            throw new TimeoutException();
+        }
+    }
+
+    @Nullable
+    private Direction search(final int node, final long remainingGems, final int depth, @NotNull final Random random)
+            throws SearchTimeoutException {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException();
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            states = new StateTable();
+            entries = new StateTable();
+        }
+
+        // Start from a random direction so that ties are not always broken the same way
+        final var offset = random.nextInt(DIRECTIONS.length);
+        Direction best = null;
+        var bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < DIRECTIONS.length; ++i) {
+            final var dir = DIRECTIONS[(offset + i) % DIRECTIONS.length];
+            final var score = scoreMove(node, remainingGems, dir, depth);
+            if (score > bestScore) {
+                bestScore = score;
+                best = dir;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return The number of states in the transposition table.
+     */
+    public int getNumStates() {
+        return states.size();
+    }
+
+    /**
+     * @return The score of moving from {@code node} in {@code dir} and continuing optimally for {@code depth - 1}
+     * moves, or {@link Integer#MIN_VALUE} if the move is invalid or kills the player.
+     */
+    private int scoreMove(final int node, final long remainingGems, @NotNull final Direction dir, final int depth)
+            throws SearchTimeoutException {
+        final var successor = graph.getSuccessor(node, dir);
+        if (successor == MoveGraph.NONE) {
+            return Integer.MIN_VALUE;
+        }
+
+        final var collected = remainingGems & graph.getCollectedGems(node, dir);
+        return Long.bitCount(collected) * GEM_SCORE - MOVE_COST
+                + score(successor, remainingGems & ~collected, depth - 1);
+    }
+
+    /**
+     * @return The best score of making up to {@code depth} moves from a state.
+     */
+    private int score(final int node, final long remainingGems, final int depth) throws SearchTimeoutException {
+        if (depth == 0 || remainingGems == 0) {
+            return 0;
+        }
+        if (hasDeadline && --statesUntilDeadlineCheck <= 0) {
+            statesUntilDeadlineCheck = DEADLINE_CHECK_INTERVAL;
+            if (System.nanoTime() - deadline > 0) {
+                // Unwinds without storing the scores of the states being searched, which are incomplete
+                throw SearchTimeoutException.INSTANCE;
+            }
+        }
+
+        final var entry = getOrAddEntry(node, remainingGems, depth);
+        if (entry >= 0 && scores[entry] != NOT_SEARCHED) {
+            return scores[entry];
+        }
+
+        // Stopping early is allowed, so a state without valid moves scores zero
+        var best = 0;
+        for (@NotNull final var dir : DIRECTIONS) {
+            best = Math.max(best, scoreMove(node, remainingGems, dir, depth));
+        }
+
+        if (entry >= 0) {
+            scores[entry] = best;
+        }
+        return best;
+    }
+
+    /**
+     * Finds the entry of a state searched to a depth, adding it to the transposition table unless the table is full.
+     *
+     * @return The id of the entry, or {@code -1} if the table is full and does not contain the entry.
+     */
+    private int getOrAddEntry(final int node, final long remainingGems, final int depth) {
+        final var numEntries = entries.size();
+        if (numEntries >= MAX_ENTRIES) {
+            final var state = states.get(node, remainingGems);
+            return state < 0 ? -1 : entries.get(state, depth);
+        }
+
+        final var entry = entries.getOrAdd(states.getOrAdd(node, remainingGems), depth);
+        if (entry == numEntries) {
+            if (entry == scores.length) {
+                scores = Arrays.copyOf(scores, entry * 2);
+            }
+            scores[entry] = NOT_SEARCHED;
+        }
+        return entry;
+    }
+
+    /**
+     * Thrown to abandon a search once its deadline has passed.
+     *
+     * <p>
+     * The exception only unwinds the search, so a single instance without a stack trace is shared by all searches.
+     * </p>
+     */
+    private static final class SearchTimeoutException extends Exception {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        static final SearchTimeoutException INSTANCE = new SearchTimeoutException();
+
+        private SearchTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+}
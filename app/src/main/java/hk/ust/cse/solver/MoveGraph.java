@@ -0,0 +1,808 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.controller.GameBoardController;
+import hk.ust.cse.controller.MoveBuffer;
+import hk.ust.cse.model.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * The graph of all positions a player can stop on, and the moves between them.
+ *
+ * <p>
+ * Gems, extra lives and mines never block a slide, so the position a move ends on never changes throughout a game;
+ * Only the set of gems collected on the way depends on which gems are still present. This class therefore resolves
+ * every move once, and records the gems passed by each move as a bitmask.
+ * </p>
+ * <p>
+ * Moves which kill the player are left out of the graph. A dying player stays on the same position and the game board
+ * is left unchanged, so such moves never bring a player closer to collecting all gems.
+ * </p>
+ * <p>
+ * Gems which are always collected together with another gem are not tracked: If every move passing gem {@code A} also
+ * passes gem {@code B}, then {@code B} is guaranteed to be collected once {@code A} is, so only {@code A} needs to be
+ * tracked. This often reduces the number of tracked gems considerably.
+ * </p>
+ * <p>
+ * In multiplayer games, the other players are treated as walls at their current positions.
+ * </p>
+ */
+public final class MoveGraph {
+
+    /**
+     * Value indicating the absence of a node.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Distance value indicating that a gem cannot be collected from a node.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int NUM_DIRECTIONS = Direction.values().length;
+
+    /**
+     * The maximum number of gems in a pattern group.
+     */
+    private static final int MAX_PATTERN_SIZE = 12;
+
+    /**
+     * The maximum number of entries in the pattern table of a single group.
+     */
+    private static final int MAX_PATTERN_ENTRIES = 1 << 21;
+
+    /**
+     * Value in a pattern table indicating that the gems cannot all be collected.
+     */
+    private static final int PATTERN_UNREACHABLE = 0xFF;
+
+    private final int numCols;
+
+    /**
+     * The number of gems tracked by this graph.
+     */
+    private final int numGems;
+
+    /**
+     * The position of each tracked gem, indexed by the bit representing the gem.
+     */
+    @NotNull
+    private final Position[] gemPositions;
+
+    /**
+     * The node of each cell index, or {@link MoveGraph#NONE} if the player cannot stop on the cell.
+     */
+    @NotNull
+    private final int[] nodeIds;
+
+    /**
+     * The canonical {@link Position} of each node, as returned by {@link GameBoard#getPosition(int)}.
+     */
+    @NotNull
+    private final Position[] nodePositions;
+
+    /**
+     * {@code successors[node * NUM_DIRECTIONS + dir.ordinal()]} is the node reached by moving from {@code node} in
+     * {@code dir}, or {@link MoveGraph#NONE} if the move is invalid or kills the player.
+     */
+    @NotNull
+    private final int[] successors;
+
+    /**
+     * {@code collectedGems[node * NUM_DIRECTIONS + dir.ordinal()]} is the bitmask of tracked gems passed by the move
+     * from {@code node} in {@code dir}.
+     */
+    @NotNull
+    private final long[] collectedGems;
+
+    /**
+     * The edges ending on each node are {@code predecessorEdges[predecessorStarts[node]]} to
+     * {@code predecessorEdges[predecessorStarts[node + 1] - 1]}.
+     */
+    @NotNull
+    private final int[] predecessorStarts;
+    @NotNull
+    private final int[] predecessorEdges;
+
+    /**
+     * {@code distances[gem][node]} is the minimum number of moves needed to collect {@code gem} when starting from
+     * {@code node}, or {@link MoveGraph#UNREACHABLE} if it cannot be collected.
+     */
+    private int[][] distances;
+
+    /**
+     * {@code gemDistances[from][to]} is the minimum number of moves needed to collect gem {@code to} after the move
+     * collecting gem {@code from}, which is zero if some move collects both gems.
+     */
+    private int[][] gemDistances;
+
+    /**
+     * {@code nearestGems[to]} lists all other gems, ordered by increasing {@code gemDistances[from][to]}.
+     */
+    private int[][] nearestGems;
+
+    /**
+     * The first bit of each pattern group. The tracked gems are split into groups of consecutive bits, and the gems of
+     * each group are spread over the game board.
+     */
+    @NotNull
+    private final int[] patternStarts;
+
+    /**
+     * The number of gems in each pattern group.
+     */
+    @NotNull
+    private final int[] patternSizes;
+
+    /**
+     * {@code patternCosts[group][(node << patternSizes[group]) | mask]} is the minimum number of moves needed to
+     * collect the gems of {@code group} in {@code mask} when starting from {@code node}, ignoring all other gems.
+     * Values are unsigned, saturated at {@code PATTERN_UNREACHABLE - 1}.
+     */
+    private byte[][] patternCosts;
+
+    /**
+     * Whether the tables above have been built by {@link MoveGraph#ensureHeuristicTables()}.
+     */
+    private volatile boolean heuristicTablesBuilt = false;
+
+    /**
+     * Builds the graph of a player from its current position.
+     *
+     * @param gameBoard The game board to build the graph for.
+     * @param player    The player which makes the moves. Must be on {@code gameBoard}.
+     * @throws IllegalArgumentException if the player is not on the game board, or more than {@link Long#SIZE} gems
+     *                                  need to be tracked.
+     */
+    public MoveGraph(@NotNull final GameBoard gameBoard, @NotNull final Player player) {
+        this(Board.of(gameBoard, player));
+    }
+
+    /**
+     * Builds the graph of a player from its position in a snapshot.
+     *
+     * <p>
+     * The snapshot is only read while building the graph, so the graph of a live game board can be built from a
+     * snapshot of it without holding the lock of the game board.
+     * </p>
+     *
+     * @param snapshot The snapshot to build the graph for.
+     * @param playerID The id of the player which makes the moves. Must be on {@code snapshot}.
+     * @throws IllegalArgumentException if the player is not on the snapshot, or more than {@link Long#SIZE} gems need
+     *                                  to be tracked.
+     */
+    public MoveGraph(@NotNull final BoardSnapshot snapshot, final int playerID) {
+        this(Board.of(snapshot, playerID));
+    }
+
+    private MoveGraph(@NotNull final Board board) {
+        this.numCols = board.getNumCols();
+        final var numCells = board.getNumRows() * numCols;
+
+        // Number the gems on the game board
+        final var gemIds = new int[numCells];
+        var numBoardGems = 0;
+        for (int index = 0; index < numCells; ++index) {
+            gemIds[index] = board.getCellCode(index) == CellCode.GEM ? numBoardGems++ : NONE;
+        }
+
+        // Discover all nodes reachable from the player by breadth-first search, recording the gems passed by each
+        // move in compressed form
+        final var buffer = new MoveBuffer();
+        this.nodeIds = new int[numCells];
+        Arrays.fill(nodeIds, NONE);
+
+        var indices = new int[16];
+        var nextSuccessors = new int[16 * NUM_DIRECTIONS];
+        var edgeGemStarts = new int[16 * NUM_DIRECTIONS + 1];
+        var edgeGems = new int[16];
+        var numNodes = 0;
+
+        final var startIndex = board.getStartIndex();
+        nodeIds[startIndex] = numNodes;
+        indices[numNodes++] = startIndex;
+
+        for (int node = 0; node < numNodes; ++node) {
+            for (@NotNull final var dir : Direction.values()) {
+                final var edge = node * NUM_DIRECTIONS + dir.ordinal();
+                if (edge >= nextSuccessors.length) {
+                    nextSuccessors = Arrays.copyOf(nextSuccessors, nextSuccessors.length * 2);
+                    edgeGemStarts = Arrays.copyOf(edgeGemStarts, nextSuccessors.length + 1);
+                }
+                var numEdgeGems = edgeGemStarts[edge];
+
+                board.evaluateMove(indices[node], dir, buffer);
+                if (buffer.getOutcome() == MoveBuffer.ALIVE) {
+                    final var newIndex = buffer.getNewIndex();
+                    if (nodeIds[newIndex] == NONE) {
+                        if (numNodes == indices.length) {
+                            indices = Arrays.copyOf(indices, numNodes * 2);
+                        }
+                        nodeIds[newIndex] = numNodes;
+                        indices[numNodes++] = newIndex;
+                    }
+                    nextSuccessors[edge] = nodeIds[newIndex];
+
+                    for (int i = 0; i < buffer.getNumGems(); ++i) {
+                        if (numEdgeGems == edgeGems.length) {
+                            edgeGems = Arrays.copyOf(edgeGems, numEdgeGems * 2);
+                        }
+                        edgeGems[numEdgeGems++] = gemIds[buffer.getGemIndex(i)];
+                    }
+                } else {
+                    nextSuccessors[edge] = NONE;
+                }
+                edgeGemStarts[edge + 1] = numEdgeGems;
+            }
+        }
+
+        this.nodePositions = new Position[numNodes];
+        for (int node = 0; node < numNodes; ++node) {
+            nodePositions[node] = board.getPosition(indices[node]);
+        }
+        this.successors = Arrays.copyOf(nextSuccessors, numNodes * NUM_DIRECTIONS);
+
+        // Find the gems which need to be tracked, and assign a bit to each of them
+        final var numEdges = successors.length;
+        final var collectingEdges = new BitSet[numBoardGems];
+        for (int gem = 0; gem < numBoardGems; ++gem) {
+            collectingEdges[gem] = new BitSet(numEdges);
+        }
+        for (int edge = 0; edge < numEdges; ++edge) {
+            for (int i = edgeGemStarts[edge]; i < edgeGemStarts[edge + 1]; ++i) {
+                collectingEdges[edgeGems[i]].set(edge);
+            }
+        }
+
+        final var trackedGems = new ArrayList<Integer>();
+        final var trackedGemPositions = new ArrayList<Position>();
+        for (int index = 0; index < numCells; ++index) {
+            final var gem = gemIds[index];
+            if (gem != NONE && !isImpliedByOtherGem(gem, collectingEdges)) {
+                trackedGems.add(gem);
+                trackedGemPositions.add(board.getPosition(index));
+            }
+        }
+        if (trackedGems.size() > Long.SIZE) {
+            throw new IllegalArgumentException("Cannot track more than " + Long.SIZE + " gems");
+        }
+        this.numGems = trackedGems.size();
+
+        // Split the tracked gems into pattern groups in round-robin order, so that each group spreads over the board
+        final var maxPatternSize = Math.min(MAX_PATTERN_SIZE,
+                Integer.SIZE - 1 - Integer.numberOfLeadingZeros(MAX_PATTERN_ENTRIES / numNodes));
+        final var numPatterns = maxPatternSize <= 0 ? 0 : (numGems + maxPatternSize - 1) / maxPatternSize;
+        this.patternStarts = new int[numPatterns];
+        this.patternSizes = new int[numPatterns];
+        for (int group = 0; group < numPatterns; ++group) {
+            patternSizes[group] = numGems / numPatterns + (group < numGems % numPatterns ? 1 : 0);
+            patternStarts[group] = group == 0 ? 0 : patternStarts[group - 1] + patternSizes[group - 1];
+        }
+
+        final var gemBits = new int[numBoardGems];
+        Arrays.fill(gemBits, NONE);
+        this.gemPositions = new Position[numGems];
+        for (int i = 0; i < numGems; ++i) {
+            final var bit = numPatterns == 0 ? i : patternStarts[i % numPatterns] + i / numPatterns;
+            gemBits[trackedGems.get(i)] = bit;
+            gemPositions[bit] = trackedGemPositions.get(i);
+        }
+
+        this.collectedGems = new long[numEdges];
+        for (int edge = 0; edge < numEdges; ++edge) {
+            for (int i = edgeGemStarts[edge]; i < edgeGemStarts[edge + 1]; ++i) {
+                final var bit = gemBits[edgeGems[i]];
+                if (bit != NONE) {
+                    collectedGems[edge] |= 1L << bit;
+                }
+            }
+        }
+
+        // Build the reverse adjacency list in compressed form
+        this.predecessorStarts = new int[numNodes + 1];
+        for (final var successor : successors) {
+            if (successor != NONE) {
+                ++predecessorStarts[successor + 1];
+            }
+        }
+        for (int node = 0; node < numNodes; ++node) {
+            predecessorStarts[node + 1] += predecessorStarts[node];
+        }
+        this.predecessorEdges = new int[predecessorStarts[numNodes]];
+        final var fill = Arrays.copyOf(predecessorStarts, numNodes);
+        for (int edge = 0; edge < numEdges; ++edge) {
+            if (successors[edge] != NONE) {
+                predecessorEdges[fill[successors[edge]]++] = edge;
+            }
+        }
+    }
+
+    /**
+     * Builds the tables used by {@link MoveGraph#estimateRemainingMoves}, unless they have been built already. The
+     * tables are only needed for searching for optimal solutions, so they are built on first use.
+     */
+    private void ensureHeuristicTables() {
+        if (heuristicTablesBuilt) {
+            return;
+        }
+        synchronized (this) {
+            if (heuristicTablesBuilt) {
+                return;
+            }
+
+            this.distances = computeDistances();
+            this.patternCosts = new byte[patternSizes.length][];
+            for (int group = 0; group < patternSizes.length; ++group) {
+                patternCosts[group] = computePatternCosts(patternStarts[group], patternSizes[group]);
+            }
+            this.gemDistances = computeGemDistances();
+            this.nearestGems = new int[numGems][];
+            for (int to = 0; to < numGems; ++to) {
+                final var gem = to;
+                nearestGems[to] = IntStream.range(0, numGems)
+                        .filter(from -> from != gem)
+                        .boxed()
+                        .sorted(Comparator.comparingInt(from -> gemDistances[from][gem]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+            heuristicTablesBuilt = true;
+        }
+    }
+
+    /**
+     * Checks whether a gem is guaranteed to be collected once some other tracked gem is collected.
+     *
+     * <p>
+     * Gem {@code B} is implied by gem {@code A} if every move collecting {@code A} also collects {@code B}. If two gems
+     * are collected by exactly the same moves, the one with the smaller number is kept.
+     * </p>
+     *
+     * @param gem             The gem to check.
+     * @param collectingEdges The set of edges collecting each gem.
+     * @return Whether {@code gem} is implied by another gem.
+     */
+    private static boolean isImpliedByOtherGem(final int gem, @NotNull final BitSet[] collectingEdges) {
+        final var edges = collectingEdges[gem];
+        if (edges.isEmpty()) {
+            // Uncollectable gems must be kept, so that the puzzle is reported as unsolvable
+            return false;
+        }
+
+        for (int other = 0; other < collectingEdges.length; ++other) {
+            if (other == gem) {
+                continue;
+            }
+
+            final var otherEdges = collectingEdges[other];
+            if (otherEdges.isEmpty()) {
+                continue;
+            }
+
+            final var notInEdges = (BitSet) otherEdges.clone();
+            notInEdges.andNot(edges);
+            if (notInEdges.isEmpty() && (otherEdges.cardinality() < edges.cardinality() || other < gem)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes {@link MoveGraph#distances} by a backward breadth-first search from the moves collecting each gem.
+     *
+     * @return The distance table.
+     */
+    @NotNull
+    private int[][] computeDistances() {
+        final var numNodes = getNumNodes();
+
+        final var result = new int[numGems][];
+        final var queue = new int[numNodes];
+        for (int gem = 0; gem < numGems; ++gem) {
+            final var dist = new int[numNodes];
+            Arrays.fill(dist, UNREACHABLE);
+
+            int head = 0;
+            int tail = 0;
+            for (int edge = 0; edge < successors.length; ++edge) {
+                final var node = edge / NUM_DIRECTIONS;
+                if ((collectedGems[edge] & (1L << gem)) != 0 && dist[node] == UNREACHABLE) {
+                    dist[node] = 1;
+                    queue[tail++] = node;
+                }
+            }
+
+            while (head < tail) {
+                final var node = queue[head++];
+                for (int i = predecessorStarts[node]; i < predecessorStarts[node + 1]; ++i) {
+                    final var predecessor = predecessorEdges[i] / NUM_DIRECTIONS;
+                    if (dist[predecessor] == UNREACHABLE) {
+                        dist[predecessor] = dist[node] + 1;
+                        queue[tail++] = predecessor;
+                    }
+                }
+            }
+
+            result[gem] = dist;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the pattern table of a group of gems by a backward breadth-first search from the states where all gems
+     * of the group have been collected.
+     *
+     * @param start The first bit of the group.
+     * @param size  The number of gems in the group.
+     * @return The pattern table of the group.
+     */
+    @NotNull
+    private byte[] computePatternCosts(final int start, final int size) {
+        final var numNodes = getNumNodes();
+        final var fullMask = (1 << size) - 1;
+        final var costs = new byte[numNodes << size];
+        Arrays.fill(costs, (byte) PATTERN_UNREACHABLE);
+
+        final var queue = new int[costs.length];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < numNodes; ++node) {
+            costs[node << size] = 0;
+            queue[tail++] = node << size;
+        }
+
+        while (head < tail) {
+            final var entry = queue[head++];
+            final var node = entry >>> size;
+            final var remaining = entry & fullMask;
+            final var cost = Math.min((costs[entry] & 0xFF) + 1, PATTERN_UNREACHABLE - 1);
+
+            for (int i = predecessorStarts[node]; i < predecessorStarts[node + 1]; ++i) {
+                final var edge = predecessorEdges[i];
+                final var predecessor = edge / NUM_DIRECTIONS;
+                final var collected = (int) (collectedGems[edge] >>> start) & fullMask & ~remaining;
+
+                // Any subset of the gems collected by the move may have been remaining before the move
+                for (int extra = collected; ; extra = (extra - 1) & collected) {
+                    final var predecessorEntry = (predecessor << size) | remaining | extra;
+                    if ((costs[predecessorEntry] & 0xFF) == PATTERN_UNREACHABLE) {
+                        costs[predecessorEntry] = (byte) cost;
+                        queue[tail++] = predecessorEntry;
+                    }
+                    if (extra == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Computes {@link MoveGraph#gemDistances} from {@link MoveGraph#distances}.
+     *
+     * @return The distance table between gems.
+     */
+    @NotNull
+    private int[][] computeGemDistances() {
+        final var result = new int[numGems][numGems];
+        for (final var row : result) {
+            Arrays.fill(row, UNREACHABLE);
+        }
+
+        for (int edge = 0; edge < successors.length; ++edge) {
+            final var gems = collectedGems[edge];
+            for (var from = gems; from != 0; from &= from - 1) {
+                final var fromGem = Long.numberOfTrailingZeros(from);
+                for (int toGem = 0; toGem < numGems; ++toGem) {
+                    final var distance = (gems & (1L << toGem)) != 0 ? 0 : distances[toGem][successors[edge]];
+                    result[fromGem][toGem] = Math.min(result[fromGem][toGem], distance);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of nodes in this graph.
+     */
+    public int getNumNodes() {
+        return nodePositions.length;
+    }
+
+    /**
+     * @return The number of gems tracked by this graph.
+     */
+    public int getNumGems() {
+        return numGems;
+    }
+
+    /**
+     * @return The node of the starting position of the player.
+     */
+    public int getStartNode() {
+        return 0;
+    }
+
+    /**
+     * @return The bitmask with a bit set for each gem tracked by this graph.
+     */
+    public long getAllGems() {
+        return numGems == Long.SIZE ? -1L : (1L << numGems) - 1;
+    }
+
+    /**
+     * @param node A node.
+     * @return The position of the node on the game board.
+     */
+    @NotNull
+    public Position getPosition(final int node) {
+        return nodePositions[node];
+    }
+
+    /**
+     * @param position A position on the game board.
+     * @return The node at {@code position}, or {@link MoveGraph#NONE} if the player cannot stop there.
+     */
+    public int getNode(@NotNull final Position position) {
+        return nodeIds[position.row() * numCols + position.col()];
+    }
+
+    /**
+     * @param gameBoard The game board this graph was built for, possibly after some gems have been collected.
+     * @return The bitmask of tracked gems which are still on {@code gameBoard}.
+     */
+    public long getRemainingGems(@NotNull final GameBoard gameBoard) {
+        var remaining = 0L;
+        for (int gem = 0; gem < numGems; ++gem) {
+            final var position = gemPositions[gem];
+            if (gameBoard.getCellCode(position.row(), position.col()) == CellCode.GEM) {
+                remaining |= 1L << gem;
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * @param snapshot A snapshot of the game board this graph was built for, possibly after some gems have been
+     *                 collected.
+     * @return The bitmask of tracked gems which are still on {@code snapshot}.
+     */
+    public long getRemainingGems(@NotNull final BoardSnapshot snapshot) {
+        var remaining = 0L;
+        for (int gem = 0; gem < numGems; ++gem) {
+            final var position = gemPositions[gem];
+            if (snapshot.getCellCode(position.row(), position.col()) == CellCode.GEM) {
+                remaining |= 1L << gem;
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * @param gem The bit representing a gem.
+     * @return The position of the gem on the game board.
+     */
+    @NotNull
+    public Position getGemPosition(final int gem) {
+        return gemPositions[gem];
+    }
+
+    /**
+     * @param node A node.
+     * @param dir  The direction to move in.
+     * @return The node reached by moving from {@code node} in {@code dir}, or {@link MoveGraph#NONE} if the move is
+     * invalid or kills the player.
+     */
+    public int getSuccessor(final int node, @NotNull final Direction dir) {
+        return successors[node * NUM_DIRECTIONS + dir.ordinal()];
+    }
+
+    /**
+     * @param node A node.
+     * @param dir  The direction to move in.
+     * @return The bitmask of gems passed by moving from {@code node} in {@code dir}.
+     */
+    public long getCollectedGems(final int node, @NotNull final Direction dir) {
+        return collectedGems[node * NUM_DIRECTIONS + dir.ordinal()];
+    }
+
+    /**
+     * Computes a lower bound of the number of moves needed to collect all remaining gems.
+     *
+     * <p>
+     * The largest of the following bounds is returned:
+     * </p>
+     * <ul>
+     *     <li>Every remaining gem must be collected by some move, so at least as many moves as the largest distance to
+     *     a remaining gem are needed.</li>
+     *     <li>The moves of a solution can be split into segments, each ending with the move collecting a remaining gem.
+     *     The segment of every gem but the first is at least as long as the distance to the gem from the nearest other
+     *     remaining gem, and the segment of the first gem is at least as long as its distance from the current node.
+     *     Summing these, assuming the first gem is the one for which this is cheapest, gives another bound.</li>
+     *     <li>Collecting all gems takes at least as many moves as collecting the remaining gems of any single pattern
+     *     group, which has been precomputed exactly.</li>
+     * </ul>
+     * <p>
+     * None of the bounds overestimates the number of moves needed.
+     * </p>
+     *
+     * @param node          The current node.
+     * @param remainingGems The bitmask of gems which have not been collected.
+     * @return The lower bound, or {@link MoveGraph#UNREACHABLE} if the remaining gems can no longer be collected.
+     */
+    public int estimateRemainingMoves(final int node, final long remainingGems) {
+        ensureHeuristicTables();
+
+        var patternBound = 0;
+        for (int group = 0; group < patternCosts.length; ++group) {
+            final var size = patternSizes[group];
+            final var mask = (int) (remainingGems >>> patternStarts[group]) & ((1 << size) - 1);
+            final var cost = patternCosts[group][(node << size) | mask] & 0xFF;
+            if (cost == PATTERN_UNREACHABLE) {
+                return UNREACHABLE;
+            }
+            patternBound = Math.max(patternBound, cost);
+        }
+
+        var maxBound = 0;
+        var sumBound = 0;
+        var maxSaving = 0;
+        for (var gems = remainingGems; gems != 0; gems &= gems - 1) {
+            final var gem = Long.numberOfTrailingZeros(gems);
+            final var distance = distances[gem][node];
+            if (distance == UNREACHABLE) {
+                return UNREACHABLE;
+            }
+            maxBound = Math.max(maxBound, distance);
+
+            var segment = UNREACHABLE;
+            for (final var from : nearestGems[gem]) {
+                if ((remainingGems & (1L << from)) != 0) {
+                    segment = gemDistances[from][gem];
+                    break;
+                }
+            }
+            if (segment == UNREACHABLE) {
+                // No other remaining gem leads to this gem, so only the distance bounds apply
+                sumBound = 0;
+                maxSaving = 0;
+                for (var others = remainingGems; others != 0; others &= others - 1) {
+                    final var otherDistance = distances[Long.numberOfTrailingZeros(others)][node];
+                    if (otherDistance == UNREACHABLE) {
+                        return UNREACHABLE;
+                    }
+                    maxBound = Math.max(maxBound, otherDistance);
+                }
+                break;
+            }
+            sumBound += segment;
+            maxSaving = Math.max(maxSaving, segment - distance);
+        }
+        return Math.max(patternBound, Math.max(maxBound, sumBound - maxSaving));
+    }
+
+    /**
+     * The game board or snapshot a graph is built from.
+     */
+    private interface Board {
+
+        int getNumRows();
+
+        int getNumCols();
+
+        byte getCellCode(int index);
+
+        @NotNull
+        Position getPosition(int index);
+
+        /**
+         * @return The index of the cell of the player the graph is built for.
+         */
+        int getStartIndex();
+
+        /**
+         * Evaluates the move of the player from a cell, see {@link GameBoardController#evaluateMove}.
+         */
+        void evaluateMove(int index, @NotNull Direction dir, @NotNull MoveBuffer buffer);
+
+        @NotNull
+        static Board of(@NotNull final GameBoard gameBoard, @NotNull final Player player) {
+            Objects.requireNonNull(gameBoard);
+            Objects.requireNonNull(player);
+
+            final var owner = player.getOwner();
+            if (owner == null || !gameBoard.hasPlayer(player)) {
+                throw new IllegalArgumentException();
+            }
+            final var startIndex = gameBoard.indexOf(owner.getPosition());
+            final var controller = new GameBoardController(gameBoard);
+
+            return new Board() {
+                @Override
+                public int getNumRows() {
+                    return gameBoard.getNumRows();
+                }
+
+                @Override
+                public int getNumCols() {
+                    return gameBoard.getNumCols();
+                }
+
+                @Override
+                public byte getCellCode(final int index) {
+                    return gameBoard.getCellCode(index);
+                }
+
+                @NotNull
+                @Override
+                public Position getPosition(final int index) {
+                    return gameBoard.getPosition(index);
+                }
+
+                @Override
+                public int getStartIndex() {
+                    return startIndex;
+                }
+
+                @Override
+                public void evaluateMove(final int index, @NotNull final Direction dir,
+                                         @NotNull final MoveBuffer buffer) {
+                    controller.evaluateMove(index, dir, player.getId(), buffer);
+                }
+            };
+        }
+
+        @NotNull
+        static Board of(@NotNull final BoardSnapshot snapshot, final int playerID) {
+            Objects.requireNonNull(snapshot);
+
+            final var position = snapshot.getPlayerPosition(playerID);
+            if (position == null) {
+                throw new IllegalArgumentException();
+            }
+            final var startIndex = position.row() * snapshot.getNumCols() + position.col();
+
+            return new Board() {
+                @Override
+                public int getNumRows() {
+                    return snapshot.getNumRows();
+                }
+
+                @Override
+                public int getNumCols() {
+                    return snapshot.getNumCols();
+                }
+
+                @Override
+                public byte getCellCode(final int index) {
+                    return snapshot.getCellCode(index);
+                }
+
+                @NotNull
+                @Override
+                public Position getPosition(final int index) {
+                    return snapshot.getPosition(index);
+                }
+
+                @Override
+                public int getStartIndex() {
+                    return startIndex;
+                }
+
+                @Override
+                public void evaluateMove(final int index, @NotNull final Direction dir,
+                                         @NotNull final MoveBuffer buffer) {
+                    GameBoardController.evaluateMove(snapshot, index, dir, playerID, buffer);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.model.Direction;
+import hk.ust.cse.model.GameState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serial;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exact solver which searches with the worker threads of a {@link ForkJoinPool}.
+ *
+ * <p>
+ * The solver runs a breadth-first iterative-deepening A* search: Each iteration expands the states level by level,
+ * skipping states whose estimated total cost exceeds the bound of the iteration. If no solution is found, the bound is
+ * raised to the smallest estimate which exceeded it, and the search is repeated. Every level is split into chunks
+ * which are expanded in parallel, with idle workers stealing chunks from busy ones. The states reached in an iteration
+ * are kept in a set shared by all workers, so each state is expanded at most once per iteration.
+ * </p>
+ * <p>
+ * Like {@link Solver}, the moves are taken from a {@link MoveGraph}, so solutions follow the rules of
+ * {@link hk.ust.cse.controller.GameBoardController#tryMove}. Solutions have the same length as those of
+ * {@link Solver}, but may consist of different moves if there is more than one shortest solution.
+ * </p>
+ */
+public final class ParallelSolver {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The maximum number of states expanded by a single task.
+     */
+    private static final int CHUNK_SIZE = 1 << 9;
+
+    @NotNull
+    private final MoveGraph graph;
+
+    @NotNull
+    private final ForkJoinPool pool;
+
+    private final LongAdder numExpandedStates = new LongAdder();
+
+    /**
+     * Creates a solver for the player of a game state, starting from the current state of the game board.
+     *
+     * @param gameState The game state to solve.
+     * @param pool      The pool to run the search in.
+     * @throws IllegalArgumentException if the player is not on the game board, or there are too many gems to be
+     *                                  tracked by a {@link MoveGraph}.
+     */
+    public ParallelSolver(@NotNull final GameState gameState, @NotNull final ForkJoinPool pool) {
+        this(new MoveGraph(gameState.getGameBoard(), gameState.getPlayer()), pool);
+    }
+
+    /**
+     * Creates a solver for a prebuilt move graph.
+     *
+     * @param graph The move graph to search.
+     * @param pool  The pool to run the search in.
+     */
+    public ParallelSolver(@NotNull final MoveGraph graph, @NotNull final ForkJoinPool pool) {
+        this.graph = Objects.requireNonNull(graph);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Finds a shortest sequence of moves which collects all gems.
+     *
+     * @return The sequence of moves, or {@code null} if the gems cannot all be collected.
+     */
+    @Nullable
+    public List<Direction> solve() {
+        numExpandedStates.reset();
+        if (graph.getAllGems() == 0) {
+            return List.of();
+        }
+
+        var bound = graph.estimateRemainingMoves(graph.getStartNode(), graph.getAllGems());
+        while (bound != MoveGraph.UNREACHABLE) {
+            final var iteration = new Iteration(bound);
+            final var path = iteration.run();
+            if (path != null) {
+                return path;
+            }
+            bound = iteration.nextBound.get();
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of states expanded by the last call to {@link ParallelSolver#solve()}, summed over all
+     * iterations.
+     */
+    public long getNumExpandedStates() {
+        return numExpandedStates.sum();
+    }
+
+    /**
+     * A single iteration of the search, expanding states up to a bound of the estimated total cost.
+     */
+    private final class Iteration {
+
+        private final int bound;
+
+        /**
+         * The smallest estimated total cost exceeding {@link Iteration#bound}.
+         */
+        private final AtomicInteger nextBound = new AtomicInteger(MoveGraph.UNREACHABLE);
+
+        @NotNull
+        private final ConcurrentStateSet visited = new ConcurrentStateSet(pool.getParallelism());
+
+        @NotNull
+        private final List<Level> levels = new ArrayList<>();
+
+        private volatile boolean solved = false;
+
+        Iteration(final int bound) {
+            this.bound = bound;
+        }
+
+        /**
+         * @return The sequence of moves, or {@code null} if no solution within the bound exists.
+         */
+        @Nullable
+        List<Direction> run() {
+            var level = new Level(1);
+            level.add(graph.getStartNode(), graph.getAllGems(), Level.NO_PARENT, 0);
+            visited.add(graph.getStartNode(), graph.getAllGems());
+            levels.add(level);
+
+            while (level.size != 0) {
+                final var outputs = new ConcurrentLinkedQueue<Level>();
+                pool.invoke(new ExpandTask(level, levels.size(), 0, level.size, outputs));
+                level = Level.concat(outputs);
+                levels.add(level);
+
+                if (solved) {
+                    for (int i = 0; i < level.size; ++i) {
+                        if (level.gems[i] == 0) {
+                            return buildPath(i);
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        @NotNull
+        private List<Direction> buildPath(final int goal) {
+            final var path = new ArrayList<Direction>();
+            var index = goal;
+            for (int depth = levels.size() - 1; depth > 0; --depth) {
+                final var level = levels.get(depth);
+                path.add(DIRECTIONS[level.dirs[index]]);
+                index = level.parents[index];
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        /**
+         * Task expanding a range of states of a level.
+         */
+        private final class ExpandTask extends RecursiveAction {
+
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            @NotNull
+            private final Level level;
+            private final int cost;
+            private final int from;
+            private final int to;
+            @NotNull
+            private final Queue<Level> outputs;
+
+            /**
+             * @param level   The level to expand.
+             * @param cost    The number of moves needed to reach the states of the next level.
+             * @param from    The first state to expand, inclusive.
+             * @param to      The last state to expand, exclusive.
+             * @param outputs The queue to add the successor states to.
+             */
+            ExpandTask(@NotNull final Level level, final int cost, final int from, final int to,
+                       @NotNull final Queue<Level> outputs) {
+                this.level = level;
+                this.cost = cost;
+                this.from = from;
+                this.to = to;
+                this.outputs = outputs;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > CHUNK_SIZE) {
+                    final var mid = (from + to) >>> 1;
+                    invokeAll(new ExpandTask(level, cost, from, mid, outputs),
+                            new ExpandTask(level, cost, mid, to, outputs));
+                    return;
+                }
+
+                final var output = new Level(Math.min(to - from, CHUNK_SIZE) * 2);
+                var minExceeded = MoveGraph.UNREACHABLE;
+                for (int i = from; i < to && !solved; ++i) {
+                    final var node = level.nodes[i];
+                    final var gems = level.gems[i];
+
+                    for (@NotNull final var dir : DIRECTIONS) {
+                        final var successor = graph.getSuccessor(node, dir);
+                        if (successor == MoveGraph.NONE) {
+                            continue;
+                        }
+
+                        final var remaining = gems & ~graph.getCollectedGems(node, dir);
+                        final var estimate = graph.estimateRemainingMoves(successor, remaining);
+                        if (estimate == MoveGraph.UNREACHABLE) {
+                            continue;
+                        }
+                        if (cost + estimate > bound) {
+                            minExceeded = Math.min(minExceeded, cost + estimate);
+                            continue;
+                        }
+
+                        if (visited.add(successor, remaining)) {
+                            output.add(successor, remaining, i, dir.ordinal());
+                            if (remaining == 0) {
+                                solved = true;
+                            }
+                        }
+                    }
+                }
+                numExpandedStates.add(to - from);
+
+                nextBound.accumulateAndGet(minExceeded, Math::min);
+                outputs.add(output);
+            }
+        }
+    }
+
+    /**
+     * The states at the same depth of an iteration, together with the moves reaching them.
+     */
+    private static final class Level {
+
+        /**
+         * Parent value of the starting state.
+         */
+        static final int NO_PARENT = -1;
+
+        int size = 0;
+        int[] nodes;
+        long[] gems;
+        int[] parents;
+        byte[] dirs;
+
+        Level(final int capacity) {
+            this.nodes = new int[capacity];
+            this.gems = new long[capacity];
+            this.parents = new int[capacity];
+            this.dirs = new byte[capacity];
+        }
+
+        void add(final int node, final long gems, final int parent, final int dir) {
+            if (size == nodes.length) {
+                final var capacity = Math.max(1, size * 2);
+                nodes = Arrays.copyOf(nodes, capacity);
+                this.gems = Arrays.copyOf(this.gems, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                dirs = Arrays.copyOf(dirs, capacity);
+            }
+            nodes[size] = node;
+            this.gems[size] = gems;
+            parents[size] = parent;
+            dirs[size] = (byte) dir;
+            ++size;
+        }
+
+        @NotNull
+        static Level concat(@NotNull final Collection<Level> parts) {
+            final var result = new Level(parts.stream().mapToInt(part -> part.size).sum());
+            for (final var part : parts) {
+                System.arraycopy(part.nodes, 0, result.nodes, result.size, part.size);
+                System.arraycopy(part.gems, 0, result.gems, result.size, part.size);
+                System.arraycopy(part.parents, 0, result.parents, result.size, part.size);
+                System.arraycopy(part.dirs, 0, result.dirs, result.size, part.size);
+                result.size += part.size;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.model.Direction;
+import hk.ust.cse.model.GameState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Exact solver finding the minimum number of moves to collect all gems on a game board.
+ *
+ * <p>
+ * The solver runs an A* search over states consisting of the position of the player and the set of gems which have not
+ * been collected, using {@link MoveGraph#estimateRemainingMoves} as the heuristic. The heuristic never overestimates,
+ * so the first solution found is optimal. States are expanded again if a shorter path to them is found later.
+ * </p>
+ * <p>
+ * The number of lives is not part of the state: Moves which kill the player never lead to a shorter solution, so they
+ * are never taken (see {@link MoveGraph}), and the player never loses a life along a solution.
+ * </p>
+ */
+public final class Solver {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Parent value of the starting state.
+     */
+    private static final int NO_PARENT = -1;
+
+    @NotNull
+    private final MoveGraph graph;
+
+    private int numExpandedStates = 0;
+
+    /**
+     * Creates a solver for the player of a game state, starting from the current state of the game board.
+     *
+     * @param gameState The game state to solve.
+     * @throws IllegalArgumentException if the player is not on the game board, or there are too many gems to be
+     *                                  tracked by a {@link MoveGraph}.
+     */
+    public Solver(@NotNull final GameState gameState) {
+        this(new MoveGraph(gameState.getGameBoard(), gameState.getPlayer()));
+    }
+
+    /**
+     * Creates a solver for a prebuilt move graph.
+     *
+     * @param graph The move graph to search.
+     */
+    public Solver(@NotNull final MoveGraph graph) {
+        this.graph = Objects.requireNonNull(graph);
+    }
+
+    /**
+     * Finds a shortest sequence of moves which collects all gems.
+     *
+     * @return The sequence of moves, or {@code null} if the gems cannot all be collected.
+     */
+    @Nullable
+    public List<Direction> solve() {
+        numExpandedStates = 0;
+
+        final var states = new StateTable();
+        var costs = new int[1 << 9];
+        var parents = new int[1 << 9];
+        var parentDirs = new byte[1 << 9];
+        final var expanded = new BitSet();
+        final var open = new BucketQueue();
+
+        final var start = states.getOrAdd(graph.getStartNode(), graph.getAllGems());
+        final var startEstimate = graph.estimateRemainingMoves(graph.getStartNode(), graph.getAllGems());
+        if (startEstimate == MoveGraph.UNREACHABLE) {
+            return null;
+        }
+        costs[start] = 0;
+        parents[start] = NO_PARENT;
+        open.push(startEstimate, start);
+
+        while (!open.isEmpty()) {
+            final var id = open.pop();
+            if (expanded.get(id)) {
+                continue;
+            }
+            expanded.set(id);
+            ++numExpandedStates;
+
+            final var node = states.getNode(id);
+            final var gems = states.getGems(id);
+            if (gems == 0) {
+                return buildPath(id, parents, parentDirs);
+            }
+
+            final var cost = costs[id] + 1;
+            for (@NotNull final var dir : DIRECTIONS) {
+                final var successor = graph.getSuccessor(node, dir);
+                if (successor == MoveGraph.NONE) {
+                    continue;
+                }
+
+                final var remaining = gems & ~graph.getCollectedGems(node, dir);
+                final var estimate = graph.estimateRemainingMoves(successor, remaining);
+                if (estimate == MoveGraph.UNREACHABLE) {
+                    continue;
+                }
+
+                final var numStates = states.size();
+                final var next = states.getOrAdd(successor, remaining);
+                if (next == numStates) {
+                    if (next == costs.length) {
+                        costs = Arrays.copyOf(costs, next * 2);
+                        parents = Arrays.copyOf(parents, next * 2);
+                        parentDirs = Arrays.copyOf(parentDirs, next * 2);
+                    }
+                } else if (costs[next] <= cost) {
+                    continue;
+                }
+
+                costs[next] = cost;
+                expanded.clear(next);
+                parents[next] = id;
+                parentDirs[next] = (byte) dir.ordinal();
+                open.push(cost + estimate, next);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The number of states expanded by the last call to {@link Solver#solve()}.
+     */
+    public int getNumExpandedStates() {
+        return numExpandedStates;
+    }
+
+    @NotNull
+    private static List<Direction> buildPath(final int goal, final int[] parents, final byte[] parentDirs) {
+        final var path = new ArrayList<Direction>();
+        for (int id = goal; parents[id] != NO_PARENT; id = parents[id]) {
+            path.add(DIRECTIONS[parentDirs[id]]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Priority queue of state ids with small non-negative integer priorities.
+     *
+     * <p>
+     * Ids with the same priority are popped in last-in-first-out order, which favours deeper states among states with
+     * the same estimated total cost.
+     * </p>
+     */
+    private static final class BucketQueue {
+
+        private int[][] buckets = new int[16][];
+        private int[] bucketSizes = new int[16];
+        private int minPriority = 0;
+        private int size = 0;
+
+        void push(final int priority, final int id) {
+            if (priority >= buckets.length) {
+                final var newLength = Math.max(priority + 1, buckets.length * 2);
+                buckets = Arrays.copyOf(buckets, newLength);
+                bucketSizes = Arrays.copyOf(bucketSizes, newLength);
+            }
+            if (buckets[priority] == null) {
+                buckets[priority] = new int[16];
+            } else if (bucketSizes[priority] == buckets[priority].length) {
+                buckets[priority] = Arrays.copyOf(buckets[priority], bucketSizes[priority] * 2);
+            }
+
+            buckets[priority][bucketSizes[priority]++] = id;
+            minPriority = Math.min(minPriority, priority);
+            ++size;
+        }
+
+        int pop() {
+            while (bucketSizes[minPriority] == 0) {
+                ++minPriority;
+            }
+            --size;
+            return buckets[minPriority][--bucketSizes[minPriority]];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package hk.ust.cse.solver;
+
+import java.util.Arrays;
+
+/**
+ * Hash table assigning a dense id to each search state, i.e. a pair of a {@link MoveGraph} node and a bitmask of
+ * remaining gems.
+ *
+ * <p>
+ * The table uses open addressing over primitive arrays, so that millions of states can be stored without allocating
+ * an object per state. Ids are assigned in insertion order starting from zero.
+ * </p>
+ * <p>
+ * Any pair of an {@code int} and a {@code long} can be used as a key, e.g. {@link LookaheadSearch} also keys the
+ * depths searched from a state by the id of the state and the depth.
+ * </p>
+ */
+final class StateTable {
+
+    private static final float MAX_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Slots of the hash table, storing the id of the state in each slot plus one, so that {@code 0} marks an empty
+     * slot.
+     */
+    private int[] slots = new int[1 << 10];
+
+    private int[] nodes = new int[1 << 9];
+    private long[] gems = new long[1 << 9];
+
+    private int size = 0;
+
+    /**
+     * Finds the id of a state, adding it to the table if it is not present.
+     *
+     * @param node The node of the state.
+     * @param gems The bitmask of remaining gems of the state.
+     * @return The id of the state. If the id is equal to {@link StateTable#size()} - 1 after this call, the state has
+     * just been added.
+     */
+    int getOrAdd(final int node, final long gems) {
+        if (size + 1 > slots.length * MAX_LOAD_FACTOR) {
+            rehash();
+        }
+
+        final var mask = slots.length - 1;
+        for (int slot = hash(node, gems) & mask; ; slot = (slot + 1) & mask) {
+            final var id = slots[slot];
+            if (id == 0) {
+                if (size == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, size * 2);
+                    this.gems = Arrays.copyOf(this.gems, size * 2);
+                }
+                nodes[size] = node;
+                this.gems[size] = gems;
+                slots[slot] = ++size;
+                return size - 1;
+            }
+            if (nodes[id - 1] == node && this.gems[id - 1] == gems) {
+                return id - 1;
+            }
+        }
+    }
+
+    /**
+     * Finds the id of a state without adding it to the table.
+     *
+     * @param node The node of the state.
+     * @param gems The bitmask of remaining gems of the state.
+     * @return The id of the state, or {@code -1} if the state is not in the table.
+     */
+    int get(final int node, final long gems) {
+        final var mask = slots.length - 1;
+        for (int slot = hash(node, gems) & mask; ; slot = (slot + 1) & mask) {
+            final var id = slots[slot];
+            if (id == 0) {
+                return -1;
+            }
+            if (nodes[id - 1] == node && this.gems[id - 1] == gems) {
+                return id - 1;
+            }
+        }
+    }
+
+    /**
+     * @return The number of states in the table.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param id The id of a state.
+     * @return The node of the state.
+     */
+    int getNode(final int id) {
+        return nodes[id];
+    }
+
+    /**
+     * @param id The id of a state.
+     * @return The bitmask of remaining gems of the state.
+     */
+    long getGems(final int id) {
+        return gems[id];
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        final var mask = slots.length - 1;
+        for (int id = 0; id < size; ++id) {
+            var slot = hash(nodes[id], gems[id]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    static int hash(final int node, final long gems) {
+        var h = gems * 0x9E3779B97F4A7C15L + node;
+        h ^= h >>> 32;
+        h *= 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 29));
+    }
+}
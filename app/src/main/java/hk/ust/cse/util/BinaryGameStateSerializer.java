@@ -0,0 +1,278 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.model.CellCode;
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.GameState;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Serializer for converting between a compact binary file and a {@link GameState}.
+ *
+ * <p>
+ * A binary game file consists of a header followed by the {@link CellCode} of every cell in row-major order, packed
+ * two cells per byte with the first cell in the high nibble. All numbers are big-endian.
+ * </p>
+ * <table>
+ *     <caption>Header</caption>
+ *     <tr><th>Offset</th><th>Size</th><th>Content</th></tr>
+ *     <tr><td>0</td><td>4</td><td>{@link BinaryGameStateSerializer#MAGIC}</td></tr>
+ *     <tr><td>4</td><td>2</td><td>Format version, {@link BinaryGameStateSerializer#VERSION}</td></tr>
+ *     <tr><td>6</td><td>2</td><td>Reserved, always 0</td></tr>
+ *     <tr><td>8</td><td>4</td><td>Number of rows</td></tr>
+ *     <tr><td>12</td><td>4</td><td>Number of columns</td></tr>
+ *     <tr><td>16</td><td>4</td><td>Number of lives, or -1 for unlimited lives</td></tr>
+ *     <tr><td>20</td><td>4</td><td>Number of gems</td></tr>
+ *     <tr><td>24</td><td>4</td><td>CRC-32 of the preceding header fields and the cell data</td></tr>
+ * </table>
+ * <p>
+ * Binary game files are loaded by memory-mapping them, and the cells are decoded straight into a game board using
+ * packed storage, so that no object is created for any cell which is not a player.
+ * </p>
+ *
+ * @see GameStateSerializer
+ */
+public final class BinaryGameStateSerializer {
+
+    /**
+     * The first four bytes of every binary game file, i.e. {@code "INRB"} in ASCII.
+     */
+    public static final int MAGIC = 0x494E5242;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 28;
+
+    /**
+     * The offset of the number of lives in the header.
+     */
+    private static final int LIVES_OFFSET = 16;
+
+    /**
+     * The offset of the checksum in the header.
+     */
+    private static final int CHECKSUM_OFFSET = 24;
+
+    private BinaryGameStateSerializer() {
+    }
+
+    /**
+     * Serializes the specified {@link GameState} object to the output file in the binary format.
+     *
+     * @param gameState  The game state instance to write to the file.
+     * @param outputFile The file to write to.
+     * @return {@code outputFile}.
+     * @throws FileAlreadyExistsException if a file or directory already exists with the same path as
+     *                                    {@code outputFile}.
+     */
+    @NotNull
+    public static Path writeTo(@NotNull final GameState gameState, @NotNull final Path outputFile)
+            throws FileAlreadyExistsException {
+        Objects.requireNonNull(gameState);
+        Objects.requireNonNull(outputFile);
+
+        if (Files.exists(outputFile)) {
+            throw new FileAlreadyExistsException(outputFile.toString());
+        }
+
+        final var buffer = encode(gameState);
+        try (var channel = FileChannel.open(outputFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        return outputFile;
+    }
+
+    /**
+     * Loads a binary game file and deserializes it into an array of {@link GameState} instances, one for each player.
+     *
+     * @param inputFile The input file to read from.
+     * @return An array of instances of {@link GameState} created from deserializing {@code inputFile}.
+     * @throws FileNotFoundException    if {@code inputFile} does not exist.
+     * @throws IllegalArgumentException if {@code inputFile} is not a valid binary game file, or the game board is
+     *                                  invalid as specified by {@link GameBoard}.
+     */
+    @NotNull
+    public static GameState[] loadFrom(@NotNull final Path inputFile) throws FileNotFoundException {
+        Objects.requireNonNull(inputFile);
+
+        if (!Files.isRegularFile(inputFile)) {
+            throw new FileNotFoundException(inputFile.toString());
+        }
+
+        try (var channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Converts a game file in the text format to the binary format.
+     *
+     * @param textFile   The game file in the text format.
+     * @param binaryFile The file to write the binary game file to.
+     * @return {@code binaryFile}.
+     * @throws FileNotFoundException      if {@code textFile} does not exist.
+     * @throws FileAlreadyExistsException if a file or directory already exists with the same path as
+     *                                    {@code binaryFile}.
+     */
+    @NotNull
+    public static Path convertFromText(@NotNull final Path textFile, @NotNull final Path binaryFile)
+            throws FileNotFoundException, FileAlreadyExistsException {
+        return writeTo(GameStateSerializer.loadFrom(textFile)[0], binaryFile);
+    }
+
+    /**
+     * Converts a game file in the binary format to the text format.
+     *
+     * @param binaryFile The game file in the binary format.
+     * @param textFile   The file to write the text game file to.
+     * @return {@code textFile}.
+     * @throws FileNotFoundException      if {@code binaryFile} does not exist.
+     * @throws FileAlreadyExistsException if a file or directory already exists with the same path as
+     *                                    {@code textFile}.
+     */
+    @NotNull
+    public static Path convertToText(@NotNull final Path binaryFile, @NotNull final Path textFile)
+            throws FileNotFoundException, FileAlreadyExistsException {
+        return GameStateSerializer.writeTo(loadFrom(binaryFile)[0], textFile);
+    }
+
+    /**
+     * Encodes a {@link GameState} into the binary format.
+     *
+     * @param gameState The game state to encode.
+     * @return A buffer containing the whole binary game file, positioned at its start.
+     */
+    @NotNull
+    static ByteBuffer encode(@NotNull final GameState gameState) {
+        Objects.requireNonNull(gameState);
+
+        final var gameBoard = gameState.getGameBoard();
+        final var codes = gameBoard.getCellCodes();
+        final var buffer = ByteBuffer.allocate(HEADER_SIZE + getDataSize(codes.length));
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putInt(gameBoard.getNumRows());
+        buffer.putInt(gameBoard.getNumCols());
+        buffer.putInt(gameState.hasUnlimitedLives() ? -1 : gameState.getNumLives());
+        buffer.putInt(gameBoard.getNumGems());
+        buffer.putInt(0);
+        for (int i = 0; i < codes.length; i += 2) {
+            final var low = i + 1 < codes.length ? codes[i + 1] : CellCode.EMPTY;
+            buffer.put((byte) (codes[i] << 4 | low));
+        }
+
+        buffer.putInt(CHECKSUM_OFFSET, computeChecksum(buffer));
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes a binary game file.
+     *
+     * @param buffer The buffer containing the binary game file, from its position to its limit. The position of
+     *               the buffer is not changed.
+     * @return An array of instances of {@link GameState} created from decoding {@code buffer}.
+     * @throws IllegalArgumentException if {@code buffer} is not a valid binary game file, or the game board is
+     *                                  invalid as specified by {@link GameBoard}.
+     */
+    @NotNull
+    static GameState[] decode(@NotNull final ByteBuffer buffer) {
+        return GameStateSerializer.createGameStates(decodeGameBoard(buffer), buffer.getInt(buffer.position() + LIVES_OFFSET));
+    }
+
+    /**
+     * Decodes the game board of a binary game file.
+     *
+     * @param buffer The buffer containing the binary game file, from its position to its limit. The position of
+     *               the buffer is not changed.
+     * @return The game board of the binary game file, which uses packed storage.
+     * @throws IllegalArgumentException if {@code buffer} is not a valid binary game file, or the game board is
+     *                                  invalid as specified by {@link GameBoard}.
+     */
+    @NotNull
+    static GameBoard decodeGameBoard(@NotNull final ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+
+        final var file = buffer.slice();
+        if (file.limit() < HEADER_SIZE || file.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a binary game file");
+        }
+        if (file.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary game file version: " + file.getShort(4));
+        }
+
+        final var numRows = file.getInt(8);
+        final var numCols = file.getInt(12);
+        final var numGems = file.getInt(20);
+        if (numRows <= 0 || numCols <= 0 || (long) numRows * numCols > Integer.MAX_VALUE - HEADER_SIZE * 2) {
+            throw new IllegalArgumentException("Invalid dimensions: " + numRows + "x" + numCols);
+        }
+        final var numCells = numRows * numCols;
+        if (file.limit() != HEADER_SIZE + getDataSize(numCells)) {
+            throw new IllegalArgumentException("Truncated binary game file");
+        }
+        if (file.getInt(CHECKSUM_OFFSET) != computeChecksum(file)) {
+            throw new IllegalArgumentException("Checksum mismatch");
+        }
+
+        final var codes = new byte[numCells];
+        for (int i = 0; i < numCells; i += 2) {
+            final var packed = file.get(HEADER_SIZE + i / 2);
+            codes[i] = (byte) (packed >> 4 & 0xF);
+            if (i + 1 < numCells) {
+                codes[i + 1] = (byte) (packed & 0xF);
+            }
+        }
+
+        final var gameBoard = new GameBoard(numRows, numCols, codes);
+        if (gameBoard.getNumGems() != numGems) {
+            throw new IllegalArgumentException("Number of gems does not match the header");
+        }
+        return gameBoard;
+    }
+
+    /**
+     * @param numCells The number of cells on a game board.
+     * @return The number of bytes needed to store the cells of the game board.
+     */
+    private static int getDataSize(final int numCells) {
+        return (numCells + 1) / 2;
+    }
+
+    /**
+     * Computes the checksum of a binary game file, which covers everything except the checksum itself.
+     *
+     * @param file The buffer containing the whole binary game file from index 0 to its limit. The position of the
+     *             buffer is ignored and not changed.
+     * @return The CRC-32 of the file, excluding the checksum.
+     */
+    private static int computeChecksum(@NotNull final ByteBuffer file) {
+        final var crc = new CRC32();
+        crc.update(file.slice(0, CHECKSUM_OFFSET));
+        crc.update(file.slice(HEADER_SIZE, file.limit() - HEADER_SIZE));
+        return (int) crc.getValue();
+    }
+}
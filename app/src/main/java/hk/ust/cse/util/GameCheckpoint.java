@@ -0,0 +1,480 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.controller.MoveListener;
+import hk.ust.cse.model.Direction;
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.GameState;
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Player;
+import hk.ust.cse.model.Position;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An append-only checkpoint file capturing the complete state of a game controlled by a {@link GameController},
+ * including the statistics and the move history of all players.
+ *
+ * <p>
+ * A checkpoint file starts with a snapshot of the game board and of the {@link GameState} of every player, followed
+ * by one record for every move and undo processed afterwards. Records are appended as the actions are processed, so
+ * checkpointing a move only costs time proportional to the number of cells changed by the move, regardless of the size
+ * of the game board. All numbers are big-endian, and positions are stored as {@code row * numCols + col}.
+ * </p>
+ * <ul>
+ *     <li>The header holds {@link GameCheckpoint#MAGIC} (4 bytes), the format version (2 bytes) and 2 reserved
+ *     bytes.</li>
+ *     <li>The snapshot holds the length of the game board (4 bytes), the game board as a binary game file written by
+ *     {@link BinaryGameStateSerializer}, and the number of players (4 bytes). For each player, it holds the position
+ *     of the player, the number of lives or -1 for unlimited lives, the number of moves, deaths, collected gems and
+ *     undos, and the number of undoable moves (4 bytes each), followed by the undoable moves.</li>
+ *     <li>Each record holds a tag (1 byte), the index of the player in the snapshot (1 byte), and the content of the
+ *     move, if any.</li>
+ * </ul>
+ * <p>
+ * A record which is only partially written, e.g. because the program was terminated while writing it, is discarded
+ * when the checkpoint is resumed.
+ * </p>
+ */
+public final class GameCheckpoint implements MoveListener, Closeable {
+
+    /**
+     * The first four bytes of every checkpoint file, i.e. {@code "INRC"} in ASCII.
+     */
+    public static final int MAGIC = 0x494E5243;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte TAG_ALIVE = 1;
+    private static final byte TAG_DEAD = 2;
+    private static final byte TAG_KICKED_OUT = 3;
+    private static final byte TAG_UNDO = 4;
+
+    @NotNull
+    private final FileChannel channel;
+
+    @NotNull
+    private final GameController controller;
+
+    /**
+     * The index of each player in the snapshot, by {@link Player#getId()}.
+     */
+    @NotNull
+    private final Map<Integer, Integer> playerIndices;
+
+    private final int numCols;
+
+    /**
+     * The buffer for encoding records, which is reused for every record. Guarded by the lock of the game board.
+     */
+    @NotNull
+    private ByteBuffer recordBuffer = ByteBuffer.allocate(64);
+
+    private GameCheckpoint(@NotNull final FileChannel channel, @NotNull final GameController controller,
+                           @NotNull final List<Player> players) {
+        this.channel = channel;
+        this.controller = controller;
+        this.numCols = controller.getGameBoard().getNumCols();
+        this.playerIndices = new HashMap<>();
+        for (int i = 0; i < players.size(); ++i) {
+            playerIndices.put(players.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * Creates a checkpoint file with a snapshot of the current state of a game, and records all moves and undos
+     * processed by {@code controller} afterwards until the checkpoint is closed.
+     *
+     * @param checkpointFile The checkpoint file to create.
+     * @param controller     The controller of the game.
+     * @return The checkpoint, which must be closed by the caller.
+     * @throws FileAlreadyExistsException if a file or directory already exists with the same path as
+     *                                    {@code checkpointFile}.
+     * @throws IllegalStateException      if any player has been kicked out of the game board.
+     */
+    @NotNull
+    public static GameCheckpoint create(@NotNull final Path checkpointFile, @NotNull final GameController controller)
+            throws FileAlreadyExistsException {
+        Objects.requireNonNull(checkpointFile);
+        Objects.requireNonNull(controller);
+
+        if (Files.exists(checkpointFile)) {
+            throw new FileAlreadyExistsException(checkpointFile.toString());
+        }
+
+        // The snapshot is taken and the listener added atomically, so that no move is missed in between
+        synchronized (controller.getGameBoard()) {
+            final var gameStates = controller.getGameStates();
+            final var snapshot = encodeSnapshot(controller.getGameBoard(), gameStates);
+
+            try {
+                final var channel = FileChannel.open(checkpointFile,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                final var players = new ArrayList<Player>();
+                for (final var gameState : gameStates) {
+                    players.add(gameState.getPlayer());
+                }
+                final var checkpoint = new GameCheckpoint(channel, controller, players);
+                checkpoint.write(snapshot);
+                controller.addMoveListener(checkpoint);
+                return checkpoint;
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Restores the game captured by a checkpoint file, and continues recording the moves and undos of the restored
+     * game into the same file.
+     *
+     * @param checkpointFile The checkpoint file.
+     * @return The checkpoint, which must be closed by the caller. The restored game is available from
+     * {@link GameCheckpoint#getGameController()}.
+     * @throws FileNotFoundException    if {@code checkpointFile} does not exist.
+     * @throws IllegalArgumentException if {@code checkpointFile} is not a valid checkpoint file.
+     */
+    @NotNull
+    public static GameCheckpoint resume(@NotNull final Path checkpointFile) throws FileNotFoundException {
+        Objects.requireNonNull(checkpointFile);
+
+        if (!Files.isRegularFile(checkpointFile)) {
+            throw new FileNotFoundException(checkpointFile.toString());
+        }
+
+        try {
+            final var channel = FileChannel.open(checkpointFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                final var file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                final var players = new ArrayList<Player>();
+                final var controller = decode(file, players);
+
+                // Discard a partially written record, then append after the last complete one
+                channel.truncate(file.position());
+                channel.position(file.position());
+
+                final var checkpoint = new GameCheckpoint(channel, controller, players);
+                controller.addMoveListener(checkpoint);
+                return checkpoint;
+            } catch (final RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Restores the game captured by a checkpoint file, without recording the moves of the restored game.
+     *
+     * @param checkpointFile The checkpoint file.
+     * @return The controller of the restored game.
+     * @throws FileNotFoundException    if {@code checkpointFile} does not exist.
+     * @throws IllegalArgumentException if {@code checkpointFile} is not a valid checkpoint file.
+     */
+    @NotNull
+    public static GameController restore(@NotNull final Path checkpointFile) throws FileNotFoundException {
+        Objects.requireNonNull(checkpointFile);
+
+        if (!Files.isRegularFile(checkpointFile)) {
+            throw new FileNotFoundException(checkpointFile.toString());
+        }
+
+        try (var channel = FileChannel.open(checkpointFile, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), new ArrayList<>());
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return The controller of the game recorded by this checkpoint.
+     */
+    @NotNull
+    public GameController getGameController() {
+        return controller;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMove(final int playerID, @NotNull final Direction direction, @NotNull final MoveResult result) {
+        final var playerIndex = playerIndices.get(playerID).byteValue();
+        if (result instanceof MoveResult.Valid.Alive alive) {
+            final var buffer = recordBuffer(2 + getAliveSize(alive));
+            buffer.put(TAG_ALIVE).put(playerIndex);
+            putAlive(buffer, alive);
+        } else if (result instanceof MoveResult.Valid.Dead dead) {
+            final var buffer = recordBuffer(10);
+            buffer.put(TAG_DEAD).put(playerIndex);
+            putPosition(buffer, Objects.requireNonNull(dead.newPosition));
+            putPosition(buffer, dead.minePosition);
+        } else if (result instanceof MoveResult.Valid.KickedOut kickedOut) {
+            final var buffer = recordBuffer(6);
+            buffer.put(TAG_KICKED_OUT).put(playerIndex);
+            putPosition(buffer, kickedOut.origPosition);
+        } else {
+            // Invalid moves do not change the game
+            return;
+        }
+        writeRecord();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUndo(final int playerID, @NotNull final MoveResult.Valid.Alive undone) {
+        recordBuffer(2).put(TAG_UNDO).put(playerIndices.get(playerID).byteValue());
+        writeRecord();
+    }
+
+    /**
+     * Stops recording and closes the checkpoint file.
+     *
+     * @throws IOException If an I/O error occurred while closing the checkpoint file.
+     */
+    @Override
+    public void close() throws IOException {
+        controller.removeMoveListener(this);
+        channel.close();
+    }
+
+    /**
+     * Encodes the header and the snapshot of a game.
+     *
+     * @param gameBoard  The game board shared by all players.
+     * @param gameStates The game states of all players.
+     * @return A buffer containing the header and the snapshot, positioned at its start.
+     * @throws IllegalStateException if any player has been kicked out of the game board.
+     */
+    @NotNull
+    private static ByteBuffer encodeSnapshot(@NotNull final GameBoard gameBoard,
+                                             @NotNull final GameState[] gameStates) {
+        final var board = BinaryGameStateSerializer.encode(gameStates[0]);
+        var size = HEADER_SIZE + 4 + board.remaining() + 4;
+        for (final var gameState : gameStates) {
+            size += 7 * 4;
+            for (final var move : gameState.getUndoableMoves()) {
+                size += getAliveSize((MoveResult.Valid.Alive) move);
+            }
+        }
+
+        final var buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putInt(board.remaining());
+        buffer.put(board);
+        buffer.putInt(gameStates.length);
+        for (final var gameState : gameStates) {
+            final var owner = gameState.getPlayer().getOwner();
+            if (owner == null) {
+                throw new IllegalStateException("Player " + gameState.getPlayer().getId() + " has been kicked out");
+            }
+            final var undoableMoves = gameState.getUndoableMoves();
+
+            buffer.putInt(owner.getPosition().row() * gameBoard.getNumCols() + owner.getPosition().col());
+            buffer.putInt(gameState.hasUnlimitedLives() ? -1 : gameState.getNumLives());
+            buffer.putInt(gameState.getNumMoves());
+            buffer.putInt(gameState.getNumDeaths());
+            buffer.putInt(gameState.getNumGotGems());
+            buffer.putInt(gameState.getMoveStack().getPopCount());
+            buffer.putInt(undoableMoves.size());
+            for (final var move : undoableMoves) {
+                putAlive(buffer, gameBoard.getNumCols(), (MoveResult.Valid.Alive) move);
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes a checkpoint file.
+     *
+     * @param file    The buffer containing the checkpoint file. Its position is moved to the end of the last
+     *                complete record.
+     * @param players The list to add the players to, in the order of the snapshot.
+     * @return The controller of the restored game.
+     * @throws IllegalArgumentException if {@code file} is not a valid checkpoint file.
+     */
+    @NotNull
+    private static GameController decode(@NotNull final ByteBuffer file, @NotNull final List<Player> players) {
+        final GameController controller;
+        final int numCols;
+        try {
+            if (file.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a checkpoint file");
+            }
+            if (file.getShort() != VERSION) {
+                throw new IllegalArgumentException("Unsupported checkpoint file version");
+            }
+            file.getShort();
+
+            final var boardSize = file.getInt();
+            final var gameBoard = BinaryGameStateSerializer.decodeGameBoard(file.slice(file.position(), boardSize));
+            file.position(file.position() + boardSize);
+            numCols = gameBoard.getNumCols();
+
+            final var numPlayers = file.getInt();
+            final var gameStates = new GameState[numPlayers];
+            for (int i = 0; i < numPlayers; ++i) {
+                final var position = getPosition(file, numCols);
+                if (!(gameBoard.getEntityCell(position).getEntity() instanceof Player player)) {
+                    throw new IllegalArgumentException("No player at " + position);
+                }
+                gameStates[i] = new GameState(gameBoard, player, file.getInt());
+
+                final var numMoves = file.getInt();
+                final var numDeaths = file.getInt();
+                final var numGotGems = file.getInt();
+                final var numUndos = file.getInt();
+                final var undoableMoves = new ArrayList<MoveResult>();
+                for (int j = file.getInt(); j > 0; --j) {
+                    undoableMoves.add(getAlive(file, numCols));
+                }
+                gameStates[i].restoreStatistics(numMoves, numDeaths, numGotGems, undoableMoves, numUndos);
+                players.add(player);
+            }
+            controller = new GameController(gameStates);
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated checkpoint file", e);
+        }
+
+        while (file.hasRemaining()) {
+            final var recordStart = file.position();
+            try {
+                final var tag = file.get();
+                final var playerID = players.get(file.get()).getId();
+                switch (tag) {
+                    case TAG_ALIVE -> controller.restoreMove(getAlive(file, numCols), playerID);
+                    case TAG_DEAD -> controller.restoreMove(
+                            new MoveResult.Valid.Dead(getPosition(file, numCols), getPosition(file, numCols)),
+                            playerID);
+                    case TAG_KICKED_OUT -> controller.restoreMove(
+                            new MoveResult.Valid.KickedOut(getPosition(file, numCols)), playerID);
+                    case TAG_UNDO -> controller.processUndo();
+                    default -> throw new IllegalArgumentException("Unknown record tag: " + tag);
+                }
+            } catch (final BufferUnderflowException e) {
+                // The last record was not completely written
+                file.position(recordStart);
+                break;
+            }
+        }
+        return controller;
+    }
+
+    /**
+     * Gets the buffer for encoding a record, which has room for at least {@code size} bytes.
+     *
+     * @param size The size of the record in bytes.
+     * @return The buffer, which is cleared.
+     */
+    @NotNull
+    private ByteBuffer recordBuffer(final int size) {
+        if (recordBuffer.capacity() < size) {
+            recordBuffer = ByteBuffer.allocate(Math.max(size, recordBuffer.capacity() * 2));
+        }
+        return recordBuffer.clear();
+    }
+
+    /**
+     * Appends the record encoded in {@link GameCheckpoint#recordBuffer} to the checkpoint file.
+     */
+    private void writeRecord() {
+        write(recordBuffer.flip());
+    }
+
+    /**
+     * Appends all remaining bytes of a buffer to the checkpoint file.
+     *
+     * @param buffer The buffer to write.
+     */
+    private void write(@NotNull final ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @param alive The result of a move.
+     * @return The number of bytes needed to encode the move.
+     */
+    private static int getAliveSize(@NotNull final MoveResult.Valid.Alive alive) {
+        return (4 + alive.collectedGems.size() + alive.collectedExtraLives.size()) * 4;
+    }
+
+    private void putAlive(@NotNull final ByteBuffer buffer, @NotNull final MoveResult.Valid.Alive alive) {
+        putAlive(buffer, numCols, alive);
+    }
+
+    private static void putAlive(@NotNull final ByteBuffer buffer, final int numCols,
+                                 @NotNull final MoveResult.Valid.Alive alive) {
+        putPosition(buffer, numCols, Objects.requireNonNull(alive.newPosition));
+        putPosition(buffer, numCols, alive.origPosition);
+        buffer.putInt(alive.collectedGems.size());
+        for (final var position : alive.collectedGems) {
+            putPosition(buffer, numCols, position);
+        }
+        buffer.putInt(alive.collectedExtraLives.size());
+        for (final var position : alive.collectedExtraLives) {
+            putPosition(buffer, numCols, position);
+        }
+    }
+
+    @NotNull
+    private static MoveResult.Valid.Alive getAlive(@NotNull final ByteBuffer buffer, final int numCols) {
+        final var newPosition = getPosition(buffer, numCols);
+        final var origPosition = getPosition(buffer, numCols);
+        final var collectedGems = new ArrayList<Position>();
+        for (int i = buffer.getInt(); i > 0; --i) {
+            collectedGems.add(getPosition(buffer, numCols));
+        }
+        final var collectedExtraLives = new ArrayList<Position>();
+        for (int i = buffer.getInt(); i > 0; --i) {
+            collectedExtraLives.add(getPosition(buffer, numCols));
+        }
+        return new MoveResult.Valid.Alive(newPosition, origPosition, collectedGems, collectedExtraLives);
+    }
+
+    private void putPosition(@NotNull final ByteBuffer buffer, @NotNull final Position position) {
+        putPosition(buffer, numCols, position);
+    }
+
+    private static void putPosition(@NotNull final ByteBuffer buffer, final int numCols,
+                                    @NotNull final Position position) {
+        buffer.putInt(position.row() * numCols + position.col());
+    }
+
+    @NotNull
+    private static Position getPosition(@NotNull final ByteBuffer buffer, final int numCols) {
+        final var index = buffer.getInt();
+        return new Position(index / numCols, index % numCols);
+    }
+}
@@ -0,0 +1,329 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.model.GameState;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An archive holding many game boards in a single file, each of which can be loaded without reading the others.
+ *
+ * <p>
+ * A pack file consists of the entries, each of which is a complete binary game file as written by
+ * {@link BinaryGameStateSerializer}, followed by an index and a trailer. All numbers are big-endian.
+ * </p>
+ * <ul>
+ *     <li>Each index record holds the length of the name in bytes (2 bytes), the name in UTF-8, the number of rows,
+ *     columns and gems (4 bytes each), the offset of the entry (8 bytes), and the length of the entry (4 bytes).</li>
+ *     <li>The trailer holds the offset of the index (8 bytes), the number of entries (4 bytes), the format version
+ *     (2 bytes), 2 reserved bytes, and {@link GamePack#MAGIC} (4 bytes).</li>
+ * </ul>
+ * <p>
+ * Opening a pack only reads the trailer and the index. Loading an entry looks it up by name and memory-maps only the
+ * bytes of that entry, so the cost of loading a game board does not depend on the number of entries in the pack.
+ * </p>
+ * <p>
+ * Entries of a pack can also be loaded with {@link GameStateSerializer#loadFrom(Path)}, by treating the pack file as
+ * a directory containing the entries, e.g. {@code puzzles.gamepack/01-simple}.
+ * </p>
+ */
+public final class GamePack implements Closeable {
+
+    /**
+     * The last four bytes of every pack file, i.e. {@code "INRP"} in ASCII.
+     */
+    public static final int MAGIC = 0x494E5250;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * The file extension of pack files.
+     */
+    public static final String FILE_EXTENSION = ".gamepack";
+
+    /**
+     * The file extension of game files in the text format, which is removed from the names of entries.
+     */
+    private static final String GAME_FILE_EXTENSION = ".game";
+
+    private static final int TRAILER_SIZE = 20;
+
+    /**
+     * The metadata of an entry in a pack.
+     *
+     * @param name    The name of the entry, which is unique within the pack.
+     * @param numRows The number of rows of the game board.
+     * @param numCols The number of columns of the game board.
+     * @param numGems The number of gems on the game board.
+     * @param offset  The offset of the entry in the pack file.
+     * @param length  The length of the entry in bytes.
+     */
+    public record Entry(@NotNull String name, int numRows, int numCols, int numGems, long offset, int length) {
+    }
+
+    private final FileChannel channel;
+
+    /**
+     * All entries of this pack by their names, in the order they are stored.
+     */
+    private final Map<String, Entry> entries;
+
+    private GamePack(@NotNull final FileChannel channel, @NotNull final Map<String, Entry> entries) {
+        this.channel = channel;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens a pack file, reading its index.
+     *
+     * @param packFile The pack file.
+     * @return The opened pack, which must be closed by the caller.
+     * @throws FileNotFoundException    if {@code packFile} does not exist.
+     * @throws IllegalArgumentException if {@code packFile} is not a valid pack file.
+     */
+    @NotNull
+    public static GamePack open(@NotNull final Path packFile) throws FileNotFoundException {
+        Objects.requireNonNull(packFile);
+
+        if (!Files.isRegularFile(packFile)) {
+            throw new FileNotFoundException(packFile.toString());
+        }
+
+        try {
+            final var channel = FileChannel.open(packFile, StandardOpenOption.READ);
+            try {
+                return new GamePack(channel, readIndex(channel));
+            } catch (final RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the trailer and the index of a pack file.
+     *
+     * @param channel The channel of the pack file.
+     * @return All entries of the pack by their names, in the order they are stored.
+     * @throws IOException              If an I/O error occurred while reading from {@code channel}.
+     * @throws IllegalArgumentException if the channel does not contain a valid pack file.
+     */
+    @NotNull
+    private static Map<String, Entry> readIndex(@NotNull final FileChannel channel) throws IOException {
+        final var size = channel.size();
+        if (size < TRAILER_SIZE) {
+            throw new IllegalArgumentException("Not a pack file");
+        }
+        final var trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+        final var indexOffset = trailer.getLong(0);
+        final var numEntries = trailer.getInt(8);
+        if (trailer.getInt(16) != MAGIC) {
+            throw new IllegalArgumentException("Not a pack file");
+        }
+        if (trailer.getShort(12) != VERSION) {
+            throw new IllegalArgumentException("Unsupported pack file version: " + trailer.getShort(12));
+        }
+        if (indexOffset < 0 || indexOffset > size - TRAILER_SIZE || numEntries < 0) {
+            throw new IllegalArgumentException("Invalid pack file index");
+        }
+
+        final var index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, size - TRAILER_SIZE - indexOffset);
+        final var entries = new LinkedHashMap<String, Entry>();
+        for (int i = 0; i < numEntries; ++i) {
+            final var nameBytes = new byte[Short.toUnsignedInt(index.getShort())];
+            index.get(nameBytes);
+            final var entry = new Entry(new String(nameBytes, StandardCharsets.UTF_8),
+                    index.getInt(), index.getInt(), index.getInt(), index.getLong(), index.getInt());
+            if (entry.offset() < 0 || entry.length() < 0 || entry.offset() + entry.length() > indexOffset) {
+                throw new IllegalArgumentException("Invalid pack file entry: " + entry.name());
+            }
+            entries.put(entry.name(), entry);
+        }
+        return entries;
+    }
+
+    /**
+     * @return The metadata of all entries of this pack, in the order they are stored.
+     */
+    @NotNull
+    public List<Entry> getEntries() {
+        return List.copyOf(entries.values());
+    }
+
+    /**
+     * @param name The name of an entry.
+     * @return Whether this pack contains an entry with the name.
+     */
+    public boolean contains(@NotNull final String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Loads an entry of this pack and deserializes it into an array of {@link GameState} instances, one for each
+     * player.
+     *
+     * @param name The name of the entry.
+     * @return An array of instances of {@link GameState} created from deserializing the entry.
+     * @throws FileNotFoundException    if this pack does not contain an entry with the name.
+     * @throws IllegalArgumentException if the entry is not a valid binary game file.
+     */
+    @NotNull
+    public GameState[] load(@NotNull final String name) throws FileNotFoundException {
+        Objects.requireNonNull(name);
+
+        final var entry = entries.get(name);
+        if (entry == null) {
+            throw new FileNotFoundException(name);
+        }
+        try {
+            return BinaryGameStateSerializer.decode(
+                    channel.map(FileChannel.MapMode.READ_ONLY, entry.offset(), entry.length()));
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Closes the pack file. Game states loaded from the pack are not affected.
+     *
+     * @throws IOException If an I/O error occurred while closing the pack file.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Creates a pack file from all game files in the text format in a directory.
+     *
+     * <p>
+     * The game files are added in the order of their file names, and each entry is named after its file name
+     * without the {@code .game} extension.
+     * </p>
+     *
+     * @param directory The directory containing the game files.
+     * @param packFile  The pack file to create.
+     * @return {@code packFile}.
+     * @throws FileNotFoundException      if {@code directory} is not a directory.
+     * @throws FileAlreadyExistsException if a file or directory already exists with the same path as
+     *                                    {@code packFile}.
+     */
+    @NotNull
+    public static Path build(@NotNull final Path directory, @NotNull final Path packFile)
+            throws FileNotFoundException, FileAlreadyExistsException {
+        Objects.requireNonNull(directory);
+        Objects.requireNonNull(packFile);
+
+        if (!Files.isDirectory(directory)) {
+            throw new FileNotFoundException(directory.toString());
+        }
+        if (Files.exists(packFile)) {
+            throw new FileAlreadyExistsException(packFile.toString());
+        }
+
+        final List<Path> gameFiles;
+        try (var files = Files.list(directory)) {
+            gameFiles = files
+                    .filter(file -> file.getFileName().toString().endsWith(GAME_FILE_EXTENSION))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        try (var channel = FileChannel.open(packFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final var entries = new ArrayList<Entry>();
+            for (final var gameFile : gameFiles) {
+                final var fileName = gameFile.getFileName().toString();
+                final var name = fileName.substring(0, fileName.length() - GAME_FILE_EXTENSION.length());
+                final var gameState = GameStateSerializer.loadFrom(gameFile)[0];
+                final var gameBoard = gameState.getGameBoard();
+
+                final var data = BinaryGameStateSerializer.encode(gameState);
+                entries.add(new Entry(name, gameBoard.getNumRows(), gameBoard.getNumCols(), gameBoard.getNumGems(),
+                        channel.position(), data.remaining()));
+                writeFully(channel, data);
+            }
+
+            final var indexOffset = channel.position();
+            for (final var entry : entries) {
+                final var nameBytes = entry.name().getBytes(StandardCharsets.UTF_8);
+                final var record = ByteBuffer.allocate(2 + nameBytes.length + 24);
+                record.putShort((short) nameBytes.length);
+                record.put(nameBytes);
+                record.putInt(entry.numRows());
+                record.putInt(entry.numCols());
+                record.putInt(entry.numGems());
+                record.putLong(entry.offset());
+                record.putInt(entry.length());
+                writeFully(channel, record.flip());
+            }
+
+            final var trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            trailer.putLong(indexOffset);
+            trailer.putInt(entries.size());
+            trailer.putShort(VERSION);
+            trailer.putShort((short) 0);
+            trailer.putInt(MAGIC);
+            writeFully(channel, trailer.flip());
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        return packFile;
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer to a channel.
+     *
+     * @param channel The channel to write to.
+     * @param buffer  The buffer to write.
+     * @throws IOException If an I/O error occurred while writing to {@code channel}.
+     */
+    private static void writeFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Creates a pack file from a directory of game files.
+     *
+     * @param args The directory containing the game files, and the pack file to create.
+     * @throws IOException If the directory cannot be read or the pack file cannot be created.
+     */
+    public static void main(@NotNull final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: GamePack <directory of game files> <pack file>");
+            System.exit(1);
+        }
+
+        final var packFile = build(Path.of(args[0]), Path.of(args[1]));
+        try (var pack = open(packFile)) {
+            for (final var entry : pack.getEntries()) {
+                System.out.printf("%s: %dx%d, %d gems%n", entry.name(), entry.numRows(), entry.numCols(),
+                        entry.numGems());
+            }
+        }
+    }
+}
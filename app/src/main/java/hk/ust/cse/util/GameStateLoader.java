@@ -0,0 +1,78 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.GameState;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Loads serialized game files while reporting the progress, so that large game boards can be loaded in the background.
+ *
+ * @see GameStateSerializer
+ */
+public final class GameStateLoader {
+
+    /**
+     * The phases of loading a game file.
+     */
+    public enum Phase {
+        /**
+         * The rows of the game board are being parsed. The work is measured in rows.
+         */
+        PARSING,
+        /**
+         * The game board is being validated, e.g. whether all gems are reachable. The phase is reported once when it
+         * starts and once when it completes.
+         */
+        VALIDATING
+    }
+
+    /**
+     * Listener of the progress of loading a game file.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * A listener which ignores all progress.
+         */
+        ProgressListener NONE = (phase, workDone, totalWork) -> {
+        };
+
+        /**
+         * Called on the loading thread whenever some work of a phase is done.
+         *
+         * @param phase     The current phase.
+         * @param workDone  The amount of work of {@code phase} which is done.
+         * @param totalWork The total amount of work of {@code phase}.
+         */
+        void onProgress(@NotNull Phase phase, int workDone, int totalWork);
+    }
+
+    private GameStateLoader() {
+    }
+
+    /**
+     * Loads an input file and deserializes it into an array of {@link GameState} instances, one for each player.
+     *
+     * <p>
+     * Loading is cancelled by interrupting the loading thread.
+     * </p>
+     *
+     * @param inputFile The input file to read from.
+     * @param listener  The listener to report the progress to.
+     * @return An array of instances of {@link GameState} created from deserializing {@code inputFile}.
+     * @throws FileNotFoundException    if {@code inputFile} does not exist.
+     * @throws CancellationException    if the current thread is interrupted while loading.
+     * @throws IllegalArgumentException if the game board is invalid, as specified by {@link GameBoard}.
+     * @see GameStateSerializer#loadFrom(Path)
+     */
+    @NotNull
+    public static GameState[] loadFrom(@NotNull final Path inputFile, @NotNull final ProgressListener listener)
+            throws FileNotFoundException {
+        return GameStateSerializer.loadFrom(inputFile, listener);
+    }
+}
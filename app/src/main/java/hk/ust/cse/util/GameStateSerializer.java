@@ -11,12 +11,20 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 
 /**
  * Serializer for converting between a serialized file and a {@link GameState}.
  */
 public final class GameStateSerializer {
 
+    /**
+     * The number of cells above which a loaded game board uses packed storage.
+     *
+     * @see GameBoard#GameBoard(int, int, byte[])
+     */
+    private static final int PACKED_BOARD_THRESHOLD = 10_000;
+
     private GameStateSerializer() {
     }
 
@@ -71,11 +79,10 @@ public final class GameStateSerializer {
         }
         writer.newLine();
 
-        for (int r = 0; r < gameState.getGameBoard().getNumRows(); ++r) {
-            final var row = gameState.getGameBoard().getRow(r);
-
-            for (final var cell : row) {
-                writer.write(toCellChar(cell));
+        final var gameBoard = gameState.getGameBoard();
+        for (int r = 0; r < gameBoard.getNumRows(); ++r) {
+            for (int c = 0; c < gameBoard.getNumCols(); ++c) {
+                writer.write(toCellChar(gameBoard.getCellCode(r, c)));
             }
             writer.newLine();
         }
@@ -87,6 +94,11 @@ public final class GameStateSerializer {
      * each {@link Player} instance is associated with a {@link GameState} instance,
      * so we return an array of {@link GameState} instances, whose length is equal to the total number of players.
      *
+     * <p>
+     * {@code inputFile} may also refer to an entry of a {@link GamePack}, by resolving the name of the entry against
+     * the pack file, e.g. {@code puzzles.gamepack/01-simple}.
+     * </p>
+     *
      * @param inputFile The input file to read from.
      * @return An instance of {@link GameState} created from deserializing {@code inputFile}.
      * @throws FileNotFoundException if {@code inputFile} does not exist.
@@ -96,17 +108,57 @@ public final class GameStateSerializer {
             throws FileNotFoundException {
         Objects.requireNonNull(inputFile);
 
+        return loadFrom(inputFile, GameStateLoader.ProgressListener.NONE);
+    }
+
+    /**
+     * Loads an input file and deserializes it into an array of {@link GameState} instances, reporting the progress to
+     * {@code listener}.
+     *
+     * @param inputFile The input file to read from.
+     * @param listener  The listener to report the progress to.
+     * @return An array of instances of {@link GameState} created from deserializing {@code inputFile}.
+     * @throws FileNotFoundException if {@code inputFile} does not exist.
+     * @throws CancellationException if the current thread is interrupted while loading.
+     * @see GameStateSerializer#loadFrom(Path)
+     */
+    @NotNull
+    static GameState[] loadFrom(@NotNull final Path inputFile, @NotNull final GameStateLoader.ProgressListener listener)
+            throws FileNotFoundException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(listener);
+
         if (!Files.isRegularFile(inputFile)) {
+            final var packFile = inputFile.getParent();
+            if (packFile != null && isPackFile(packFile)) {
+                try (var pack = GamePack.open(packFile)) {
+                    return pack.load(inputFile.getFileName().toString());
+                } catch (final FileNotFoundException e) {
+                    throw new FileNotFoundException(inputFile.toString());
+                } catch (final IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
             throw new FileNotFoundException(inputFile.toString());
         }
 
         try (var reader = Files.newBufferedReader(inputFile)) {
-            return loadFrom(reader);
+            return loadFrom(reader, listener);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * @param file A path.
+     * @return Whether {@code file} is a regular file with the extension of {@link GamePack} files.
+     */
+    private static boolean isPackFile(@NotNull final Path file) {
+        return file.getFileName() != null
+                && file.getFileName().toString().endsWith(GamePack.FILE_EXTENSION)
+                && Files.isRegularFile(file);
+    }
+
     /**
      * Creates an array of {@link GameState} instance by reading from the {@link BufferedReader}.
      * There can be multiple players on the game board, and
@@ -120,7 +172,30 @@ public final class GameStateSerializer {
      */
     @NotNull
     static GameState[] loadFrom(@NotNull final BufferedReader reader) throws IOException {
+        return loadFrom(reader, GameStateLoader.ProgressListener.NONE);
+    }
+
+    /**
+     * Creates an array of {@link GameState} instance by reading from the {@link BufferedReader}, reporting the
+     * progress to {@code listener}.
+     *
+     * <p>
+     * Loading is cancelled by interrupting the current thread. The interrupt status is checked after every row and
+     * before the game board is validated.
+     * </p>
+     *
+     * @param reader   The reader providing the serialized version of the game state.
+     * @param listener The listener to report the progress to.
+     * @return An array of instances of {@link GameState} created from deserializing {@code reader}.
+     * @throws IOException           If an I/O error occurred while reading from {@code reader}.
+     * @throws CancellationException if the current thread is interrupted while loading.
+     * @apiNote The caller is responsible for closing {@code reader}.
+     */
+    @NotNull
+    static GameState[] loadFrom(@NotNull final BufferedReader reader,
+                                @NotNull final GameStateLoader.ProgressListener listener) throws IOException {
         Objects.requireNonNull(reader);
+        Objects.requireNonNull(listener);
 
         final var numRows = Integer.parseInt(reader.readLine());
         final var numCols = Integer.parseInt(reader.readLine());
@@ -134,15 +209,51 @@ public final class GameStateSerializer {
             }
         }
 
-        final var board = new Cell[numRows][numCols];
-        for (int r = 0; r < numRows; r++) {
-            final var line = reader.readLine();
-            for (int c = 0; c < numCols; ++c) {
-                board[r][c] = fromCellChar(line.charAt(c), new Position(r, c));
+        final GameBoard gameBoard;
+        if ((long) numRows * numCols > PACKED_BOARD_THRESHOLD) {
+            final var codes = new byte[numRows * numCols];
+            for (int r = 0; r < numRows; r++) {
+                final var line = reader.readLine();
+                for (int c = 0; c < numCols; ++c) {
+                    codes[r * numCols + c] = toCellCode(line.charAt(c));
+                }
+                checkNotCancelled();
+                listener.onProgress(GameStateLoader.Phase.PARSING, r + 1, numRows);
             }
+
+            listener.onProgress(GameStateLoader.Phase.VALIDATING, 0, 1);
+            gameBoard = new GameBoard(numRows, numCols, codes);
+        } else {
+            final var board = new Cell[numRows][numCols];
+            for (int r = 0; r < numRows; r++) {
+                final var line = reader.readLine();
+                for (int c = 0; c < numCols; ++c) {
+                    board[r][c] = fromCellChar(line.charAt(c), new Position(r, c));
+                }
+                checkNotCancelled();
+                listener.onProgress(GameStateLoader.Phase.PARSING, r + 1, numRows);
+            }
+
+            listener.onProgress(GameStateLoader.Phase.VALIDATING, 0, 1);
+            gameBoard = new GameBoard(numRows, numCols, board);
         }
 
-        final var gameBoard = new GameBoard(numRows, numCols, board);
+        checkNotCancelled();
+        listener.onProgress(GameStateLoader.Phase.VALIDATING, 1, 1);
+
+        return createGameStates(gameBoard, numLives);
+    }
+
+    /**
+     * Creates a {@link GameState} instance for each {@link Player} on a game board.
+     *
+     * @param gameBoard The game board shared by all players.
+     * @param numLives  The number of lives of each player, or a negative number if players have unlimited lives.
+     * @return An array of instances of {@link GameState}, one for each player.
+     */
+    @NotNull
+    static GameState[] createGameStates(@NotNull final GameBoard gameBoard, final int numLives) {
+        Objects.requireNonNull(gameBoard);
 
         // Construct a GameState instance for each Player
         return gameBoard.getPlayers().stream()
@@ -151,40 +262,57 @@ public final class GameStateSerializer {
     }
 
     /**
-     * Converts an instance of {@link Cell} to its serialized character representation.
+     * Checks whether loading has been cancelled by interrupting the current thread.
      *
-     * @param cell The instance of cell to serialize.
-     * @return A {@code char} representing {@code cell}.
+     * @throws CancellationException if the current thread has been interrupted.
      */
-    private static char toCellChar(@NotNull final Cell cell) {
-        Objects.requireNonNull(cell);
-
-        if (cell instanceof Wall) {
-            return 'W';
+    private static void checkNotCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
         }
+    }
 
-        final var cellWithEntity = (EntityCell) cell;
-
-        // Entity takes precedence over the cell
-        // We can infer the type of cell from the entity anyways
-        final var entity = cellWithEntity.getEntity();
-        if (entity instanceof ExtraLife) {
-            return 'L';
-        }
-        if (entity instanceof Gem) {
-            return 'G';
-        }
-        if (entity instanceof Mine) {
-            return 'M';
-        }
-        if (entity instanceof Player) {
-            return 'P';
-        }
+    /**
+     * Converts the {@link CellCode} of a cell to its serialized character representation.
+     *
+     * <p>
+     * Entity takes precedence over the cell, since we can infer the type of cell from the entity anyways.
+     * </p>
+     *
+     * @param code The code of the cell to serialize.
+     * @return A {@code char} representing the cell.
+     */
+    private static char toCellChar(final byte code) {
+        return switch (code) {
+            case CellCode.WALL -> 'W';
+            case CellCode.EXTRA_LIFE -> 'L';
+            case CellCode.GEM -> 'G';
+            case CellCode.MINE -> 'M';
+            case CellCode.PLAYER, CellCode.PLAYER_ON_STOP -> 'P';
+            case CellCode.STOP -> 'S';
+            case CellCode.EMPTY -> '.';
+            default -> throw new IllegalArgumentException("Unknown cell code: " + code);
+        };
+    }
 
-        if (cellWithEntity instanceof StopCell) {
-            return 'S';
-        }
-        return '.';
+    /**
+     * Converts the serialized character representation of a {@link Cell} to its {@link CellCode}.
+     *
+     * @param c The character representing a cell.
+     * @return The code of the cell which is represented by {@code c}.
+     * @throws IllegalArgumentException if {@code c} is not a known representation of a cell.
+     */
+    private static byte toCellCode(final char c) {
+        return switch (c) {
+            case 'W' -> CellCode.WALL;
+            case 'L' -> CellCode.EXTRA_LIFE;
+            case 'G' -> CellCode.GEM;
+            case 'M' -> CellCode.MINE;
+            case 'P' -> CellCode.PLAYER_ON_STOP;
+            case 'S' -> CellCode.STOP;
+            case '.' -> CellCode.EMPTY;
+            default -> throw new IllegalArgumentException("Unknown cell representation: " + c);
+        };
     }
 
     /**
@@ -201,9 +329,9 @@ public final class GameStateSerializer {
 
         return switch (c) {
             case 'W' -> new Wall(position);
-            case 'L' -> new EntityCell(position, new ExtraLife());
-            case 'G' -> new EntityCell(position, new Gem());
-            case 'M' -> new EntityCell(position, new Mine());
+            case 'L' -> new EntityCell(position, ExtraLife.SHARED);
+            case 'G' -> new EntityCell(position, Gem.SHARED);
+            case 'M' -> new EntityCell(position, Mine.SHARED);
             case 'P' -> new StopCell(position, new Player());
             case 'S' -> new StopCell(position);
             case '.' -> new EntityCell(position);
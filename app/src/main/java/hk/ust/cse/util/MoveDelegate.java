@@ -32,6 +32,15 @@ public interface MoveDelegate {
      */
     void startDelegation(@NotNull MoveProcessor processor);
 
+    /**
+     * Make a single move immediately on the calling thread, without waiting.
+     * This is used to run the delegate as fast as possible, e.g. in fast-forward mode, so delegates which search for
+     * their moves should bound the time of each search, see {@link Robot#MAKE_MOVE_SEARCH_MILLIS}.
+     *
+     * @param processor The processor to make movements.
+     */
+    void makeMove(@NotNull MoveProcessor processor);
+
     /**
      * Stop the current delegation.
      * If not delegation is running, do nothing.
@@ -0,0 +1,294 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.controller.MoveListener;
+import hk.ust.cse.model.Direction;
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of all moves and undos processed by a {@link GameController}, from which the game can be replayed
+ * from its initial state.
+ *
+ * <p>
+ * A replay file starts with a header holding {@link ReplayLog#MAGIC} (4 bytes), the format version (2 bytes), the
+ * number of players (2 bytes) and the checksum of the initial game board computed by
+ * {@link ReplayLog#computeChecksum(GameBoard)} (4 bytes). It is followed by a single byte for every action, holding
+ * the index of the player in {@link GameBoard#getPlayers()} of the initial game board (3 bits), the {@link Outcome} of
+ * the action (3 bits), and the ordinal of the {@link Direction} of the move (2 bits).
+ * </p>
+ * <p>
+ * Unlike {@link GameCheckpoint}, only the inputs and the outcomes of the actions are recorded, so restoring the game
+ * requires replaying every action, e.g. with {@link hk.ust.cse.sim.ReplayEngine}.
+ * </p>
+ */
+public final class ReplayLog implements MoveListener, Closeable {
+
+    /**
+     * The first four bytes of every replay file, i.e. {@code "INRR"} in ASCII.
+     */
+    public static final int MAGIC = 0x494E5252;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 12;
+
+    /**
+     * The maximum number of players in a game which can be recorded.
+     */
+    public static final int MAX_NUM_PLAYERS = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The outcomes of the actions in a replay file.
+     */
+    public enum Outcome {
+        /**
+         * The move was invalid.
+         */
+        INVALID,
+        /**
+         * The move was valid and the player is still alive.
+         */
+        ALIVE,
+        /**
+         * The player died in the move.
+         */
+        DEAD,
+        /**
+         * The player died in the move and has been kicked out.
+         */
+        KICKED_OUT,
+        /**
+         * The latest move of the player was undone.
+         */
+        UNDO;
+
+        private static final Outcome[] VALUES = values();
+
+        /**
+         * @param result The result of a move.
+         * @return The outcome of the move.
+         */
+        @NotNull
+        public static Outcome of(@NotNull final MoveResult result) {
+            if (result instanceof MoveResult.Valid.Alive) {
+                return ALIVE;
+            } else if (result instanceof MoveResult.Valid.Dead) {
+                return DEAD;
+            } else if (result instanceof MoveResult.Valid.KickedOut) {
+                return KICKED_OUT;
+            }
+            return INVALID;
+        }
+    }
+
+    @NotNull
+    private final OutputStream output;
+
+    @NotNull
+    private final GameController controller;
+
+    /**
+     * The index of each player in {@link GameBoard#getPlayers()} of the initial game board, by {@link Player#getId()}.
+     */
+    @NotNull
+    private final Map<Integer, Integer> playerIndices = new HashMap<>();
+
+    private ReplayLog(@NotNull final OutputStream output, @NotNull final GameController controller) {
+        this.output = output;
+        this.controller = controller;
+        final var players = controller.getGameBoard().getPlayers();
+        for (int i = 0; i < players.size(); ++i) {
+            playerIndices.put(players.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * Creates a replay file, and records all moves and undos processed by {@code controller} into it until the log is
+     * closed.
+     *
+     * @param replayFile The replay file to create.
+     * @param controller The controller of a game in its initial state, i.e. before any action is processed.
+     * @return The log, which must be closed by the caller.
+     * @throws FileAlreadyExistsException if a file or directory already exists with the same path as
+     *                                    {@code replayFile}.
+     * @throws IllegalStateException      if any action has been processed by {@code controller}.
+     * @throws IllegalArgumentException   if the game has more than {@link ReplayLog#MAX_NUM_PLAYERS} players.
+     */
+    @NotNull
+    public static ReplayLog create(@NotNull final Path replayFile, @NotNull final GameController controller)
+            throws FileAlreadyExistsException {
+        Objects.requireNonNull(replayFile);
+        Objects.requireNonNull(controller);
+
+        if (Files.exists(replayFile)) {
+            throw new FileAlreadyExistsException(replayFile.toString());
+        }
+
+        synchronized (controller.getGameBoard()) {
+            for (final var gameState : controller.getGameStates()) {
+                if (gameState.getNumMoves() != 0 || gameState.getMoveStack().getPopCount() != 0) {
+                    throw new IllegalStateException("Replays must be recorded from the initial state of a game");
+                }
+            }
+            final var gameBoard = controller.getGameBoard();
+            final var numPlayers = gameBoard.getPlayers().size();
+            if (numPlayers > MAX_NUM_PLAYERS) {
+                throw new IllegalArgumentException();
+            }
+
+            try {
+                final var output = new BufferedOutputStream(Files.newOutputStream(replayFile,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), BUFFER_SIZE);
+                final var header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC);
+                header.putShort(VERSION);
+                header.putShort((short) numPlayers);
+                header.putInt(computeChecksum(gameBoard));
+                output.write(header.array());
+
+                final var log = new ReplayLog(output, controller);
+                controller.addMoveListener(log);
+                return log;
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMove(final int playerID, @NotNull final Direction direction, @NotNull final MoveResult result) {
+        write(encode(playerIndices.get(playerID), Outcome.of(result), direction));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUndo(final int playerID, @NotNull final MoveResult.Valid.Alive undone) {
+        write(encode(playerIndices.get(playerID), Outcome.UNDO, null));
+    }
+
+    /**
+     * Writes all recorded actions to the replay file.
+     *
+     * @throws IOException If an I/O error occurred while writing to the replay file.
+     */
+    public void flush() throws IOException {
+        synchronized (controller.getGameBoard()) {
+            output.flush();
+        }
+    }
+
+    /**
+     * Stops recording, and closes the replay file after writing all recorded actions to it.
+     *
+     * @throws IOException If an I/O error occurred while writing or closing the replay file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (controller.getGameBoard()) {
+            controller.removeMoveListener(this);
+            output.close();
+        }
+    }
+
+    /**
+     * Appends an action to the replay file. Must be called holding the lock of the game board.
+     *
+     * @param action The encoded action.
+     */
+    private void write(final byte action) {
+        try {
+            output.write(action);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Computes the checksum of the cells of a game board, which identifies the game board a replay was recorded on.
+     *
+     * @param gameBoard The game board.
+     * @return The CRC-32 of the dimensions and the {@link hk.ust.cse.model.CellCode}s of the game board.
+     */
+    public static int computeChecksum(@NotNull final GameBoard gameBoard) {
+        final var crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putInt(gameBoard.getNumRows()).putInt(gameBoard.getNumCols()).flip());
+        crc.update(gameBoard.getCellCodes());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Encodes an action.
+     *
+     * @param playerIndex The index of the player in {@link GameBoard#getPlayers()} of the initial game board.
+     * @param outcome     The outcome of the action.
+     * @param direction   The direction of the move, or {@code null} if the action is an undo.
+     * @return The encoded action.
+     */
+    public static byte encode(final int playerIndex, @NotNull final Outcome outcome,
+                              @Nullable final Direction direction) {
+        Objects.checkIndex(playerIndex, MAX_NUM_PLAYERS);
+        return (byte) (playerIndex << 5 | outcome.ordinal() << 2 | (direction == null ? 0 : direction.ordinal()));
+    }
+
+    /**
+     * @param action An encoded action.
+     * @return The index of the player in {@link GameBoard#getPlayers()} of the initial game board.
+     */
+    public static int getPlayerIndex(final byte action) {
+        return (action >> 5) & 0x7;
+    }
+
+    /**
+     * @param action An encoded action.
+     * @return The outcome of the action.
+     * @throws IllegalArgumentException if the outcome is not valid.
+     */
+    @NotNull
+    public static Outcome getOutcome(final byte action) {
+        final var ordinal = (action >> 2) & 0x7;
+        if (ordinal >= Outcome.VALUES.length) {
+            throw new IllegalArgumentException("Unknown outcome: " + ordinal);
+        }
+        return Outcome.VALUES[ordinal];
+    }
+
+    /**
+     * @param action An encoded action.
+     * @return The direction of the move, which is meaningless if the action is an undo.
+     */
+    @NotNull
+    public static Direction getDirection(final byte action) {
+        return Direction.values()[action & 0x3];
+    }
+}
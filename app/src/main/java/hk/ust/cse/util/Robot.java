@@ -1,14 +1,24 @@
 package hk.ust.cse.util;
 
+import hk.ust.cse.controller.GameBoardController;
+import hk.ust.cse.controller.MoveBuffer;
+import hk.ust.cse.model.BoardSnapshot;
 import hk.ust.cse.model.Direction;
 import hk.ust.cse.model.GameState;
-import hk.ust.cse.model.MoveResult;
 import hk.ust.cse.model.Position;
+import hk.ust.cse.solver.LookaheadSearch;
+import hk.ust.cse.solver.MoveGraph;
 import hk.ust.cse.view.panes.GameControlPane;
-import javafx.application.Platform;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Robot is an automated worker that can delegate the movement control of a player.
@@ -18,14 +28,48 @@ import java.util.*;
  */
 public class Robot implements MoveDelegate {
     public enum Strategy {
-        Random, Smart
+        Random, Smart, Anytime
     }
 
+    /**
+     * The number of moves the {@link Strategy#Smart} strategy looks ahead.
+     */
+    public static final int SMART_SEARCH_DEPTH = 16;
+
     /**
      * A generator to get the time interval before the robot makes the next move.
      */
     public static Generator<Long> timeIntervalGenerator = TimeIntervalGenerator.everySecond();
 
+    /**
+     * The fraction of each time interval the {@link Strategy#Anytime} strategy spends searching for its next move.
+     */
+    public static double thinkingTimeRatio = 0.8;
+
+    /**
+     * The time in milliseconds the {@link Strategy#Anytime} strategy spends searching for a move made by
+     * {@link Robot#makeMove(MoveProcessor)}.
+     */
+    public static final long MAKE_MOVE_SEARCH_MILLIS = 1;
+
+    /**
+     * The scheduler shared by the delegations of all robots. A delegation only occupies a thread of the scheduler
+     * while choosing a move, so a small pool can drive a large number of robots.
+     */
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    private static ScheduledExecutorService createScheduler() {
+        final var threadCount = new AtomicInteger();
+        final var scheduler = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(), runnable -> {
+            final var thread = new Thread(runnable, "robot-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Stopped delegations should not keep their pending steps in the queue until they are due
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     /**
      * e.printStackTrace();
      * The game state of thee.printStackTrace(); player that the robot delegates.
@@ -46,70 +90,426 @@ public class Robot implements MoveDelegate {
         this.gameState = gameState;
     }
 
-    private ArrayList<Thread> threadsList =new ArrayList<>();
+    private final Random random = new Random();
+
+    /**
+     * The directions shuffled by {@link Robot#makeMoveRandomly(MoveProcessor)}, reused across moves.
+     */
+    private final Direction[] directions = Direction.values();
+
+    /**
+     * The buffer the moves are evaluated into by {@link Robot#makeMoveRandomly(MoveProcessor)}, reused across moves.
+     */
+    private final MoveBuffer moveBuffer = new MoveBuffer();
+
     /**
-     * Start the delegation in a new thread.
-     * The delegation should run in a separate thread.
-     * This method should return immediately when the thread is started.
+     * The controller evaluating the moves of {@link Robot#makeMoveRandomly(MoveProcessor)}, or {@code null} if it has
+     * not been created yet.
+     */
+    @Nullable
+    private GameBoardController boardController = null;
+
+    /**
+     * The searches used by {@link Robot#makeMove(MoveProcessor)}. Delegations have their own, see
+     * {@link Delegation#searches}.
+     */
+    private final SearchCache searches = new SearchCache();
+
+    /**
+     * The delegation currently running, or {@code null} if there is none.
+     */
+    @Nullable
+    private volatile Delegation delegation = null;
+
+    /**
+     * Start the delegation on the shared {@link Robot#SCHEDULER}.
+     * This method returns immediately after the first move is scheduled.
      * <p>
      * In the delegation of the control of the player,
-     * the time interval between moves should be obtained from {@link Robot#timeIntervalGenerator}.
-     * That is to say, the new thread should:
+     * the time interval between moves is obtained from {@link Robot#timeIntervalGenerator}.
+     * That is to say, the delegation:
      * <ol>
-     *   <li>Stop all existing threads by calling {@link Robot#stopDelegation()}</li>
-     *   <li>Start a new thread. And inside the thread:</li>
+     *   <li>Stops the existing delegation by calling {@link Robot#stopDelegation()}</li>
+     *   <li>Repeatedly:</li>
      *   <ul>
-     *      <li>Wait for some time (obtained from {@link TimeIntervalGenerator#next()}</li>
-     *      <li>Make a move, call {@link Robot#makeMoveRandomly(MoveProcessor)} or
-     *      {@link Robot#makeMoveSmartly(MoveProcessor)} according to {@link Robot#strategy}</li>
-     *      <li>repeat</li>
+     *      <li>Waits for some time (obtained from {@link TimeIntervalGenerator#next()}), without occupying a thread</li>
+     *      <li>Makes a move on a scheduler thread according to {@link Robot#strategy}, calling
+     *      {@link Robot#makeMoveRandomly(MoveProcessor)} while holding the lock of the game board, or
+     *      {@link Robot#searchAndMove(Delegation)}, which only holds the lock to take a snapshot and to make the
+     *      move</li>
      *   </ul>
      * </ol>
-     * The started thread should be able to exit when {@link Robot#stopDelegation()} is called.
+     * The {@link Strategy#Anytime} strategy instead searches for its move on a scheduler thread while waiting, see
+     * {@link Robot#thinkAndMove(Delegation)}.
      * <p>
+     * Moves are made without going through the JavaFX thread, so the processor must be thread-safe and hand off any
+     * UI updates to the JavaFX thread itself, see {@link GameControlPane#delegateControl(MoveDelegate)}.
      *
      * @param processor The processor to make movements.
      */
     @Override
     public void startDelegation(@NotNull MoveProcessor processor) {
         stopDelegation();
-        Thread thread = new Thread(()->{
-            while (true) {
+        final var newDelegation = new Delegation(processor);
+        delegation = newDelegation;
+        scheduleNextMove(newDelegation);
+    }
+
+    /**
+     * Stop the delegation of this instance.
+     * <p>
+     * Cancellation is cooperative: The pending step of the delegation is cancelled, and every step checks whether the
+     * delegation has been stopped before making a move. Since moves are made while holding the lock of the game board,
+     * which is also taken here, no move is made after this method returns.
+     */
+    @Override
+    public void stopDelegation() {
+        final var current = delegation;
+        if (current != null) {
+            synchronized (gameState.getGameBoard()) {
+                current.cancel();
+            }
+            delegation = null;
+        }
+    }
+
+    /**
+     * A single run of {@link Robot#startDelegation(MoveProcessor)}, which can be stopped cooperatively.
+     */
+    private static final class Delegation {
+
+        @NotNull
+        private final MoveProcessor processor;
+
+        /**
+         * The searches of this delegation. A delegation which is still searching after being stopped therefore never
+         * shares a search with the delegation replacing it.
+         */
+        @NotNull
+        private final SearchCache searches = new SearchCache();
+
+        private volatile boolean cancelled = false;
+
+        @Nullable
+        private volatile Future<?> pendingStep = null;
+
+        Delegation(@NotNull MoveProcessor processor) {
+            this.processor = processor;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Run a step of this delegation on the scheduler after a delay, unless this delegation has been cancelled.
+         * <p>
+         * An exception thrown by the step is reported to the uncaught exception handler of the scheduler thread.
+         * Steps schedule the step following them in a {@code finally} block, so the delegation keeps running after a
+         * failed move.
+         */
+        void schedule(Runnable step, long delayMillis) {
+            if (cancelled) {
+                return;
+            }
+            pendingStep = SCHEDULER.schedule(() -> {
                 try {
-                    Thread.sleep(timeIntervalGenerator.next());
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+                    step.run();
+                } catch (RuntimeException e) {
+                    final var thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
                 }
-                Platform.runLater(()->{
-                    if (strategy==Strategy.Smart){
-                        makeMoveSmartly(processor);
-                    } else makeMoveRandomly(processor);
-                });
+            }, delayMillis, TimeUnit.MILLISECONDS);
+            if (cancelled) {
+                pendingStep.cancel(false);
             }
-        });
-        threadsList.add(thread);
-        thread.start();
+        }
+
+        void cancel() {
+            cancelled = true;
+            final var step = pendingStep;
+            if (step != null) {
+                step.cancel(false);
+            }
+        }
     }
 
     /**
-     * Stop the delegations, i.e., stop the thread of this instance.
-     * When this method returns, the thread must have exited already.
+     * Make a single move immediately on the calling thread, according to {@link Robot#strategy}.
+     * <p>
+     * Unlike {@link Robot#startDelegation(MoveProcessor)}, this does not wait between moves and does not need the
+     * JavaFX toolkit, so it can be used to run games headlessly. The {@link Strategy#Anytime} strategy searches for
+     * {@link Robot#MAKE_MOVE_SEARCH_MILLIS}, see {@link Robot#makeMove(MoveProcessor, long)}.
+     *
+     * @param processor The processor to make movements.
      */
     @Override
-    public void stopDelegation() {
-        for (Thread thread:threadsList) {
-            if (!thread.isInterrupted()) {
-                thread.stop();
+    public void makeMove(@NotNull MoveProcessor processor) {
+        makeMove(processor, MAKE_MOVE_SEARCH_MILLIS);
+    }
+
+    /**
+     * Make a single move immediately on the calling thread, according to {@link Robot#strategy}.
+     * <p>
+     * The {@link Strategy#Anytime} strategy searches for the given time, independent of
+     * {@link Robot#timeIntervalGenerator}, so callers making many moves in a row, e.g. fast-forward and self-play,
+     * decide how much time each move may take. The other strategies ignore the time.
+     * <p>
+     * Other threads may make moves on the game board concurrently. Searches run on a {@link BoardSnapshot} of the game
+     * board, and random moves are chosen while holding the lock of the game board, so the lock is never held while
+     * searching. The processor may therefore be called with a move which is no longer valid by the time it is made.
+     *
+     * @param processor    The processor to make movements.
+     * @param searchMillis The time in milliseconds to search for the move of the {@link Strategy#Anytime} strategy.
+     */
+    public void makeMove(@NotNull MoveProcessor processor, long searchMillis) {
+        switch (strategy) {
+            case Random -> {
+                synchronized (gameState.getGameBoard()) {
+                    makeMoveRandomly(processor);
+                }
+            }
+            case Smart -> makeMoveSmartly(processor, searches);
+            case Anytime -> {
+                final var owner = gameState.getPlayer().getOwner();
+                if (owner == null) {
+                    return;
+                }
+                final var deadline = System.nanoTime() + searchMillis * 1_000_000;
+                final var snapshot = gameState.getGameBoard().snapshot();
+                final var direction = searchUntil(snapshot, gameState.getPlayer().getId(), searches, deadline);
+                if (direction != null) {
+                    processor.move(direction);
+                } else {
+                    synchronized (gameState.getGameBoard()) {
+                        makeMoveRandomly(processor);
+                    }
+                }
             }
         }
     }
 
-    private MoveResult tryMove(Direction direction) {
-        var player = gameState.getPlayer();
-        if (player.getOwner() == null) {
+    /**
+     * Schedule the next move of a delegation after a time interval.
+     *
+     * @param delegation The delegation to make the move for.
+     */
+    private void scheduleNextMove(Delegation delegation) {
+        if (strategy == Strategy.Anytime) {
+            delegation.schedule(() -> thinkAndMove(delegation), 0);
+            return;
+        }
+        delegation.schedule(() -> {
+            try {
+                if (strategy == Strategy.Smart) {
+                    searchAndMove(delegation);
+                } else {
+                    synchronized (gameState.getGameBoard()) {
+                        if (!delegation.isCancelled()) {
+                            makeMoveRandomly(delegation.processor);
+                        }
+                    }
+                }
+            } finally {
+                scheduleNextMove(delegation);
+            }
+        }, timeIntervalGenerator.next());
+    }
+
+    /**
+     * Search for the next move of the {@link Strategy#Smart} strategy, then make the move.
+     * <p>
+     * The search runs on a {@link BoardSnapshot} of the game board, so the lock of the game board is only held to take
+     * the snapshot and to make the move. Rendering and input on the JavaFX thread, which also take the lock, are
+     * therefore never blocked by the search.
+     *
+     * @param delegation The delegation to make the move for.
+     */
+    private void searchAndMove(Delegation delegation) {
+        final var playerID = gameState.getPlayer().getId();
+        final BoardSnapshot snapshot;
+        final Position position;
+        synchronized (gameState.getGameBoard()) {
+            if (delegation.isCancelled()) {
+                return;
+            }
+            final var owner = gameState.getPlayer().getOwner();
+            if (owner == null) {
+                return;
+            }
+            snapshot = gameState.getGameBoard().snapshot();
+            position = owner.getPosition();
+        }
+
+        final var direction = searchSmartly(snapshot, playerID, delegation.searches);
+        makeSearchedMove(delegation, position, direction);
+    }
+
+    /**
+     * Make a move found by searching a snapshot of the game board, while holding the lock of the game board.
+     * <p>
+     * The move is skipped if the delegation has been stopped, or the player has moved since the snapshot was taken,
+     * e.g. by an undo. If the search found no move, the robot moves randomly instead.
+     *
+     * @param delegation The delegation to make the move for.
+     * @param position   The position of the player in the snapshot.
+     * @param direction  The move found by the search, or {@code null} if there is none.
+     */
+    private void makeSearchedMove(Delegation delegation, Position position, @Nullable Direction direction) {
+        synchronized (gameState.getGameBoard()) {
+            if (delegation.isCancelled()) {
+                return;
+            }
+            final var currentOwner = gameState.getPlayer().getOwner();
+            if (currentOwner != null && currentOwner.getPosition().equals(position)) {
+                if (direction != null) {
+                    delegation.processor.move(direction);
+                } else {
+                    makeMoveRandomly(delegation.processor);
+                }
+            }
+        }
+    }
+
+    /**
+     * The {@link LookaheadSearch} of the player, kept between moves so that its transposition table is reused.
+     * <p>
+     * A cache must only be used by one thread at a time.
+     */
+    private static final class SearchCache {
+
+        /**
+         * The search, or {@code null} if it has not been built yet or cannot be built.
+         */
+        @Nullable
+        private LookaheadSearch search = null;
+
+        /**
+         * The positions of the other players when {@link SearchCache#search} was built. Other players block moves, so
+         * the search is rebuilt once any of them has moved.
+         */
+        @NotNull
+        private List<Position> otherPlayerPositions = List.of();
+
+        /**
+         * @param snapshot The current state of the game board.
+         * @param playerID The id of the player to search the moves of.
+         * @return The search for the snapshot, rebuilding it if the player is no longer on its graph or the other
+         * players have moved; {@code null} if the player is not on the snapshot or the search cannot be built.
+         */
+        @Nullable
+        LookaheadSearch get(BoardSnapshot snapshot, int playerID) {
+            final var position = snapshot.getPlayerPosition(playerID);
+            if (position == null) {
+                return null;
+            }
+            final var positions = new ArrayList<Position>();
+            for (final var id : snapshot.getPlayerIds()) {
+                final var otherPosition = id == playerID ? null : snapshot.getPlayerPosition(id);
+                if (otherPosition != null) {
+                    positions.add(otherPosition);
+                }
+            }
+
+            if (search != null && positions.equals(otherPlayerPositions)
+                    && search.getGraph().getNode(position) != MoveGraph.NONE) {
+                return search;
+            }
+
+            try {
+                search = new LookaheadSearch(new MoveGraph(snapshot, playerID));
+            } catch (IllegalArgumentException e) {
+                search = null;
+            }
+            otherPlayerPositions = positions;
+            return search;
+        }
+    }
+
+    /**
+     * Search for the next move of the {@link Strategy#Anytime} strategy, then make the move once the current time
+     * interval is over.
+     * <p>
+     * The first {@link Robot#thinkingTimeRatio} of the interval is spent searching on a scheduler thread. The search
+     * runs on a {@link BoardSnapshot} of the game board, so the lock of the game board is only held to take the
+     * snapshot and to make the move, and no thread is blocked waiting for it.
+     *
+     * @param delegation The delegation to make the move for.
+     */
+    private void thinkAndMove(Delegation delegation) {
+        final var interval = timeIntervalGenerator.next();
+        final var startTime = System.nanoTime();
+        final var deadline = startTime + (long) (interval * thinkingTimeRatio * 1_000_000);
+
+        Runnable move = null;
+        try {
+            final var playerID = gameState.getPlayer().getId();
+            final BoardSnapshot snapshot;
+            final Position position;
+            synchronized (gameState.getGameBoard()) {
+                final var owner = gameState.getPlayer().getOwner();
+                if (delegation.isCancelled() || owner == null) {
+                    return;
+                }
+                snapshot = gameState.getGameBoard().snapshot();
+                position = owner.getPosition();
+            }
+
+            final var direction = searchUntil(snapshot, playerID, delegation.searches, deadline);
+            move = () -> makeSearchedMove(delegation, position, direction);
+        } finally {
+            // Also schedules the next search if there is no move to make, e.g. the player is not on the game board
+            final var searchedMove = move;
+            final var remainingMillis = interval - (System.nanoTime() - startTime) / 1_000_000;
+            delegation.schedule(() -> {
+                try {
+                    if (searchedMove != null) {
+                        searchedMove.run();
+                    }
+                } finally {
+                    scheduleNextMove(delegation);
+                }
+            }, Math.max(0, remainingMillis));
+        }
+    }
+
+    /**
+     * Search for the best move by iterative deepening, until the deadline has passed.
+     *
+     * @param snapshot The state of the game board to search from.
+     * @param playerID The id of the player to search the moves of.
+     * @param searches The searches of the caller.
+     * @param deadline The {@link System#nanoTime()} at which to stop searching.
+     * @return The best move found by the deepest completed search, or {@code null} if no search completed or no move
+     * keeps the player alive.
+     */
+    @Nullable
+    private Direction searchUntil(BoardSnapshot snapshot, int playerID, SearchCache searches, long deadline) {
+        if (snapshot.getNumGems() == 0) {
             return null;
         }
-        return gameState.getGameBoardController().tryMove(player.getOwner().getPosition(), direction, player.getId());
+        final var search = searches.get(snapshot, playerID);
+        if (search == null) {
+            return null;
+        }
+        final var node = search.getGraph().getNode(Objects.requireNonNull(snapshot.getPlayerPosition(playerID)));
+        if (node == MoveGraph.NONE) {
+            return null;
+        }
+        final var remainingGems = search.getGraph().getRemainingGems(snapshot);
+
+        Direction best = null;
+        for (int depth = 1; depth <= LookaheadSearch.MAX_DEPTH; ++depth) {
+            try {
+                best = search.bestDirection(node, remainingGems, depth, random, deadline);
+            } catch (TimeoutException e) {
+                break;
+            }
+            if (best == null) {
+                break;
+            }
+        }
+        return best;
     }
 
     /**
@@ -119,21 +519,40 @@ public class Robot implements MoveDelegate {
      * If there is no choice but only have one dying direction to move, the robot will still choose it.
      * If there is no valid direction, i.e. can neither die nor move, the robot do not perform a move.
      * <p>
+     * The moves are evaluated into {@link Robot#moveBuffer}, so choosing a move does not allocate any object.
+     * <p>
      * Thread synchronization: make move randomely
      *
      * @param processor The processor to make movements.
      */
     private synchronized void makeMoveRandomly(MoveProcessor processor) {
-        var directions = new ArrayList<>(Arrays.asList(Direction.values()));
-        Collections.shuffle(directions);
+        var player = gameState.getPlayer();
+        var owner = player.getOwner();
+        if (owner == null) {
+            return;
+        }
+
+        var gameBoard = gameState.getGameBoard();
+        if (boardController == null) {
+            boardController = new GameBoardController(gameBoard);
+        }
+        var index = owner.getPosition().row() * gameBoard.getNumCols() + owner.getPosition().col();
+
+        // Shuffle the directions in place
+        for (int i = directions.length - 1; i > 0; --i) {
+            var j = random.nextInt(i + 1);
+            var direction = directions[i];
+            directions[i] = directions[j];
+            directions[j] = direction;
+        }
+
         Direction aliveDirection = null;
         Direction deadDirection = null;
-        for (var direction :
-                directions) {
-            var result = tryMove(direction);
-            if (result instanceof MoveResult.Valid.Alive) {
+        for (var direction : directions) {
+            boardController.evaluateMove(index, direction, player.getId(), moveBuffer);
+            if (moveBuffer.getOutcome() == MoveBuffer.ALIVE) {
                 aliveDirection = direction;
-            } else if (result instanceof MoveResult.Valid.Dead) {
+            } else if (moveBuffer.getOutcome() == MoveBuffer.DEAD) {
                 deadDirection = direction;
             }
         }
@@ -147,51 +566,49 @@ public class Robot implements MoveDelegate {
     /**
      * The robot moves with a smarter strategy compared to random.
      * This strategy is expected to beat random strategy in most of the time.
+     * <p>
+     * The robot picks the move which collects the most gems within {@link Robot#SMART_SEARCH_DEPTH} moves, using a
+     * {@link LookaheadSearch} which memoises the states already searched across turns. If every move kills the player,
+     * or there are too many gems to be tracked, the robot falls back to moving randomly.
      *
      * @param processor The processor to make movements.
+     * @param searches  The searches of the caller.
      */
-    private void makeMoveSmartly(MoveProcessor processor) {
+    private void makeMoveSmartly(MoveProcessor processor, SearchCache searches) {
         var player = gameState.getPlayer();
         if (player.getOwner()==null) return;
-        DirectionWithScore directionWithScore = bestDirection(player.getOwner().getPosition(),10);
-        processor.move(directionWithScore.direction);
-    }
-
-    private record DirectionWithScore(Direction direction, int score) {}
-
-    private DirectionWithScore bestDirection(Position currentPosition, int numSteps){
-        if (numSteps==0)
-            return new DirectionWithScore(Direction.UP,0);
 
-        var player = gameState.getPlayer();
-        ArrayList<DirectionWithScore> directionWithScores = new ArrayList<>();
-
-        var directions = new ArrayList<>(Arrays.asList(Direction.values()));
-        Collections.shuffle(directions);
-
-        for (var direction : directions) {
-            var result = gameState.getGameBoardController().tryMove(currentPosition, direction, player.getId());
-            switch (result) {
-                case MoveResult.Valid.Alive aliveResult -> {
-                    int expectedScoreLater = bestDirection(aliveResult.newPosition, numSteps - 1).score;
-                    int resultScore = aliveResult.collectedGems.size() * 10 - 1 + expectedScoreLater;
-                    directionWithScores.add(new DirectionWithScore(direction, resultScore));
-                }
-                case MoveResult.Invalid invalidResult -> directionWithScores.add(new DirectionWithScore(direction, 0));
-                case MoveResult.Valid.Dead m -> directionWithScores.add(new DirectionWithScore(direction, -10));
-                default -> {
-                }
+        final var direction = searchSmartly(gameState.getGameBoard().snapshot(), player.getId(), searches);
+        if (direction == null) {
+            synchronized (gameState.getGameBoard()) {
+                makeMoveRandomly(processor);
             }
+            return;
         }
+        processor.move(direction);
+    }
 
-        int highestScore = Integer.MIN_VALUE;
-        DirectionWithScore bestDirectionWithScore = null;
-        for (DirectionWithScore directionWithScore:directionWithScores) {
-            if (directionWithScore.score>highestScore) {
-                highestScore = directionWithScore.score;
-                bestDirectionWithScore = directionWithScore;
-            }
+    /**
+     * Search for the move of the {@link Strategy#Smart} strategy.
+     *
+     * @param snapshot The state of the game board to search from.
+     * @param playerID The id of the player to search the moves of.
+     * @param searches The searches of the caller.
+     * @return The move which collects the most gems within {@link Robot#SMART_SEARCH_DEPTH} moves, or {@code null} if
+     * the search cannot be built or no move keeps the player alive.
+     */
+    @Nullable
+    private Direction searchSmartly(BoardSnapshot snapshot, int playerID, SearchCache searches) {
+        final var search = searches.get(snapshot, playerID);
+        if (search == null) {
+            return null;
         }
-        return bestDirectionWithScore;
+        final var node = search.getGraph().getNode(Objects.requireNonNull(snapshot.getPlayerPosition(playerID)));
+        if (node == MoveGraph.NONE) {
+            return null;
+        }
+
+        final var remainingGems = search.getGraph().getRemainingGems(snapshot);
+        return search.bestDirection(node, remainingGems, SMART_SEARCH_DEPTH, random);
     }
 }
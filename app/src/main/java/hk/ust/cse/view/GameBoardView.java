@@ -0,0 +1,64 @@
+package hk.ust.cse.view;
+
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.GameState;
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Position;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A UI component displaying the {@link GameBoard} shared by all players.
+ */
+public interface GameBoardView extends GameUIComponent {
+
+    /**
+     * Updates the whole game board display with latest {@link GameState}.
+     *
+     * @param gameStates The latest {@link GameState} instances of all players.
+     */
+    void showGameState(GameState... gameStates);
+
+    /**
+     * Updates the game board display after a move or an undo, only redrawing the cells changed by it.
+     *
+     * @param moveResult The result of the move which has been made or undone.
+     * @param gameStates The latest {@link GameState} instances of all players.
+     */
+    void showMove(@NotNull MoveResult moveResult, GameState... gameStates);
+
+    /**
+     * Updates the game board display after any number of moves, only redrawing the specified cells.
+     *
+     * @param positions  The positions of all cells changed since the last update.
+     * @param gameStates The latest {@link GameState} instances of all players.
+     */
+    void showCells(@NotNull Collection<Position> positions, GameState... gameStates);
+
+    /**
+     * Gets the positions of all cells which may be changed by making or undoing a move.
+     *
+     * @param moveResult The result of the move.
+     * @return The positions of the cells which may need to be redrawn. May contain duplicates.
+     */
+    @NotNull
+    static List<Position> getChangedPositions(@NotNull MoveResult moveResult) {
+        var positions = new ArrayList<Position>();
+        if (moveResult.newPosition != null) {
+            positions.add(moveResult.newPosition);
+        }
+        if (moveResult instanceof MoveResult.Valid valid) {
+            positions.add(valid.origPosition);
+        }
+        if (moveResult instanceof MoveResult.Valid.Alive alive) {
+            positions.addAll(alive.collectedGems);
+            positions.addAll(alive.collectedExtraLives);
+        } else if (moveResult instanceof MoveResult.Valid.Dead dead) {
+            positions.add(dead.minePosition);
+        }
+        return positions;
+    }
+}
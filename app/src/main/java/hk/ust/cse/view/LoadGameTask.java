@@ -0,0 +1,57 @@
+package hk.ust.cse.view;
+
+import hk.ust.cse.model.GameState;
+import hk.ust.cse.util.GameStateLoader;
+import javafx.concurrent.Task;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * A {@link Task} which loads and validates a game file off the JavaFX Application Thread.
+ *
+ * <p>
+ * The progress of the task is the fraction of rows parsed, and its message describes the current phase. The task is
+ * cancelled by {@link Task#cancel()}, which interrupts the loading thread.
+ * </p>
+ */
+public class LoadGameTask extends Task<GameState[]> {
+
+    private final Path inputFile;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param inputFile The game file to load.
+     */
+    public LoadGameTask(@NotNull Path inputFile) {
+        this.inputFile = inputFile;
+    }
+
+    /**
+     * Starts this task on a new daemon thread.
+     */
+    public void start() {
+        var thread = new Thread(this, "load-game");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    protected GameState[] call() throws Exception {
+        updateMessage("Reading " + inputFile.getFileName());
+        return GameStateLoader.loadFrom(inputFile, (phase, workDone, totalWork) -> {
+            switch (phase) {
+                case PARSING -> {
+                    // updateProgress and updateMessage merge updates until the UI has processed the previous ones
+                    updateProgress(workDone, totalWork);
+                    updateMessage(String.format("Parsing row %d of %d", workDone, totalWork));
+                }
+                case VALIDATING -> {
+                    updateProgress(-1, 1);
+                    updateMessage("Validating game board");
+                }
+            }
+        });
+    }
+}
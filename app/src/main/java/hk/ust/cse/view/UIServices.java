@@ -52,21 +52,50 @@ public class UIServices {
      */
     @Nullable
     public static GameState[] loadGame(@NotNull InertiaFxGame game) {
-        var fileChooser = UIServices.createGameLoadFileChooser();
-        var selectedFile = fileChooser.showOpenDialog(game.getPrimaryStage());
+        var selectedFile = chooseGameFile(game);
         GameState[] gameStates = null;
         if (selectedFile != null) {
             try {
-                gameStates = GameStateSerializer.loadFrom(selectedFile.toPath());
+                gameStates = GameStateSerializer.loadFrom(selectedFile);
             } catch (Exception ex) {
                 showLoadGameErrorDialog();
             }
-        } else {
-            showFileNotSelectedDialog();
         }
         return gameStates;
     }
 
+    /**
+     * Prompts the user to choose a game file.
+     * Shows an {@link Alert} when no file is chosen.
+     *
+     * @param game The {@link InertiaFxGame} instance.
+     * @return The chosen file, or {@literal null} if no file is chosen.
+     */
+    @Nullable
+    public static Path chooseGameFile(@NotNull InertiaFxGame game) {
+        var fileChooser = UIServices.createGameLoadFileChooser();
+        var selectedFile = fileChooser.showOpenDialog(game.getPrimaryStage());
+        if (selectedFile == null) {
+            showFileNotSelectedDialog();
+            return null;
+        }
+        return selectedFile.toPath();
+    }
+
+    /**
+     * Creates a {@link LoadGameTask} loading a game file in the background.
+     * Shows an {@link Alert} if the file cannot be loaded.
+     *
+     * @param gameFile The game file to load.
+     * @return The task, which is not started yet.
+     */
+    @NotNull
+    public static LoadGameTask createLoadGameTask(@NotNull Path gameFile) {
+        var task = new LoadGameTask(gameFile);
+        task.setOnFailed(e -> showLoadGameErrorDialog());
+        return task;
+    }
+
     private static final String LOAD_GAME_ERROR_ALERT_TITLE = "Can not load game";
 
     private static final String LOAD_GAME_ERROR_ALERT_CONTENT_TEXT
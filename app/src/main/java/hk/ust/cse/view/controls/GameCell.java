@@ -2,14 +2,9 @@ package hk.ust.cse.view.controls;
 
 import hk.ust.cse.model.Cell;
 import hk.ust.cse.model.EntityCell;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
-
 /**
  * The UI element representing a cell of the game board.
  */
@@ -21,31 +16,32 @@ public class GameCell extends ImageView {
      * @param cell The {@link Cell} to be displayed.
      */
     public GameCell(Cell cell) {
-        Image image = loadImageForCell(cell);
-        this.setImage(image);
-        this.setFitHeight(40);
-        this.setFitWidth(40);
+        setCell(cell);
+        this.setFitHeight(SpriteAtlas.TILE_SIZE);
+        this.setFitWidth(SpriteAtlas.TILE_SIZE);
     }
 
     /**
-     * A map for caching the loaded image for the resource names.
-     */
-    private static final Map<String, Image> IMAGE_CACHE = new HashMap<>();
-
-    /**
-     * Loads the image for the specified {@link Cell} with caching mechanism.
-     * The same image should be returned when this method is called with two cells with the same type.
+     * Updates this control to display another {@link Cell}, reusing this node instead of creating a new one.
+     *
+     * <p>
+     * The image is served from the shared {@link SpriteAtlas}, so cells of the same type share the same decoded image,
+     * which is already decoded at display size if {@link SpriteAtlas#preloadAsync()} has completed.
+     * </p>
      *
-     * @param cell The {@link Cell}
-     * @return The corresponding {@link Image} for the {@link Cell}.
+     * @param cell The {@link Cell} to be displayed.
      */
-    @NotNull
-    private Image loadImageForCell(Cell cell) {
-        var resourceName = getResourceNameByCell(cell);
-        return IMAGE_CACHE.computeIfAbsent(resourceName, rn -> {
-            var resourceUrl = Objects.requireNonNull(getClass().getResource(rn));
-            return new Image(resourceUrl.toExternalForm());
-        });
+    public void setCell(Cell cell) {
+        var atlas = SpriteAtlas.getDefault();
+        var spriteId = atlas.getSpriteId(cell);
+        var viewport = atlas.getViewport(spriteId);
+        var image = atlas.getImage();
+        if (this.getImage() != image) {
+            this.setImage(image);
+        }
+        if (this.getViewport() != viewport) {
+            this.setViewport(viewport);
+        }
     }
 
     /**
@@ -55,7 +51,7 @@ public class GameCell extends ImageView {
      * @return The name of the image resource.
      */
     @NotNull
-    private static String getResourceNameByCell(Cell cell) {
+    static String getResourceNameByCell(Cell cell) {
         if (cell instanceof EntityCell entityCell) {
             if (entityCell.getEntity() != null)
                 return entityCell.getEntity().toImage();
@@ -0,0 +1,228 @@
+package hk.ust.cse.view.controls;
+
+import hk.ust.cse.model.BoardElement;
+import hk.ust.cse.model.Cell;
+import hk.ust.cse.model.EntityCell;
+import hk.ust.cse.model.ExtraLife;
+import hk.ust.cse.model.Gem;
+import hk.ust.cse.model.Mine;
+import hk.ust.cse.model.Player;
+import hk.ust.cse.model.Position;
+import hk.ust.cse.model.StopCell;
+import hk.ust.cse.model.Wall;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A single image containing the sprites of all cells, laid out as a row of square tiles.
+ *
+ * <p>
+ * Sprites are selected with {@link BoardElement#toImage()}, decoded at {@link SpriteAtlas#TILE_SIZE}, and added to the
+ * atlas the first time a cell using them is seen, or ahead of time by {@link SpriteAtlas#preloadAsync()}. Drawing every
+ * cell from the same image lets a {@link javafx.scene.canvas.Canvas} render a board without switching between
+ * textures, and lets every {@link GameCell} share the same decoded image.
+ * </p>
+ * <p>
+ * Instances are thread-safe. Looking up a sprite which is already in the atlas does not take a lock.
+ * </p>
+ */
+public final class SpriteAtlas {
+
+    /**
+     * The width and height of each sprite in the atlas, in pixels, which is the size a {@link GameCell} is displayed
+     * at.
+     */
+    public static final int TILE_SIZE = 40;
+
+    private static final SpriteAtlas DEFAULT = new SpriteAtlas();
+
+    /**
+     * The id of each sprite, by the name of its image resource.
+     */
+    private final Map<String, Integer> spriteIds = new ConcurrentHashMap<>();
+
+    /**
+     * The sprites in the atlas, in the order of their ids. Guarded by {@code this}.
+     */
+    private final List<Image> sprites = new ArrayList<>();
+
+    /**
+     * The region of each sprite in the atlas image, in the order of their ids.
+     */
+    @NotNull
+    private volatile Rectangle2D[] viewports = new Rectangle2D[0];
+
+    @NotNull
+    private volatile Image image = new WritableImage(TILE_SIZE, TILE_SIZE);
+
+    /**
+     * @return The atlas shared by all {@link GameCell}s and board panes.
+     */
+    @NotNull
+    public static SpriteAtlas getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return The names of the image resources of all kinds of {@link BoardElement}s.
+     */
+    @NotNull
+    public static List<String> getAllResourceNames() {
+        var origin = new Position(0, 0);
+        var resourceNames = new ArrayList<String>();
+        resourceNames.add(new EntityCell(origin).toImage());
+        resourceNames.add(new StopCell(origin).toImage());
+        resourceNames.add(new Wall(origin).toImage());
+        resourceNames.add(Gem.SHARED.toImage());
+        resourceNames.add(Mine.SHARED.toImage());
+        resourceNames.add(ExtraLife.SHARED.toImage());
+        resourceNames.addAll(Player.getImages());
+        return resourceNames;
+    }
+
+    /**
+     * Decodes the sprites of all kinds of {@link BoardElement}s on a background thread and adds them to the atlas.
+     *
+     * @return A future completed when all sprites have been added.
+     */
+    @NotNull
+    public CompletableFuture<Void> preloadAsync() {
+        return CompletableFuture.runAsync(() -> preload(getAllResourceNames()));
+    }
+
+    /**
+     * Decodes sprites and adds them to the atlas, rebuilding the atlas image once for all of them.
+     *
+     * @param resourceNames The names of the image resources of the sprites.
+     */
+    public void preload(@NotNull List<String> resourceNames) {
+        // Decoding is the slow part, so it is done without holding the lock
+        var decoded = new LinkedHashMap<String, Image>();
+        for (var resourceName : resourceNames) {
+            if (!spriteIds.containsKey(resourceName)) {
+                decoded.put(resourceName, loadSprite(resourceName));
+            }
+        }
+
+        synchronized (this) {
+            var added = new LinkedHashMap<String, Integer>();
+            decoded.forEach((resourceName, sprite) -> {
+                if (!spriteIds.containsKey(resourceName)) {
+                    sprites.add(sprite);
+                    added.put(resourceName, sprites.size() - 1);
+                }
+            });
+            if (!added.isEmpty()) {
+                rebuildImage();
+                // Ids are only published once the image contains their sprites
+                spriteIds.putAll(added);
+            }
+        }
+    }
+
+    /**
+     * Gets the id of the sprite of a {@link Cell}, adding the sprite to the atlas if it is not in it yet.
+     *
+     * @param cell The {@link Cell} to be drawn.
+     * @return The id of the sprite.
+     */
+    public int getSpriteId(@NotNull Cell cell) {
+        var resourceName = GameCell.getResourceNameByCell(cell);
+        var spriteId = spriteIds.get(resourceName);
+        if (spriteId != null) {
+            return spriteId;
+        }
+        return addSprite(resourceName);
+    }
+
+    /**
+     * @return The number of sprites in the atlas.
+     */
+    public int getNumSprites() {
+        return viewports.length;
+    }
+
+    /**
+     * Gets the image containing all sprites. The image is replaced whenever a sprite is added, but every sprite stays
+     * at the same region in later images.
+     *
+     * @return The image of the atlas.
+     */
+    @NotNull
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * @param spriteId The id of a sprite.
+     * @return The x-coordinate of the left edge of the sprite in {@link SpriteAtlas#getImage()}.
+     */
+    public double getSpriteX(int spriteId) {
+        return (double) spriteId * TILE_SIZE;
+    }
+
+    /**
+     * @param spriteId The id of a sprite.
+     * @return The region of the sprite in {@link SpriteAtlas#getImage()}, e.g. for
+     * {@link javafx.scene.image.ImageView#setViewport(Rectangle2D)}.
+     */
+    @NotNull
+    public Rectangle2D getViewport(int spriteId) {
+        return viewports[spriteId];
+    }
+
+    /**
+     * Loads a sprite and rebuilds the atlas image with it appended.
+     *
+     * @param resourceName The name of the image resource.
+     * @return The id of the new sprite.
+     */
+    private synchronized int addSprite(@NotNull String resourceName) {
+        var spriteId = spriteIds.get(resourceName);
+        if (spriteId != null) {
+            return spriteId;
+        }
+
+        sprites.add(loadSprite(resourceName));
+        rebuildImage();
+        spriteIds.put(resourceName, sprites.size() - 1);
+        return sprites.size() - 1;
+    }
+
+    /**
+     * Decodes a sprite at {@link SpriteAtlas#TILE_SIZE}.
+     *
+     * @param resourceName The name of the image resource.
+     * @return The decoded sprite.
+     */
+    @NotNull
+    private Image loadSprite(@NotNull String resourceName) {
+        var resourceUrl = Objects.requireNonNull(getClass().getResource(resourceName));
+        return new Image(resourceUrl.toExternalForm(), TILE_SIZE, TILE_SIZE, false, true);
+    }
+
+    /**
+     * Rebuilds the atlas image from {@link SpriteAtlas#sprites}. Must be called holding the lock of this instance.
+     */
+    private void rebuildImage() {
+        var newImage = new WritableImage(TILE_SIZE * Math.max(1, sprites.size()), TILE_SIZE);
+        var writer = newImage.getPixelWriter();
+        var newViewports = new Rectangle2D[sprites.size()];
+        for (int i = 0; i < sprites.size(); i++) {
+            writer.setPixels(i * TILE_SIZE, 0, TILE_SIZE, TILE_SIZE, sprites.get(i).getPixelReader(), 0, 0);
+            newViewports[i] = new Rectangle2D(getSpriteX(i), 0, TILE_SIZE, TILE_SIZE);
+        }
+        image = newImage;
+        viewports = newViewports;
+    }
+}
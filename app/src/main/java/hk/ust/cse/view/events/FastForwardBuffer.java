@@ -0,0 +1,68 @@
+package hk.ust.cse.view.events;
+
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Position;
+import hk.ust.cse.view.GameBoardView;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Accumulates the effects of moves made in fast-forward mode until the next frame samples them.
+ *
+ * <p>
+ * Events are not kept: only the set of changed cells, the number of moves and the events of players being kicked out
+ * are recorded. The memory used is therefore bounded by the size of the game board, however many moves are made
+ * between two frames. {@link MoveEventQueue} also uses a buffer to coalesce the events it cannot keep.
+ * </p>
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class FastForwardBuffer {
+
+    /**
+     * The effects of all moves made since the previous frame.
+     *
+     * @param changedCells  The positions of the cells changed by the moves.
+     * @param kickOutEvents The events of moves which kicked out a player, in order.
+     * @param numMoves      The number of moves.
+     */
+    public record Frame(@NotNull List<Position> changedCells, @NotNull List<MoveEvent> kickOutEvents, int numMoves) {}
+
+    private final Set<Position> changedCells = new HashSet<>();
+    private final List<MoveEvent> kickOutEvents = new ArrayList<>();
+    private int numMoves = 0;
+
+    /**
+     * Records the effects of a move.
+     *
+     * @param event The event of the move.
+     */
+    public synchronized void add(@NotNull MoveEvent event) {
+        Objects.requireNonNull(event);
+        changedCells.addAll(GameBoardView.getChangedPositions(event.getMoveResult()));
+        if (event.getMoveResult() instanceof MoveResult.Valid.KickedOut) {
+            kickOutEvents.add(event);
+        }
+        numMoves++;
+    }
+
+    /**
+     * Takes the effects of all moves recorded since the previous call, and clears them.
+     *
+     * @return The effects of the moves.
+     */
+    @NotNull
+    public synchronized Frame drain() {
+        var frame = new Frame(new ArrayList<>(changedCells), new ArrayList<>(kickOutEvents), numMoves);
+        changedCells.clear();
+        kickOutEvents.clear();
+        numMoves = 0;
+        return frame;
+    }
+}
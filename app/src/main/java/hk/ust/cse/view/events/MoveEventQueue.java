@@ -0,0 +1,129 @@
+package hk.ust.cse.view.events;
+
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A bounded hand-off of {@link MoveEvent}s from the threads making moves to the JavaFX Application Thread.
+ *
+ * <p>
+ * Events posted from any thread are buffered, and delivered in order in batches. At most one drain of the buffer is
+ * queued on the JavaFX thread at any time, so however fast moves are made, the JavaFX event queue only grows by one
+ * entry, and all events posted within a pulse are handled together before the next render.
+ * </p>
+ * <p>
+ * Only the first {@code capacity} events posted between two drains are kept and delivered one by one. The effects of
+ * the events posted after them are coalesced into a {@link FastForwardBuffer}, and delivered as a single
+ * {@link FastForwardBuffer.Frame} after the kept events. The memory used is therefore bounded by the capacity and the
+ * size of the game board, however many moves are made while the JavaFX thread falls behind, and no move has to be
+ * skipped to keep it within the bound.
+ * </p>
+ */
+public final class MoveEventQueue {
+
+    private final int capacity;
+
+    @NotNull
+    private final EventHandler<MoveEvent> handler;
+
+    @NotNull
+    private final Consumer<FastForwardBuffer.Frame> frameHandler;
+
+    @NotNull
+    private final Executor dispatcher;
+
+    private final ArrayDeque<MoveEvent> pending = new ArrayDeque<>();
+
+    /**
+     * The effects of the events posted after {@link MoveEventQueue#pending} has reached the capacity.
+     */
+    private final FastForwardBuffer overflow = new FastForwardBuffer();
+
+    /**
+     * Whether a drain of the buffer has been dispatched but not run yet.
+     */
+    private boolean drainScheduled = false;
+
+    /**
+     * Creates an instance which delivers events on the JavaFX thread.
+     *
+     * @param capacity     The maximum number of events delivered one by one in each drain.
+     * @param handler      The handler to deliver events to on the JavaFX thread.
+     * @param frameHandler The handler to deliver the coalesced effects of the events above the capacity to on the
+     *                     JavaFX thread.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    public MoveEventQueue(int capacity, @NotNull EventHandler<MoveEvent> handler,
+                          @NotNull Consumer<FastForwardBuffer.Frame> frameHandler) {
+        this(capacity, handler, frameHandler, Platform::runLater);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param capacity     The maximum number of events delivered one by one in each drain.
+     * @param handler      The handler to deliver events to.
+     * @param frameHandler The handler to deliver the coalesced effects of the events above the capacity to.
+     * @param dispatcher   The executor running the drains of the buffer, e.g. {@link Platform#runLater(Runnable)}.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    public MoveEventQueue(int capacity, @NotNull EventHandler<MoveEvent> handler,
+                          @NotNull Consumer<FastForwardBuffer.Frame> frameHandler, @NotNull Executor dispatcher) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+        this.handler = Objects.requireNonNull(handler);
+        this.frameHandler = Objects.requireNonNull(frameHandler);
+        this.dispatcher = Objects.requireNonNull(dispatcher);
+    }
+
+    /**
+     * Posts an event to be handled by the dispatcher, dispatching a drain of the buffer if none is queued yet.
+     *
+     * @param event The event to post.
+     */
+    public void post(@NotNull MoveEvent event) {
+        Objects.requireNonNull(event);
+        synchronized (this) {
+            if (pending.size() < capacity) {
+                pending.add(event);
+            } else {
+                overflow.add(event);
+            }
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        dispatcher.execute(this::drain);
+    }
+
+    /**
+     * Delivers all pending events to the handler, then their coalesced effects above the capacity to the frame
+     * handler.
+     */
+    private void drain() {
+        final ArrayList<MoveEvent> batch;
+        final FastForwardBuffer.Frame frame;
+        synchronized (this) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            frame = overflow.drain();
+            drainScheduled = false;
+        }
+        for (var event : batch) {
+            handler.handle(event);
+        }
+        if (frame.numMoves() > 0) {
+            frameHandler.accept(frame);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package hk.ust.cse.view.panes;
+
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.GameState;
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Position;
+import hk.ust.cse.view.GameBoardView;
+import hk.ust.cse.view.controls.SpriteAtlas;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.input.ZoomEvent;
+import javafx.scene.layout.Pane;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * A {@link Pane} for displaying the status of {@link GameBoard} by drawing onto a {@link Canvas}.
+ *
+ * <p>
+ * Unlike {@link GameBoardPane}, which creates a node for every cell, this pane only keeps the sprite id of every cell
+ * and draws the cells inside the visible viewport from a {@link SpriteAtlas}, so the cost of a frame depends on the
+ * size of the viewport rather than the size of the board. The viewport is scrolled by scrolling or dragging, and
+ * zoomed by scrolling with the control key held down or by pinching.
+ * </p>
+ */
+public class CanvasGameBoardPane extends Pane implements GameBoardView {
+
+    /**
+     * The width and height of each cell at the default zoom level, in pixels.
+     */
+    public static final double DEFAULT_CELL_SIZE = 40;
+
+    /**
+     * The minimum width and height of each cell, which bounds the number of cells drawn in a frame.
+     */
+    public static final double MIN_CELL_SIZE = 8;
+
+    /**
+     * The maximum width and height of each cell.
+     */
+    public static final double MAX_CELL_SIZE = 160;
+
+    /**
+     * The maximum preferred width and height of this pane, in pixels.
+     */
+    private static final double MAX_PREF_SIZE = 800;
+
+    /**
+     * The factor by which a single scroll step zooms in or out.
+     */
+    private static final double SCROLL_ZOOM_FACTOR = 1.1;
+
+    private final Canvas canvas = new Canvas();
+
+    private final SpriteAtlas atlas;
+
+    /**
+     * The game board currently displayed, or {@code null} if nothing has been displayed yet.
+     */
+    @Nullable
+    private GameBoard gameBoard = null;
+    private int numRows = 0;
+    private int numCols = 0;
+
+    /**
+     * The sprite id of every cell of {@link CanvasGameBoardPane#gameBoard}, in row-major order.
+     */
+    @NotNull
+    private short[] spriteIds = new short[0];
+
+    /**
+     * The width and height of each cell at the current zoom level, in pixels.
+     */
+    private double cellSize = DEFAULT_CELL_SIZE;
+
+    /**
+     * The position of the top-left corner of the viewport relative to the top-left corner of the board, in pixels.
+     */
+    private double offsetX = 0;
+    private double offsetY = 0;
+
+    /**
+     * The position of the mouse when it was last pressed or dragged, for scrolling by dragging.
+     */
+    private double dragX = 0;
+    private double dragY = 0;
+
+    /**
+     * Whether a redraw has been scheduled but not run yet.
+     */
+    private boolean redrawPending = false;
+
+    /**
+     * Creates a new instance drawing from the shared {@link SpriteAtlas#getDefault()}.
+     */
+    public CanvasGameBoardPane() {
+        this(SpriteAtlas.getDefault());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param atlas The atlas to draw the sprites of the cells from.
+     */
+    public CanvasGameBoardPane(@NotNull SpriteAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initializeComponents() {
+        this.canvas.getGraphicsContext2D().setImageSmoothing(false);
+        this.getChildren().add(canvas);
+        this.setMinSize(0, 0);
+
+        this.setOnScroll(this::onScroll);
+        this.setOnZoom(this::onZoom);
+        this.setOnMousePressed(this::onMousePressed);
+        this.setOnMouseDragged(this::onMouseDragged);
+    }
+
+    /**
+     * Updates the game board display with latest {@link GameState}.
+     *
+     * <p>
+     * The sprite id of every cell is recomputed, and the viewport is reset if the game board is different from the
+     * one displayed.
+     * </p>
+     *
+     * @param gameStates The latest {@link GameState} instances of all players.
+     */
+    @Override
+    public void showGameState(GameState... gameStates) {
+        if (gameStates.length < 1) {
+            throw new IllegalArgumentException();
+        }
+        var gameBoard = gameStates[0].getGameBoard();
+        if (gameBoard != this.gameBoard) {
+            this.gameBoard = gameBoard;
+            this.numRows = gameBoard.getNumRows();
+            this.numCols = gameBoard.getNumCols();
+            this.spriteIds = new short[numRows * numCols];
+            this.cellSize = DEFAULT_CELL_SIZE;
+            this.offsetX = 0;
+            this.offsetY = 0;
+            requestLayout();
+        }
+
+        for (int r = 0; r < numRows; r++) {
+            for (int c = 0; c < numCols; c++) {
+                spriteIds[r * numCols + c] = (short) atlas.getSpriteId(gameBoard.getCell(r, c));
+            }
+        }
+        requestRedraw();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void showMove(@NotNull MoveResult moveResult, GameState... gameStates) {
+        showCells(GameBoardView.getChangedPositions(moveResult), gameStates);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void showCells(@NotNull Collection<Position> positions, GameState... gameStates) {
+        if (gameStates.length < 1) {
+            throw new IllegalArgumentException();
+        }
+        var gameBoard = gameStates[0].getGameBoard();
+        if (gameBoard != this.gameBoard) {
+            showGameState(gameStates);
+            return;
+        }
+
+        for (var position : positions) {
+            spriteIds[position.row() * numCols + position.col()] =
+                    (short) atlas.getSpriteId(gameBoard.getCell(position));
+        }
+        requestRedraw();
+    }
+
+    /**
+     * Zooms the viewport, keeping the point under a position of this pane in place.
+     *
+     * @param factor The factor to multiply the size of the cells by.
+     * @param x      The x-coordinate of the fixed point in this pane.
+     * @param y      The y-coordinate of the fixed point in this pane.
+     */
+    public void zoom(double factor, double x, double y) {
+        var newCellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, cellSize * factor));
+        var scale = newCellSize / cellSize;
+        offsetX = (offsetX + x) * scale - x;
+        offsetY = (offsetY + y) * scale - y;
+        cellSize = newCellSize;
+        requestRedraw();
+    }
+
+    /**
+     * Scrolls the viewport.
+     *
+     * @param dx The number of pixels to move the viewport to the right.
+     * @param dy The number of pixels to move the viewport downwards.
+     */
+    public void scroll(double dx, double dy) {
+        offsetX += dx;
+        offsetY += dy;
+        requestRedraw();
+    }
+
+    private void onScroll(ScrollEvent e) {
+        if (e.isControlDown()) {
+            zoom(e.getDeltaY() > 0 ? SCROLL_ZOOM_FACTOR : 1 / SCROLL_ZOOM_FACTOR, e.getX(), e.getY());
+        } else {
+            scroll(-e.getDeltaX(), -e.getDeltaY());
+        }
+        e.consume();
+    }
+
+    private void onZoom(ZoomEvent e) {
+        zoom(e.getZoomFactor(), e.getX(), e.getY());
+        e.consume();
+    }
+
+    private void onMousePressed(MouseEvent e) {
+        dragX = e.getX();
+        dragY = e.getY();
+    }
+
+    private void onMouseDragged(MouseEvent e) {
+        scroll(dragX - e.getX(), dragY - e.getY());
+        dragX = e.getX();
+        dragY = e.getY();
+    }
+
+    /**
+     * Schedules a redraw of the viewport on the JavaFX Application Thread, merging it with any redraw which is already
+     * scheduled.
+     */
+    private void requestRedraw() {
+        if (redrawPending) {
+            return;
+        }
+        redrawPending = true;
+        Platform.runLater(this::redraw);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            requestRedraw();
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return Math.min(numCols * DEFAULT_CELL_SIZE, MAX_PREF_SIZE);
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return Math.min(numRows * DEFAULT_CELL_SIZE, MAX_PREF_SIZE);
+    }
+
+    /**
+     * Keeps the viewport within the board, or centers the board along an axis on which it fits in the viewport.
+     */
+    private void clampViewport() {
+        var boardWidth = numCols * cellSize;
+        var boardHeight = numRows * cellSize;
+        var width = canvas.getWidth();
+        var height = canvas.getHeight();
+
+        offsetX = boardWidth <= width ? (boardWidth - width) / 2 : Math.max(0, Math.min(offsetX, boardWidth - width));
+        offsetY = boardHeight <= height
+                ? (boardHeight - height) / 2
+                : Math.max(0, Math.min(offsetY, boardHeight - height));
+    }
+
+    /**
+     * Draws the cells inside the viewport.
+     */
+    private void redraw() {
+        redrawPending = false;
+        clampViewport();
+
+        var gc = canvas.getGraphicsContext2D();
+        var width = canvas.getWidth();
+        var height = canvas.getHeight();
+        gc.clearRect(0, 0, width, height);
+        if (gameBoard == null) {
+            return;
+        }
+
+        var firstRow = Math.max(0, (int) Math.floor(offsetY / cellSize));
+        var lastRow = Math.min(numRows, (int) Math.ceil((offsetY + height) / cellSize));
+        var firstCol = Math.max(0, (int) Math.floor(offsetX / cellSize));
+        var lastCol = Math.min(numCols, (int) Math.ceil((offsetX + width) / cellSize));
+
+        var image = atlas.getImage();
+        for (int r = firstRow; r < lastRow; r++) {
+            var y = r * cellSize - offsetY;
+            for (int c = firstCol; c < lastCol; c++) {
+                gc.drawImage(image,
+                        atlas.getSpriteX(spriteIds[r * numCols + c]), 0, SpriteAtlas.TILE_SIZE, SpriteAtlas.TILE_SIZE,
+                        c * cellSize - offsetX, y, cellSize, cellSize);
+            }
+        }
+    }
+}
@@ -1,16 +1,39 @@
 package hk.ust.cse.view.panes;
 
 import hk.ust.cse.model.GameState;
-import hk.ust.cse.view.GameUIComponent;
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Position;
+import hk.ust.cse.view.GameBoardView;
 import hk.ust.cse.view.controls.GameCell;
 import hk.ust.cse.model.GameBoard;
 import javafx.geometry.Pos;
 import javafx.scene.layout.GridPane;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
 
 /**
  * A {@link javafx.scene.layout.Pane} for displaying the status of {@link GameBoard}.
+ *
+ * <p>
+ * The {@link GameCell} of every cell is created once per game board and kept afterwards, so that a move only updates
+ * the cells it has changed.
+ * </p>
  */
-public class GameBoardPane extends GridPane implements GameUIComponent {
+public class GameBoardPane extends GridPane implements GameBoardView {
+
+    /**
+     * The game board currently displayed, or {@code null} if nothing has been displayed yet.
+     */
+    @Nullable
+    private GameBoard gameBoard = null;
+
+    /**
+     * The controls of the cells of {@link GameBoardPane#gameBoard}, indexed by row and column.
+     */
+    @Nullable
+    private GameCell[][] cellControls = null;
 
     /**
      * {@inheritDoc}
@@ -24,22 +47,75 @@ public class GameBoardPane extends GridPane implements GameUIComponent {
     /**
      * Updates the game board display with latest {@link GameState}.
      *
+     * <p>
+     * The cell controls are only recreated if the game board is different from the one displayed; otherwise every
+     * existing control is updated in place.
+     * </p>
+     *
      * @param gameStates The latest {@link GameState} instances of all players.
      */
+    @Override
     public void showGameState(GameState... gameStates) {
         if (gameStates.length < 1) {
             throw new IllegalArgumentException();
         }
-        this.getChildren().clear();
         // since all gameStates of all players refer to the same gameBoard,
         // we can simply use the first one.
         var gameBoard = gameStates[0].getGameBoard();
+        if (gameBoard != this.gameBoard || cellControls == null) {
+            createCellControls(gameBoard);
+            return;
+        }
+
+        for (int x = 0; x < gameBoard.getNumRows(); x++) {
+            for (int y = 0; y < gameBoard.getNumCols(); y++) {
+                cellControls[x][y].setCell(gameBoard.getCell(x, y));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void showMove(@NotNull MoveResult moveResult, GameState... gameStates) {
+        showCells(GameBoardView.getChangedPositions(moveResult), gameStates);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void showCells(@NotNull Collection<Position> positions, GameState... gameStates) {
+        if (gameStates.length < 1) {
+            throw new IllegalArgumentException();
+        }
+        var gameBoard = gameStates[0].getGameBoard();
+        if (gameBoard != this.gameBoard || cellControls == null) {
+            createCellControls(gameBoard);
+            return;
+        }
+
+        for (var position : positions) {
+            cellControls[position.row()][position.col()].setCell(gameBoard.getCell(position));
+        }
+    }
+
+    /**
+     * Replaces all children of this pane with new controls for every cell of a game board.
+     *
+     * @param gameBoard The game board to display.
+     */
+    private void createCellControls(@NotNull GameBoard gameBoard) {
+        this.getChildren().clear();
+        this.gameBoard = gameBoard;
+        this.cellControls = new GameCell[gameBoard.getNumRows()][gameBoard.getNumCols()];
         for (int x = 0; x < gameBoard.getNumRows(); x++) {
             for (int y = 0; y < gameBoard.getNumCols(); y++) {
                 var cellControl = new GameCell(gameBoard.getCell(x, y));
+                cellControls[x][y] = cellControl;
                 this.add(cellControl, y, x);
             }
         }
     }
-
 }
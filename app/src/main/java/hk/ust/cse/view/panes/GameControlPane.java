@@ -5,8 +5,11 @@ import hk.ust.cse.model.Direction;
 import hk.ust.cse.model.GameState;
 import hk.ust.cse.model.Player;
 import hk.ust.cse.util.MoveDelegate;
+import hk.ust.cse.util.Robot;
 import hk.ust.cse.view.GameUIComponent;
+import hk.ust.cse.view.events.FastForwardBuffer;
 import hk.ust.cse.view.events.MoveEvent;
+import hk.ust.cse.view.events.MoveEventQueue;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.event.EventHandler;
@@ -16,8 +19,16 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.GridPane;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 /**
  * A {@link javafx.scene.layout.Pane} representing the control area of a player.
@@ -42,9 +53,44 @@ public class GameControlPane extends GridPane implements GameUIComponent {
 
     private final Button undoButton = new Button("UNDO");
 
+    /**
+     * The maximum number of moves of this player waiting to be displayed one by one, above which the effects of moves
+     * are coalesced, see {@link MoveEventQueue}.
+     */
+    private static final int MAX_PENDING_MOVES = 16;
+
+    /**
+     * The time to wait before retrying when the delegate cannot move in fast-forward mode, e.g. because it is blocked
+     * by other players.
+     */
+    private static final long FAST_FORWARD_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The executor running the delegates in fast-forward mode, each of which occupies a thread until it is revoked or
+     * the game is over.
+     */
+    private static final ExecutorService FAST_FORWARD_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "fast-forward");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private GameController gameController;
     private MoveDelegate moveDelegate;
 
+    /**
+     * The buffer recording the moves made in fast-forward mode, which is sampled once per frame by the owner of this
+     * instance.
+     */
+    @Nullable
+    private FastForwardBuffer fastForwardBuffer = null;
+
+    /**
+     * Whether the current fast-forward run should continue, or {@code null} if the delegate is not fast-forwarding.
+     */
+    @Nullable
+    private AtomicBoolean fastForwardRunning = null;
+
     private final ObjectProperty<EventHandler<MoveEvent>> moveEvent = new ObjectPropertyBase<>() {
         @Override
         public Object getBean() {
@@ -57,6 +103,25 @@ public class GameControlPane extends GridPane implements GameUIComponent {
         }
     };
 
+    /**
+     * The handler of the coalesced effects of moves which could not be displayed one by one, or {@code null} if there
+     * is none.
+     */
+    @Nullable
+    private Consumer<FastForwardBuffer.Frame> coalescedMovesHandler = null;
+
+    /**
+     * The hand-off of move events to {@link GameControlPane#moveEvent} and
+     * {@link GameControlPane#coalescedMovesHandler}, which may be posted from delegate threads.
+     */
+    private final MoveEventQueue moveEvents = new MoveEventQueue(MAX_PENDING_MOVES, e -> this.moveEvent.get().handle(e),
+            frame -> {
+                var handler = this.coalescedMovesHandler;
+                if (handler != null) {
+                    handler.accept(frame);
+                }
+            });
+
     /**
      * Create an instance.
      *
@@ -72,14 +137,16 @@ public class GameControlPane extends GridPane implements GameUIComponent {
 
     /**
      * Performs a move action towards the specified {@link Direction}.
-     * Thread synchronization: move
+     * Thread synchronization: move, which may be called from the JavaFX thread or a delegate thread. Moves are
+     * serialized by {@link GameController#processMove(Direction, int)}, and the resulting {@link MoveEvent} is handled
+     * on the JavaFX thread through {@link GameControlPane#moveEvents}.
      *
      * @param direction The {@link Direction} to move.
      */
-    private synchronized void move(@NotNull Direction direction) {
+    private void move(@NotNull Direction direction) {
         var result = this.gameController.processMove(direction, player.getId());
         if (result != null) {
-            this.moveEvent.get().handle(new MoveEvent(result, player.getId()));
+            this.moveEvents.post(new MoveEvent(result, player.getId()));
         }
     }
 
@@ -92,6 +159,16 @@ public class GameControlPane extends GridPane implements GameUIComponent {
         this.moveEvent.set(handler);
     }
 
+    /**
+     * Sets the handler of the coalesced effects of moves made while too many moves of this player are waiting to be
+     * displayed, which is called on the JavaFX thread after the pending move events are handled.
+     *
+     * @param handler The handler.
+     */
+    public void setOnCoalescedMoves(Consumer<FastForwardBuffer.Frame> handler) {
+        this.coalescedMovesHandler = handler;
+    }
+
     /**
      * Delegate the control of movement from the GUI to an automated delegate.
      * Call the {@link MoveDelegate#startDelegation(MoveDelegate.MoveProcessor)} method of the given delegate.
@@ -99,15 +176,110 @@ public class GameControlPane extends GridPane implements GameUIComponent {
      * After delegation, the {@link GameControlPane#upButton}, {@link GameControlPane#downButton},
      * {@link GameControlPane#leftButton}, and {@link GameControlPane#rightButton}
      * should be disabled to disallow the control from GUI, i.e., call {@link GameControlPane#disable()}.
+     * <p>
+     * The delegate may make moves from any thread, and every move is made immediately, so the game runs as fast as the
+     * delegate chooses moves. Only the display of the moves is throttled: While
+     * {@link GameControlPane#MAX_PENDING_MOVES} moves of this player are waiting to be displayed one by one, the
+     * effects of further moves are coalesced and displayed together by the handler set by
+     * {@link GameControlPane#setOnCoalescedMoves(Consumer)}, so a fast delegate cannot flood the JavaFX thread.
      *
      * @param delegate The automated delegate to control the movement.
      */
     public void delegateControl(MoveDelegate delegate) {
+        delegateControl(delegate, false);
+    }
+
+    /**
+     * Delegate the control of movement from the GUI to an automated delegate, optionally in fast-forward mode.
+     * <p>
+     * In fast-forward mode, the delegate makes moves one after another on a background thread by calling
+     * {@link MoveDelegate#makeMove(MoveDelegate.MoveProcessor)}, as fast as it can choose them. The search of each move
+     * is bounded by the delegate, e.g. a {@link Robot} using the {@link Robot.Strategy#Anytime} strategy searches for
+     * {@link Robot#MAKE_MOVE_SEARCH_MILLIS} instead of its time interval. No {@link MoveEvent} is
+     * handled for these moves; their effects are recorded in the {@link FastForwardBuffer} set by
+     * {@link GameControlPane#setFastForwardBuffer(FastForwardBuffer)}, which the owner of this instance samples once
+     * per frame. The run stops when the control is revoked, the player is kicked out, or no gems are left.
+     *
+     * @param delegate    The automated delegate to control the movement.
+     * @param fastForward Whether to run the delegate in fast-forward mode.
+     * @throws IllegalStateException if {@code fastForward} is {@code true} but no {@link FastForwardBuffer} is set.
+     */
+    public void delegateControl(MoveDelegate delegate, boolean fastForward) {
+        if (fastForward && fastForwardBuffer == null) {
+            throw new IllegalStateException();
+        }
         moveDelegate = delegate;
-        delegate.startDelegation(direction -> {
-            move(direction);
-            disable();
-        });
+        disable();
+        if (fastForward) {
+            var running = new AtomicBoolean(true);
+            var buffer = fastForwardBuffer;
+            fastForwardRunning = running;
+            FAST_FORWARD_EXECUTOR.execute(() -> fastForward(delegate, buffer, running));
+            return;
+        }
+        delegate.startDelegation(this::move);
+    }
+
+    /**
+     * Makes the moves of the delegate one after another until the run is stopped.
+     * Thread synchronization: fast forward. The delegate chooses each move without holding the lock of the game board,
+     * since it may search for a long time; The lock is only held to check whether the run should continue and to make
+     * the move, so that moves of other players are interleaved, the JavaFX thread is never blocked by a search, and
+     * the run can be stopped between any two moves.
+     *
+     * @param delegate The automated delegate to control the movement.
+     * @param buffer   The buffer to record the moves into.
+     * @param running  Whether the run should continue.
+     */
+    private void fastForward(MoveDelegate delegate, FastForwardBuffer buffer, AtomicBoolean running) {
+        var gameBoard = gameController.getGameBoard();
+        var chosen = new AtomicReference<Direction>();
+        while (true) {
+            synchronized (gameBoard) {
+                if (isFastForwardOver(running)) {
+                    return;
+                }
+            }
+            chosen.set(null);
+            delegate.makeMove(chosen::set);
+
+            var moved = false;
+            synchronized (gameBoard) {
+                if (isFastForwardOver(running)) {
+                    return;
+                }
+                var direction = chosen.get();
+                if (direction != null) {
+                    var result = this.gameController.processMove(direction, player.getId());
+                    if (result != null) {
+                        moved = true;
+                        buffer.add(new MoveEvent(result, player.getId()));
+                    }
+                }
+            }
+            if (!moved) {
+                LockSupport.parkNanos(FAST_FORWARD_RETRY_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a fast-forward run should stop. Must be called holding the lock of the game board.
+     *
+     * @param running Whether the run should continue.
+     * @return Whether the run has been stopped, the player has been kicked out, or no gems are left.
+     */
+    private boolean isFastForwardOver(AtomicBoolean running) {
+        return !running.get() || gameController.getGameBoard().getNumGems() == 0 || player.getOwner() == null;
+    }
+
+    /**
+     * Sets the buffer recording the moves made in fast-forward mode.
+     *
+     * @param buffer The buffer.
+     */
+    public void setFastForwardBuffer(FastForwardBuffer buffer) {
+        this.fastForwardBuffer = buffer;
     }
 
     /**
@@ -119,6 +291,14 @@ public class GameControlPane extends GridPane implements GameUIComponent {
     public void revokeControl() {
         if (moveDelegate!=null)
             moveDelegate.stopDelegation();
+        var running = fastForwardRunning;
+        if (running != null) {
+            // Moves in fast-forward mode are made holding this lock, so none is made after this returns
+            synchronized (gameController.getGameBoard()) {
+                running.set(false);
+            }
+            fastForwardRunning = null;
+        }
         enable();
     }
 
@@ -216,7 +396,7 @@ public class GameControlPane extends GridPane implements GameUIComponent {
     public void performUndo() {
         var mostRecentMove = gameController.getGameState().getMoveStack().peek();
         this.gameController.processUndo();
-        this.moveEvent.get().handle(new MoveEvent(mostRecentMove, player.getId()));
+        this.moveEvents.post(new MoveEvent(mostRecentMove, player.getId()));
     }
 
     /**
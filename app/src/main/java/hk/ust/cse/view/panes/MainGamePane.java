@@ -5,12 +5,17 @@ import hk.ust.cse.controller.GameController;
 import hk.ust.cse.model.GameBoard;
 import hk.ust.cse.model.GameState;
 import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.view.GameBoardView;
 import hk.ust.cse.view.GameUIComponent;
 import hk.ust.cse.view.UIServices;
+import hk.ust.cse.view.events.FastForwardBuffer;
 import hk.ust.cse.view.events.MoveEvent;
 import hk.ust.cse.model.Player;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 
@@ -25,7 +30,12 @@ public class MainGamePane extends VBox implements GameUIComponent {
 
     private final Label gameTitle = new Label("Inertia Game");
 
-    private final GameBoardPane gameBoardPane = new GameBoardPane();
+    /**
+     * The number of cells above which the game board is drawn onto a canvas instead of with a node per cell.
+     */
+    private static final int CANVAS_MIN_NUM_CELLS = 2500;
+
+    private final GameBoardView gameBoardPane;
 
     /**
      * The list of {@link PlayerPane} instances, each of which corresponds to a player.
@@ -37,6 +47,21 @@ public class MainGamePane extends VBox implements GameUIComponent {
 
     private final InertiaFxGame game;
 
+    /**
+     * The buffer recording the moves of all players in fast-forward mode.
+     */
+    private final FastForwardBuffer fastForwardBuffer = new FastForwardBuffer();
+
+    /**
+     * The timer sampling {@link MainGamePane#fastForwardBuffer} once per frame.
+     */
+    private final AnimationTimer fastForwardTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            showFrame(fastForwardBuffer.drain());
+        }
+    };
+
     /**
      * Creates a new instance of {@link MainGamePane}.
      * This constructor is only meant to maintain backward compatibility with PA2.
@@ -57,6 +82,13 @@ public class MainGamePane extends VBox implements GameUIComponent {
     public MainGamePane(GameState[] gameStates, InertiaFxGame game) {
         this.gameController = new GameController(gameStates);
         this.game = game;
+
+        var gameBoard = getGameBoard();
+        if (gameBoard.getNumRows() * gameBoard.getNumCols() > CANVAS_MIN_NUM_CELLS) {
+            this.gameBoardPane = new CanvasGameBoardPane();
+        } else {
+            this.gameBoardPane = new GameBoardPane();
+        }
     }
 
     /**
@@ -70,13 +102,17 @@ public class MainGamePane extends VBox implements GameUIComponent {
         this.gameBoardPane.initializeComponents();
         this.gameBoardPane.showGameState(gameController.getGameStates());
 
+        // both implementations of the game board view are panes
+        var gameBoardNode = (Pane) this.gameBoardPane;
         var operationArea = new HBox();
-        operationArea.getChildren().add(gameBoardPane);
+        operationArea.getChildren().add(gameBoardNode);
         for (var s :
                 gameController.getGameStates()) {
             var playerPane = new PlayerPane(gameController, s, gameController.getGameStates().length == 1);
             playerPane.initializeComponents();
             playerPane.setOnMove(this::gameMoveHandler);
+            playerPane.setOnCoalescedMoves(this::showFrame);
+            playerPane.setFastForwardBuffer(fastForwardBuffer);
             playerPanes.add(playerPane);
             operationArea.getChildren().add(playerPane);
         }
@@ -85,7 +121,9 @@ public class MainGamePane extends VBox implements GameUIComponent {
                 operationArea
         );
         VBox.setVgrow(operationArea, Priority.ALWAYS);
-        HBox.setHgrow(gameBoardPane, Priority.ALWAYS);
+        HBox.setHgrow(gameBoardNode, Priority.ALWAYS);
+
+        this.fastForwardTimer.start();
     }
 
     /**
@@ -103,7 +141,8 @@ public class MainGamePane extends VBox implements GameUIComponent {
 
     /**
      * {@link javafx.event.Event} handler for a game move operation triggered by {@link GameControlPane}.
-     * Thread synchronization: game move handler
+     * Thread synchronization: game move handler, called on the JavaFX thread with the pending moves of a player in
+     * order, once per pulse at most.
      *
      * @param e The corresponding {@link MoveEvent}.
      */
@@ -112,36 +151,100 @@ public class MainGamePane extends VBox implements GameUIComponent {
             return;
         }
 
-        // update the gameBoardPane with the latest game states.
-        this.gameBoardPane.showGameState(gameController.getGameStates());
+        // update the cells of the gameBoardPane changed by this move, holding the lock of the game board so that
+        // robots moving on other threads do not change it meanwhile.
+        Player[] winners;
+        synchronized (getGameBoard()) {
+            this.gameBoardPane.showMove(e.getMoveResult(), gameController.getGameStates());
+            winners = gameController.getWinners();
+        }
 
         // show lose dialog if the move event indicates a player loses and get kicked out of the game board.
         if (e.getMoveResult() instanceof MoveResult.Valid.KickedOut) {
-            getPlayerPane(e.getPlayerID()).kickOut();
-            UIServices.showLoseDialog(gameController.getGameBoard().getPlayer(e.getPlayerID()));
+            showKickOut(e);
         }
 
-        // try to get winners from the game controller
-        var winners = gameController.getWinners();
-
         // winners == null means the game is still on going.
         if (winners != null) {
-            gameEnded = true;
-            // stop all enabled robots if exist
-            for (var playerPane :
-                    playerPanes) {
-                playerPane.stopRobot();
-            }
-
-            // show win dialog for every winner.
-            for (var winner :
-                    winners) {
-                UIServices.showWinDialog(winner);
-            }
-
-            // return to main menu
-            if (game != null) game.showMainMenu();
+            endGame(winners);
+        }
+    }
+
+    /**
+     * Shows the coalesced effects of a number of moves, i.e. the moves made in fast-forward mode since the previous
+     * frame, or the moves of a player which could not be displayed one by one.
+     * Thread synchronization: called on the JavaFX thread, by {@link MainGamePane#fastForwardTimer} or a
+     * {@link GameControlPane}.
+     *
+     * @param frame The effects of the moves.
+     */
+    private void showFrame(FastForwardBuffer.Frame frame) {
+        if (gameEnded) {
+            return;
         }
+        if (frame.numMoves() == 0) {
+            return;
+        }
+
+        Player[] winners;
+        synchronized (getGameBoard()) {
+            this.gameBoardPane.showCells(frame.changedCells(), gameController.getGameStates());
+            winners = gameController.getWinners();
+        }
+        for (var playerPane :
+                playerPanes) {
+            playerPane.updateStatistics();
+        }
+
+        if (!frame.kickOutEvents().isEmpty() || winners != null) {
+            // dialogs cannot be shown while an animation frame is being processed
+            Platform.runLater(() -> {
+                for (var kickOutEvent :
+                        frame.kickOutEvents()) {
+                    showKickOut(kickOutEvent);
+                }
+                if (winners != null) {
+                    endGame(winners);
+                }
+            });
+        }
+    }
+
+    /**
+     * Marks a player as lost and shows the lose dialog.
+     *
+     * @param e The {@link MoveEvent} of the move which kicked out the player.
+     */
+    private void showKickOut(MoveEvent e) {
+        getPlayerPane(e.getPlayerID()).kickOut();
+        UIServices.showLoseDialog(gameController.getGameBoard().getPlayer(e.getPlayerID()));
+    }
+
+    /**
+     * Ends the game, stopping all robots and showing the win dialogs, if it has not ended yet.
+     *
+     * @param winners The winners of the game.
+     */
+    private void endGame(Player[] winners) {
+        if (gameEnded) {
+            return;
+        }
+        gameEnded = true;
+        fastForwardTimer.stop();
+        // stop all enabled robots if exist
+        for (var playerPane :
+                playerPanes) {
+            playerPane.stopRobot();
+        }
+
+        // show win dialog for every winner.
+        for (var winner :
+                winners) {
+            UIServices.showWinDialog(winner);
+        }
+
+        // return to main menu
+        if (game != null) game.showMainMenu();
     }
 
     /**
@@ -2,12 +2,17 @@ package hk.ust.cse.view.panes;
 
 import hk.ust.cse.InertiaFxGame;
 import hk.ust.cse.view.GameUIComponent;
+import hk.ust.cse.view.LoadGameTask;
 import hk.ust.cse.view.UIServices;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.event.ActionEvent;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.VBox;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A {@link javafx.scene.layout.Pane} representing the main menu of the game.
@@ -20,6 +25,18 @@ public class MainMenuPane extends VBox implements GameUIComponent {
 
     private final Button startGameButton = new Button("Load Game");
 
+    private final ProgressBar loadProgressBar = new ProgressBar();
+
+    private final Label loadStatusLabel = new Label();
+
+    private final Button cancelLoadButton = new Button("Cancel");
+
+    /**
+     * The task loading the selected game file, or {@code null} if no game file is being loaded.
+     */
+    @Nullable
+    private LoadGameTask loadTask = null;
+
     /**
      * Creates a new instances of {@link MainMenuPane}.
      *
@@ -38,26 +55,84 @@ public class MainMenuPane extends VBox implements GameUIComponent {
         this.setSpacing(10);
         this.gameTitle.getStyleClass().add("game-title");
         this.startGameButton.getStyleClass().add("main-menu-button");
+        this.cancelLoadButton.getStyleClass().add("main-menu-button");
         this.getChildren().addAll(
                 gameTitle,
-                startGameButton
+                startGameButton,
+                loadProgressBar,
+                loadStatusLabel,
+                cancelLoadButton
         );
         this.startGameButton.setOnAction(this::onStartButtonClick);
+        this.cancelLoadButton.setOnAction(this::onCancelButtonClick);
+        showLoading(false);
     }
 
     /**
      * Event handler for the start game button.
      *
+     * <p>
+     * The selected game file is loaded in the background, while the progress is shown in this pane.
+     * </p>
+     *
      * @param e The {@link ActionEvent} for the button click.
      */
     private void onStartButtonClick(ActionEvent e) {
-        var gameStates = UIServices.loadGame(game);
-        if (gameStates != null) {
+        var gameFile = UIServices.chooseGameFile(game);
+        if (gameFile == null) {
+            return;
+        }
+
+        var task = UIServices.createLoadGameTask(gameFile);
+        loadProgressBar.progressProperty().bind(task.progressProperty());
+        loadStatusLabel.textProperty().bind(task.messageProperty());
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, event -> {
+            loadFinished();
+            var gameStates = task.getValue();
             if (gameStates.length > 2) {
                 throw new IllegalArgumentException("only support at most 2 players");
             }
             game.showGamePane(gameStates);
+        });
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, event -> loadFinished());
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED, event -> loadFinished());
+
+        loadTask = task;
+        showLoading(true);
+        task.start();
+    }
+
+    /**
+     * Event handler for the cancel button, which cancels loading the game file.
+     *
+     * @param e The {@link ActionEvent} for the button click.
+     */
+    private void onCancelButtonClick(ActionEvent e) {
+        if (loadTask != null) {
+            loadTask.cancel();
         }
     }
-}
 
+    /**
+     * Restores this pane after the game file has been loaded or loading has been stopped.
+     */
+    private void loadFinished() {
+        loadTask = null;
+        loadProgressBar.progressProperty().unbind();
+        loadStatusLabel.textProperty().unbind();
+        showLoading(false);
+    }
+
+    /**
+     * Shows or hides the progress of loading a game file.
+     *
+     * @param loading Whether a game file is being loaded.
+     */
+    private void showLoading(boolean loading) {
+        startGameButton.setDisable(loading);
+        for (var node : new Node[]{loadProgressBar, loadStatusLabel, cancelLoadButton}) {
+            node.setVisible(loading);
+            node.setManaged(loading);
+        }
+    }
+}
@@ -5,14 +5,18 @@ import hk.ust.cse.model.GameState;
 import hk.ust.cse.model.Player;
 import hk.ust.cse.util.Robot;
 import hk.ust.cse.view.GameUIComponent;
+import hk.ust.cse.view.events.FastForwardBuffer;
 import hk.ust.cse.view.events.MoveEvent;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.layout.VBox;
 
+import java.util.function.Consumer;
+
 
 /**
  * Represents a pane corresponding to a player in the GUI.
@@ -28,6 +32,11 @@ public class PlayerPane extends VBox implements GameUIComponent {
      * A toggle button that controls whether to delegate the player control to a {@link Robot} instance.
      */
     private final ToggleButton robotButton;
+
+    /**
+     * A check box that controls whether the {@link Robot} instance runs in fast-forward mode when it is enabled.
+     */
+    private final CheckBox fastForwardBox;
     private final GameControlPane controlPane;
     private final GameStatisticsPane statisticsPane;
     private final Label playerStatus;
@@ -47,6 +56,7 @@ public class PlayerPane extends VBox implements GameUIComponent {
         this.playerStatus = new Label("Status: Alive");
         this.controlPane = new GameControlPane(gameController, gameState.getPlayer(), allowUndo);
         this.robotButton = new ToggleButton("Robot Disabled");
+        this.fastForwardBox = new CheckBox("Fast Forward");
         this.statisticsPane = new GameStatisticsPane(gameState);
     }
 
@@ -56,7 +66,7 @@ public class PlayerPane extends VBox implements GameUIComponent {
     @Override
     public void initializeComponents() {
         this.setAlignment(Pos.CENTER);
-        this.getChildren().addAll(playerID, playerStatus, controlPane, robotButton, statisticsPane);
+        this.getChildren().addAll(playerID, playerStatus, controlPane, robotButton, fastForwardBox, statisticsPane);
         controlPane.initializeComponents();
         controlPane.setOnMove(this::gameMoveHandler);
         robotButton.setOnAction(this::robotButtonAction);
@@ -72,10 +82,12 @@ public class PlayerPane extends VBox implements GameUIComponent {
     private void robotButtonAction(Event e) {
         if (robotButton.isSelected()) {
             robotButton.setText("Robot Enabled");
-            controlPane.delegateControl(new Robot(getGameState()));
+            fastForwardBox.setDisable(true);
+            controlPane.delegateControl(new Robot(getGameState()), fastForwardBox.isSelected());
         } else {
             controlPane.revokeControl();
             robotButton.setText("Robot Disabled");
+            fastForwardBox.setDisable(false);
         }
     }
 
@@ -87,6 +99,7 @@ public class PlayerPane extends VBox implements GameUIComponent {
         // disable move buttons
         controlPane.disable();
         this.robotButton.setDisable(true);
+        this.fastForwardBox.setDisable(true);
         playerStatus.setText("Status: Lost");
     }
 
@@ -101,6 +114,31 @@ public class PlayerPane extends VBox implements GameUIComponent {
         moveHandler = handler;
     }
 
+    /**
+     * Sets the handler of the coalesced effects of moves which could not be displayed one by one.
+     *
+     * @param handler The handler.
+     */
+    public void setOnCoalescedMoves(Consumer<FastForwardBuffer.Frame> handler) {
+        controlPane.setOnCoalescedMoves(handler);
+    }
+
+    /**
+     * Sets the buffer recording the moves of the {@link Robot} instance in fast-forward mode.
+     *
+     * @param buffer The buffer.
+     */
+    public void setFastForwardBuffer(FastForwardBuffer buffer) {
+        controlPane.setFastForwardBuffer(buffer);
+    }
+
+    /**
+     * Update the statistics of the player, e.g. after moves made in fast-forward mode.
+     */
+    public void updateStatistics() {
+        statisticsPane.updateStatistics();
+    }
+
     /**
      * Get the player that corresponds to this instance.
      *
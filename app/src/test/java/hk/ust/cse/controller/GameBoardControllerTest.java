@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.lang.management.ManagementFactory;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -617,6 +618,90 @@ public class GameBoardControllerTest {
         assertTrue(gameBoard.getEntityCell(0, 3).getEntity() instanceof Mine);
     }
 
+    // P*.
+    // ...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Move Engine - Default Depends On Storage")
+    void testDefaultMoveEngine() {
+        final var codes = new byte[]{
+                CellCode.PLAYER, CellCode.GEM, CellCode.EMPTY,
+                CellCode.EMPTY, CellCode.EMPTY, CellCode.EMPTY,
+        };
+        gameBoard = new GameBoard(2, 3, codes);
+        controller = new GameBoardController(gameBoard);
+        assertEquals(GameBoardController.MoveEngine.BITBOARD, controller.getMoveEngine());
+        assertTrue(controller.makeMove(Direction.RIGHT) instanceof MoveResult.Valid.Alive);
+        assertEquals(CellCode.PLAYER, gameBoard.getCellCode(0, 2));
+
+        gameBoard = GameBoardUtils.createGameBoard(2, 3, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 1))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        controller = new GameBoardController(gameBoard);
+        assertEquals(GameBoardController.MoveEngine.SLIDE_TABLE, controller.getMoveEngine());
+    }
+
+    // P.L*..W...(...)..M
+    // ..#..*....(...)...
+    // L..W......(...)..#
+    @ParameterizedTest
+    @Tag("sanity")
+    @EnumSource(value = GameBoardController.MoveEngine.class)
+    @DisplayName("Try Move - All Move Engines Agree")
+    void testTryMoveEnginesAgree(final GameBoardController.MoveEngine moveEngine) {
+        final var cols = 130;
+        gameBoard = GameBoardUtils.createGameBoard(3, cols, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2)) || pos.equals(new Position(2, 0))) {
+                return new EntityCell(pos, new ExtraLife());
+            } else if (pos.equals(new Position(0, 3)) || pos.equals(new Position(1, 5))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(0, 6)) || pos.equals(new Position(2, 3))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(1, 2)) || pos.equals(new Position(2, cols - 1))) {
+                return new StopCell(pos);
+            } else if (pos.equals(new Position(0, cols - 1))) {
+                return new EntityCell(pos, new Mine());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var reference = new GameBoardController(gameBoard);
+        controller = new GameBoardController(gameBoard, moveEngine);
+
+        assertEquals(moveEngine, controller.getMoveEngine());
+
+        final var playerId = gameBoard.getPlayer().getId();
+        for (int r = 0; r < gameBoard.getNumRows(); ++r) {
+            for (int c = 0; c < gameBoard.getNumCols(); ++c) {
+                for (final var direction : Direction.values()) {
+                    for (final var id : new int[]{playerId, playerId + 1}) {
+                        final var position = new Position(r, c);
+                        final var expected = reference.tryMove(position, direction, id);
+                        final var actual = controller.tryMove(position, direction, id);
+
+                        assertEquals(expected.getClass(), actual.getClass());
+                        assertEquals(expected.newPosition, actual.newPosition);
+                        if (expected instanceof MoveResult.Valid.Alive alive) {
+                            assertEquals(alive.collectedGems, ((MoveResult.Valid.Alive) actual).collectedGems);
+                            assertEquals(alive.collectedExtraLives,
+                                    ((MoveResult.Valid.Alive) actual).collectedExtraLives);
+                        } else if (expected instanceof MoveResult.Valid.Dead dead) {
+                            assertEquals(dead.minePosition, ((MoveResult.Valid.Dead) actual).minePosition);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     // Undoes the following move:
     // P.# -> ..P
     // ..*    ..*
@@ -701,6 +786,139 @@ public class GameBoardControllerTest {
         assertTrue(gameBoard.getEntityCell(1, 3).getEntity() instanceof Gem);
     }
 
+    // Makes and undoes the following move:
+    // P*L# -> ...P
+    // ...*    ...*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Undo Move - Restores Shared Entities")
+    void testUndoMoveSharedEntities() {
+        final var codes = new byte[]{
+                CellCode.PLAYER, CellCode.GEM, CellCode.EXTRA_LIFE, CellCode.STOP,
+                CellCode.EMPTY, CellCode.EMPTY, CellCode.EMPTY, CellCode.GEM,
+        };
+        gameBoard = new GameBoard(2, 4, codes);
+        controller = new GameBoardController(gameBoard);
+        final var playerId = gameBoard.getPlayer().getId();
+
+        assertSame(Gem.SHARED, gameBoard.getEntityCell(0, 1).getEntity());
+        assertSame(Gem.SHARED, gameBoard.getEntityCell(1, 3).getEntity());
+
+        for (int i = 0; i < 3; ++i) {
+            final var move = controller.makeMove(Direction.RIGHT, playerId);
+            assertTrue(move instanceof MoveResult.Valid.Alive);
+            assertNull(gameBoard.getEntityCell(0, 1).getEntity());
+
+            controller.undoMove(move);
+            assertSame(Gem.SHARED, gameBoard.getEntityCell(0, 1).getEntity());
+            assertSame(ExtraLife.SHARED, gameBoard.getEntityCell(0, 2).getEntity());
+            assertNull(Gem.SHARED.getOwner());
+            assertArrayEquals(codes, gameBoard.getCellCodes());
+        }
+    }
+
+    // P*L.*W
+    // ......
+    // M...L#
+    @ParameterizedTest
+    @Tag("sanity")
+    @EnumSource(value = GameBoardController.MoveEngine.class)
+    @DisplayName("Evaluate Move - Results Written Into Buffer")
+    void testEvaluateMove(final GameBoardController.MoveEngine moveEngine) {
+        gameBoard = GameBoardUtils.createGameBoard(3, 6, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 1)) || pos.equals(new Position(0, 4))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(0, 2)) || pos.equals(new Position(2, 4))) {
+                return new EntityCell(pos, new ExtraLife());
+            } else if (pos.equals(new Position(0, 5))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(2, 5))) {
+                return new StopCell(pos);
+            } else if (pos.equals(new Position(2, 0))) {
+                return new EntityCell(pos, new Mine());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        controller = new GameBoardController(gameBoard, moveEngine);
+        final var playerId = gameBoard.getPlayer().getId();
+        final var buffer = new MoveBuffer();
+
+        controller.evaluateMove(0, Direction.RIGHT, playerId, buffer);
+        assertEquals(MoveBuffer.ALIVE, buffer.getOutcome());
+        assertEquals(0, buffer.getOrigIndex());
+        assertEquals(4, buffer.getNewIndex());
+        assertEquals(2, buffer.getNumGems());
+        assertEquals(1, buffer.getGemIndex(0));
+        assertEquals(4, buffer.getGemIndex(1));
+        assertEquals(1, buffer.getNumExtraLives());
+        assertEquals(2, buffer.getExtraLifeIndex(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getGemIndex(2));
+
+        // The buffer is overwritten by every evaluation
+        controller.evaluateMove(0, Direction.DOWN, playerId, buffer);
+        assertEquals(MoveBuffer.DEAD, buffer.getOutcome());
+        assertEquals(12, buffer.getMineIndex());
+        assertEquals(0, buffer.getNumGems());
+        assertEquals(0, buffer.getNumExtraLives());
+
+        controller.evaluateMove(0, Direction.UP, playerId, buffer);
+        assertEquals(MoveBuffer.INVALID, buffer.getOutcome());
+        assertEquals(0, buffer.getNewIndex());
+
+        // Moves can be evaluated from any cell, and stop on the stop cell
+        controller.evaluateMove(6, Direction.DOWN, playerId, buffer);
+        controller.evaluateMove(13, Direction.RIGHT, playerId, buffer);
+        assertEquals(MoveBuffer.ALIVE, buffer.getOutcome());
+        assertEquals(17, buffer.getNewIndex());
+        assertEquals(16, buffer.getExtraLifeIndex(0));
+    }
+
+    @ParameterizedTest
+    @Tag("sanity")
+    @EnumSource(value = GameBoardController.MoveEngine.class)
+    @DisplayName("Evaluate Move - No Allocation")
+    void testEvaluateMoveNoAllocation(final GameBoardController.MoveEngine moveEngine) {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        final var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        // Gems are placed on the borders, where the player can reach them
+        final var codes = new byte[64 * 64];
+        for (int i = 3; i < 64; i += 3) {
+            codes[i] = CellCode.GEM;
+            codes[i * 64] = CellCode.GEM;
+            codes[63 * 64 + i] = CellCode.EXTRA_LIFE;
+            codes[i * 64 + 63] = CellCode.EXTRA_LIFE;
+        }
+        codes[0] = CellCode.PLAYER;
+        gameBoard = new GameBoard(64, 64, codes);
+        controller = new GameBoardController(gameBoard, moveEngine);
+        final var playerId = gameBoard.getPlayer().getId();
+        final var directions = Direction.values();
+        final var buffer = new MoveBuffer();
+
+        // The buffer grows to fit the longest slide, and the tables of the engine are built on first use
+        final Runnable evaluateAll = () -> {
+            for (int index = 0; index < codes.length; ++index) {
+                for (final var direction : directions) {
+                    controller.evaluateMove(index, direction, playerId, buffer);
+                }
+            }
+        };
+        evaluateAll.run();
+
+        final var threadId = Thread.currentThread().getId();
+        final var before = threadBean.getThreadAllocatedBytes(threadId);
+        evaluateAll.run();
+        final var allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // Allow for the bookkeeping of the JVM, which is far less than one object per evaluated move
+        assertTrue(allocated < codes.length, allocated + " bytes allocated");
+    }
+
     @AfterEach
     void tearDown() {
         controller = null;
@@ -0,0 +1,105 @@
+package hk.ust.cse.controller;
+
+import hk.ust.cse.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the per-move latency of each {@link GameBoardController.MoveEngine} on long corridors.
+ *
+ * <p>
+ * Run with {@code gradle benchmark}. These are excluded from the regular test run.
+ * </p>
+ */
+public class MoveEngineBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 10;
+
+    // The board uses packed storage, so that the largest sizes fit in memory.
+    //
+    // Every cell on the border is a corridor spanning the whole board. Gems and extra lives are sprinkled along the
+    // first and last rows and columns, so that every slide along the border passes multiple entities.
+    //
+    // P..*..L..*..L..*
+    // ................
+    // *..............*
+    // ................
+    // L..*..L..*..L..*
+    @ParameterizedTest
+    @Tag("benchmark")
+    @ValueSource(ints = {64, 256, 1024, 4096})
+    @DisplayName("Benchmark - Corridor Slides")
+    void benchmarkCorridorSlides(final int size) {
+        final var codes = new byte[size * size];
+        for (int r = 0; r < size; ++r) {
+            for (int c = 0; c < size; ++c) {
+                final var onBorder = r == 0 || r == size - 1 || c == 0 || c == size - 1;
+                if (onBorder && (r + c) % 6 == 3) {
+                    codes[r * size + c] = CellCode.GEM;
+                } else if (onBorder && (r + c) % 6 == 0) {
+                    codes[r * size + c] = CellCode.EXTRA_LIFE;
+                }
+            }
+        }
+        codes[0] = CellCode.PLAYER;
+        final var gameBoard = new GameBoard(size, size, codes);
+
+        final var playerId = gameBoard.getPlayer().getId();
+        final var starts = new Position[]{
+                new Position(0, 0), new Position(0, size - 1), new Position(size - 1, 0), new Position(size - 1, size - 1)
+        };
+
+        final var movesPerRound = Math.max(1, 2_000_000 / size);
+        final var controllers = Arrays.stream(GameBoardController.MoveEngine.values())
+                .map(moveEngine -> new GameBoardController(gameBoard, moveEngine))
+                .toArray(GameBoardController[]::new);
+
+        // Warm up all engines before measuring any of them, so that none of them is measured while being compiled
+        for (int round = 0; round < WARMUP_ROUNDS; ++round) {
+            for (final var controller : controllers) {
+                runRound(controller, starts, playerId, movesPerRound);
+            }
+        }
+
+        System.out.printf("Corridor slides on %dx%d:%n", size, size);
+        for (final var controller : controllers) {
+            long totalNanos = 0;
+            for (int round = 0; round < MEASURED_ROUNDS; ++round) {
+                totalNanos += runRound(controller, starts, playerId, movesPerRound);
+            }
+
+            final var nanosPerMove = (double) totalNanos / ((long) MEASURED_ROUNDS * movesPerRound);
+            System.out.printf("  %-12s %10.1f ns/move%n", controller.getMoveEngine(), nanosPerMove);
+        }
+    }
+
+    /**
+     * Performs slides along the border of the game board, cycling through the corners and directions.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    private static long runRound(final GameBoardController controller, final Position[] starts, final int playerId,
+                                 final int numMoves) {
+        final var directions = Direction.values();
+        var numAlive = 0;
+
+        final var startTime = System.nanoTime();
+        for (int i = 0; i < numMoves; ++i) {
+            final var result = controller.tryMove(starts[i % starts.length], directions[(i / 4) % 4], playerId);
+            if (result instanceof MoveResult.Valid.Alive) {
+                ++numAlive;
+            }
+        }
+        final var elapsed = System.nanoTime() - startTime;
+
+        assertTrue(numAlive > 0);
+        return elapsed;
+    }
+}
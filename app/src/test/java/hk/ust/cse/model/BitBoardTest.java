@@ -0,0 +1,120 @@
+package hk.ust.cse.model;
+
+import hk.ust.cse.util.GameBoardUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitBoardTest {
+
+    private GameBoard gameBoard = null;
+
+    // P.*.W.
+    // ......
+    // ..#...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Find Next - Rows and Columns")
+    void testFindNext() {
+        gameBoard = GameBoardUtils.createGameBoard(3, 6, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(0, 4))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(2, 2))) {
+                return new StopCell(pos);
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var bitBoard = gameBoard.getBitBoard();
+
+        assertEquals(5, bitBoard.getStepsToBorder(0, Direction.RIGHT));
+        assertEquals(2, bitBoard.getStepsToBorder(0, Direction.DOWN));
+        assertEquals(0, bitBoard.getStepsToBorder(0, Direction.UP));
+
+        assertEquals(4, bitBoard.findNext(BitBoard.Layer.WALL, 0, Direction.RIGHT, 1, 5));
+        assertEquals(BitBoard.NONE, bitBoard.findNext(BitBoard.Layer.WALL, 0, Direction.RIGHT, 1, 3));
+        assertEquals(2, bitBoard.findNext(BitBoard.Layer.GEM, 0, Direction.RIGHT, 1, 5));
+        assertEquals(BitBoard.NONE, bitBoard.findNext(BitBoard.Layer.GEM, 0, Direction.RIGHT, 3, 5));
+        assertEquals(3, bitBoard.findNext(BitBoard.Layer.GEM, 5, Direction.LEFT, 1, 5));
+        assertEquals(2, bitBoard.findNext(BitBoard.Layer.STOP_CELL, 2, Direction.DOWN, 1, 2));
+        assertEquals(2, bitBoard.findNext(BitBoard.Layer.GEM, 14, Direction.UP, 1, 2));
+        assertEquals(3, bitBoard.findNext(BitBoard.Layer.STOP_CELL, 17, Direction.LEFT, 1, 5));
+    }
+
+    // P.*.W.
+    // ......
+    // ..#...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Find Next - Updated on Entity Changes")
+    void testFindNextUpdated() {
+        gameBoard = GameBoardUtils.createGameBoard(3, 6, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(0, 4))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(2, 2))) {
+                return new StopCell(pos);
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var bitBoard = gameBoard.getBitBoard();
+
+        gameBoard.getEntityCell(0, 2).setEntity(null);
+        assertEquals(BitBoard.NONE, bitBoard.findNext(BitBoard.Layer.GEM, 0, Direction.RIGHT, 1, 5));
+
+        gameBoard.getEntityCell(1, 3).setEntity(new Mine());
+        assertEquals(1, bitBoard.findNext(BitBoard.Layer.MINE, 3, Direction.DOWN, 1, 2));
+        assertEquals(3, bitBoard.findNext(BitBoard.Layer.MINE, 6, Direction.RIGHT, 1, 5));
+
+        gameBoard.getEntityCell(2, 2).setEntity(gameBoard.getPlayer());
+        assertEquals(BitBoard.NONE, bitBoard.findNext(BitBoard.Layer.PLAYER, 1, Direction.LEFT, 1, 1));
+        assertEquals(2, bitBoard.findNext(BitBoard.Layer.PLAYER, 2, Direction.DOWN, 1, 2));
+        assertEquals(2, bitBoard.findNext(BitBoard.Layer.STOP_CELL, 2, Direction.DOWN, 1, 2));
+    }
+
+    // P.....(...)....*
+    // ................
+    @Test
+    @Tag("sanity")
+    @DisplayName("Find Next - Across Word Boundaries")
+    void testFindNextAcrossWords() {
+        final var cols = 200;
+        gameBoard = GameBoardUtils.createGameBoard(2, cols, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, cols - 1))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(0, 64))) {
+                return new EntityCell(pos, new ExtraLife());
+            } else if (pos.equals(new Position(0, 63))) {
+                return new EntityCell(pos, new ExtraLife());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var bitBoard = gameBoard.getBitBoard();
+
+        assertEquals(cols - 1, bitBoard.findNext(BitBoard.Layer.GEM, 0, Direction.RIGHT, 1, cols - 1));
+        assertEquals(cols - 1, bitBoard.findNext(BitBoard.Layer.PLAYER, cols - 1, Direction.LEFT, 1, cols - 1));
+        assertEquals(63, bitBoard.findNext(BitBoard.Layer.EXTRA_LIFE, 0, Direction.RIGHT, 1, cols - 1));
+        assertEquals(64, bitBoard.findNext(BitBoard.Layer.EXTRA_LIFE, 0, Direction.RIGHT, 64, cols - 1));
+        assertEquals(cols - 1 - 64, bitBoard.findNext(BitBoard.Layer.EXTRA_LIFE, cols - 1, Direction.LEFT, 1, cols - 1));
+        assertEquals(BitBoard.NONE, bitBoard.findNext(BitBoard.Layer.EXTRA_LIFE, 65, Direction.RIGHT, 1, cols - 66));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameBoard = null;
+    }
+}
@@ -0,0 +1,217 @@
+package hk.ust.cse.model;
+
+import hk.ust.cse.controller.GameBoardController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardSnapshotTest {
+
+    private GameBoard gameBoard = null;
+
+    // P.*.W
+    // .L.M.
+    // #.*.#
+    private static byte[] createCodes() {
+        return new byte[]{
+                CellCode.PLAYER, CellCode.EMPTY, CellCode.GEM, CellCode.EMPTY, CellCode.WALL,
+                CellCode.EMPTY, CellCode.EXTRA_LIFE, CellCode.EMPTY, CellCode.MINE, CellCode.EMPTY,
+                CellCode.STOP, CellCode.EMPTY, CellCode.GEM, CellCode.EMPTY, CellCode.STOP,
+        };
+    }
+
+    /**
+     * Creates a random game board with all kinds of cells, where the gems which cannot be reached are removed.
+     */
+    private static GameBoard createRandomGameBoard(final Random random, final int numRows, final int numCols) {
+        final var kinds = new byte[]{
+                CellCode.EMPTY, CellCode.EMPTY, CellCode.EMPTY, CellCode.EMPTY, CellCode.WALL, CellCode.STOP,
+                CellCode.GEM, CellCode.MINE, CellCode.EXTRA_LIFE,
+        };
+        while (true) {
+            final var codes = new byte[numRows * numCols];
+            for (int i = 0; i < codes.length; ++i) {
+                codes[i] = kinds[random.nextInt(kinds.length)];
+            }
+            final var start = random.nextInt(codes.length);
+            codes[start] = CellCode.PLAYER;
+
+            // Find the reachable cells by sliding from every stoppable cell, ignoring entities
+            final var reachable = new boolean[codes.length];
+            final var stoppable = new boolean[codes.length];
+            final var queue = new ArrayDeque<Integer>();
+            stoppable[start] = true;
+            reachable[start] = true;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                final int index = queue.poll();
+                for (final var dir : Direction.values()) {
+                    var stop = index;
+                    while (true) {
+                        final var r = stop / numCols + dir.getRowOffset();
+                        final var c = stop % numCols + dir.getColOffset();
+                        if (r < 0 || r >= numRows || c < 0 || c >= numCols || codes[r * numCols + c] == CellCode.WALL) {
+                            break;
+                        }
+                        stop = r * numCols + c;
+                        reachable[stop] = true;
+                        if (codes[stop] == CellCode.STOP) {
+                            break;
+                        }
+                    }
+                    if (!stoppable[stop]) {
+                        stoppable[stop] = true;
+                        queue.add(stop);
+                    }
+                }
+            }
+
+            var numGems = 0;
+            for (int i = 0; i < codes.length; ++i) {
+                if (codes[i] == CellCode.GEM && !reachable[i]) {
+                    codes[i] = CellCode.EMPTY;
+                } else if (codes[i] == CellCode.GEM) {
+                    ++numGems;
+                }
+            }
+            if (numGems > 0) {
+                return new GameBoard(numRows, numCols, codes);
+            }
+        }
+    }
+
+    private static void assertSameState(final GameBoard expected, final BoardSnapshot actual) {
+        assertArrayEquals(expected.getCellCodes(), actual.getCellCodes());
+        assertEquals(expected.getNumGems(), actual.getNumGems());
+        assertEquals(expected.stateHash(), actual.stateHash());
+    }
+
+    private static void assertSameResult(final MoveResult expected, final MoveResult actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.newPosition, actual.newPosition);
+        if (expected instanceof MoveResult.Valid.Alive alive) {
+            assertEquals(alive.origPosition, ((MoveResult.Valid.Alive) actual).origPosition);
+            assertEquals(alive.collectedGems, ((MoveResult.Valid.Alive) actual).collectedGems);
+            assertEquals(alive.collectedExtraLives, ((MoveResult.Valid.Alive) actual).collectedExtraLives);
+        } else if (expected instanceof MoveResult.Valid.Dead dead) {
+            assertEquals(dead.minePosition, ((MoveResult.Valid.Dead) actual).minePosition);
+        }
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Snapshot - Same State As Game Board")
+    void testSnapshotState() {
+        gameBoard = new GameBoard(3, 5, createCodes());
+        final var snapshot = gameBoard.snapshot();
+
+        assertEquals(3, snapshot.getNumRows());
+        assertEquals(5, snapshot.getNumCols());
+        assertEquals(CellCode.WALL, snapshot.getCellCode(0, 4));
+        assertEquals(CellCode.MINE, snapshot.getCellCode(8));
+        assertEquals(new Position(0, 0), snapshot.getPlayerPosition(gameBoard.getPlayer().getId()));
+        assertSameState(gameBoard, snapshot);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getCellCode(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPlayerPosition(-1));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Snapshot - Moves Do Not Affect The Game Board Or Other Branches")
+    void testMakeMove() {
+        gameBoard = new GameBoard(3, 5, createCodes());
+        final var playerId = gameBoard.getPlayer().getId();
+        final var snapshot = gameBoard.snapshot();
+        final var initialCodes = gameBoard.getCellCodes();
+
+        // Collects the gem and stops before the wall
+        final var right = snapshot.makeMove(Direction.RIGHT, playerId);
+        assertEquals(new Position(0, 3), right.getPlayerPosition(playerId));
+        assertEquals(CellCode.EMPTY, right.getCellCode(0, 2));
+        assertEquals(1, right.getNumGems());
+
+        // Stops on the stop cell
+        final var down = snapshot.makeMove(Direction.DOWN, playerId);
+        assertEquals(CellCode.PLAYER_ON_STOP, down.getCellCode(2, 0));
+        assertEquals(2, down.getNumGems());
+
+        // Dies on the mine, which does not change the state
+        final var rightDown = right.tryMove(Direction.DOWN, playerId);
+        assertTrue(rightDown instanceof MoveResult.Valid.Dead);
+        assertSame(right, right.makeMove(Direction.DOWN, playerId));
+        assertTrue(snapshot.tryMove(Direction.UP, playerId) instanceof MoveResult.Invalid);
+        assertSame(snapshot, snapshot.makeMove(Direction.UP, playerId));
+
+        // Leaving the stop cell restores it
+        final var downRight = down.makeMove(Direction.RIGHT, playerId);
+        assertEquals(CellCode.STOP, downRight.getCellCode(2, 0));
+        assertEquals(CellCode.PLAYER_ON_STOP, downRight.getCellCode(2, 4));
+        assertEquals(1, downRight.getNumGems());
+
+        // Neither the game board nor the other snapshots are affected
+        assertArrayEquals(initialCodes, gameBoard.getCellCodes());
+        assertArrayEquals(initialCodes, snapshot.getCellCodes());
+        assertEquals(CellCode.GEM, down.getCellCode(2, 2));
+        assertEquals(new Position(0, 0), gameBoard.getPlayer().getOwner().getPosition());
+    }
+
+    // P..P
+    // ....
+    // *...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Snapshot - Other Players Block The Slide")
+    void testMultiplePlayers() {
+        final var codes = new byte[12];
+        codes[0] = CellCode.PLAYER;
+        codes[3] = CellCode.PLAYER;
+        codes[8] = CellCode.GEM;
+        gameBoard = new GameBoard(3, 4, codes);
+        final var first = gameBoard.getPlayers().get(0).getId();
+        final var second = gameBoard.getPlayers().get(1).getId();
+
+        final var snapshot = gameBoard.snapshot().makeMove(Direction.RIGHT, first);
+        assertEquals(new Position(0, 2), snapshot.getPlayerPosition(first));
+        assertTrue(snapshot.tryMove(Direction.LEFT, second) instanceof MoveResult.Invalid);
+
+        final var moved = snapshot.makeMove(Direction.DOWN, second);
+        assertEquals(new Position(2, 3), moved.getPlayerPosition(second));
+        assertEquals(new Position(0, 0), moved.makeMove(Direction.LEFT, first).getPlayerPosition(first));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Snapshot - Random Moves Agree With GameBoardController")
+    void testAgreesWithController() {
+        final var random = new Random(0);
+        for (final var size : new int[]{3, 17, 150}) {
+            gameBoard = createRandomGameBoard(random, size, size + 1);
+            final var controller = new GameBoardController(gameBoard);
+            final var playerId = gameBoard.getPlayer().getId();
+            var snapshot = gameBoard.snapshot();
+
+            for (int i = 0; i < 500; ++i) {
+                final var direction = Direction.values()[random.nextInt(Direction.values().length)];
+                final var position = gameBoard.getPlayer().getOwner().getPosition();
+                assertSameResult(controller.tryMove(position, direction, playerId), snapshot.tryMove(direction, playerId));
+
+                controller.makeMove(direction, playerId);
+                snapshot = snapshot.makeMove(direction, playerId);
+                assertEquals(gameBoard.getPlayer().getOwner().getPosition(), snapshot.getPlayerPosition(playerId));
+            }
+            assertSameState(gameBoard, snapshot);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameBoard = null;
+    }
+}
@@ -107,4 +107,14 @@ public class DirectionTest {
             assertEquals(0, actual);
         }
     }
+
+    @ParameterizedTest
+    @EnumSource(Direction.class)
+    @Tag("sanity")
+    @DisplayName("Get Offset - Cached Instance")
+    void testGetOffsetCached(final Direction direction) {
+        assertSame(direction.getOffset(), direction.getOffset());
+        assertEquals(direction.getRowOffset(), direction.getOffset().dRow());
+        assertEquals(direction.getColOffset(), direction.getOffset().dCol());
+    }
 }
@@ -169,6 +169,28 @@ public class EntityCellTest {
         assertSame(origPlayer, prev);
     }
 
+    @Test
+    @Tag("sanity")
+    @DisplayName("Set Entity - Shared Entity on Multiple Cells")
+    void testSetEntitySharedEntity() {
+        position = new Position(0, 0);
+        cell = new EntityCell(position, Gem.SHARED);
+        final var otherCell = new EntityCell(new Position(0, 1), Gem.SHARED);
+
+        // Shared entities are not transferred between cells
+        assertSame(Gem.SHARED, cell.getEntity());
+        assertSame(Gem.SHARED, otherCell.getEntity());
+        assertNull(Gem.SHARED.getOwner());
+
+        final var prev = cell.setEntity(null);
+
+        assertSame(Gem.SHARED, prev);
+        assertNull(cell.getEntity());
+        assertSame(Gem.SHARED, otherCell.getEntity());
+        assertNull(Gem.SHARED.setOwner(cell));
+        assertNull(Gem.SHARED.getOwner());
+    }
+
     @AfterEach
     void tearDown() {
         cell = null;
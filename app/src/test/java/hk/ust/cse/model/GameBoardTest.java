@@ -1,5 +1,6 @@
 package hk.ust.cse.model;
 
+import hk.ust.cse.controller.GameBoardController;
 import hk.ust.cse.util.GameBoardUtils;
 import hk.ust.cse.util.ReflectionUtils;
 import org.hamcrest.Matchers;
@@ -187,6 +188,63 @@ public class GameBoardTest {
         assertThrows(IllegalArgumentException.class, () -> gameBoard = new GameBoard(rows, cols, cells));
     }
 
+    // P......
+    // .W.W.W.
+    // .......
+    // .W.W.W.
+    // .......
+    // .W.W.W.
+    // ......*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Instance Creation - Large Board")
+    void testGameBoardCreationLargeBoard() {
+        final var rows = 501;
+        final var cols = 501;
+        final var cells = GameBoardUtils.createEmptyCellArray(rows, cols, (pos) -> {
+            if (pos.row() % 2 == 1 && pos.col() % 2 == 1) {
+                return new Wall(pos);
+            }
+            return new EntityCell(pos);
+        });
+
+        ((EntityCell) cells[0][0]).setEntity(new Player());
+        ((EntityCell) cells[rows - 1][cols - 1]).setEntity(new Gem());
+
+        assertDoesNotThrow(() -> gameBoard = new GameBoard(rows, cols, cells));
+    }
+
+    // P......
+    // .W.W.W.
+    // .......
+    // .W.WWW.
+    // ...W*W.
+    // .W.WWW.
+    // .......
+    @Test
+    @Tag("sanity")
+    @DisplayName("Instance Creation - Large Board with Unreachable Gem")
+    void testGameBoardCreationLargeBoardUnreachableGem() {
+        final var rows = 501;
+        final var cols = 501;
+        final var cells = GameBoardUtils.createEmptyCellArray(rows, cols, (pos) -> {
+            if (pos.row() % 2 == 1 && pos.col() % 2 == 1) {
+                return new Wall(pos);
+            }
+            return new EntityCell(pos);
+        });
+
+        ((EntityCell) cells[0][0]).setEntity(new Player());
+        // Surrounded by walls on all four sides
+        ((EntityCell) cells[rows - 3][cols - 3]).setEntity(new Gem());
+        cells[rows - 3][cols - 4] = new Wall(new Position(rows - 3, cols - 4));
+        cells[rows - 4][cols - 3] = new Wall(new Position(rows - 4, cols - 3));
+        cells[rows - 3][cols - 2] = new Wall(new Position(rows - 3, cols - 2));
+        cells[rows - 2][cols - 3] = new Wall(new Position(rows - 2, cols - 3));
+
+        assertThrows(IllegalArgumentException.class, () -> gameBoard = new GameBoard(rows, cols, cells));
+    }
+
     // *P*
     // *.X
     // *LX
@@ -486,6 +544,244 @@ public class GameBoardTest {
         assertEquals(7, gameBoard.getNumGems());
     }
 
+    // P.*
+    // .W.
+    // S.M
+    @Test
+    @Tag("sanity")
+    @DisplayName("Packed Storage - Cells Materialized on Access")
+    void testPackedCellsMaterialized() {
+        final var codes = new byte[]{
+                CellCode.PLAYER, CellCode.EMPTY, CellCode.GEM,
+                CellCode.EMPTY, CellCode.WALL, CellCode.EMPTY,
+                CellCode.STOP, CellCode.EMPTY, CellCode.MINE,
+        };
+
+        gameBoard = new GameBoard(3, 3, codes);
+
+        assertTrue(gameBoard.isPacked());
+        assertEquals(1, gameBoard.getNumGems());
+        assertTrue(gameBoard.getEntityCell(0, 0).getEntity() instanceof Player);
+        assertSame(gameBoard.getPlayer(), gameBoard.getEntityCell(0, 0).getEntity());
+        assertTrue(gameBoard.getEntityCell(0, 2).getEntity() instanceof Gem);
+        assertTrue(gameBoard.getCell(1, 1) instanceof Wall);
+        assertTrue(gameBoard.getCell(2, 0) instanceof StopCell);
+        assertTrue(gameBoard.getEntityCell(2, 2).getEntity() instanceof Mine);
+        assertEquals(new Position(2, 2), gameBoard.getCell(2, 2).getPosition());
+        assertSame(gameBoard.getCell(1, 2), gameBoard.getCell(1, 2));
+        assertSame(gameBoard.getCell(2, 1), gameBoard.getRow(2)[1]);
+    }
+
+    // P.*
+    // ...
+    // ...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Packed Storage - Codes Updated on Entity Changes")
+    void testPackedCodesUpdated() {
+        final var codes = new byte[9];
+        codes[0] = CellCode.PLAYER;
+        codes[2] = CellCode.GEM;
+
+        gameBoard = new GameBoard(3, 3, codes);
+
+        gameBoard.getEntityCell(0, 2).setEntity(null);
+        assertEquals(CellCode.EMPTY, gameBoard.getCellCode(0, 2));
+        assertEquals(0, gameBoard.getNumGems());
+
+        gameBoard.getEntityCell(1, 1).setEntity(new Gem());
+        assertEquals(CellCode.GEM, gameBoard.getCellCode(1, 1));
+        assertEquals(1, gameBoard.getNumGems());
+
+        gameBoard.getEntityCell(2, 2).setEntity(gameBoard.getPlayer());
+        assertEquals(CellCode.EMPTY, gameBoard.getCellCode(0, 0));
+        assertEquals(CellCode.PLAYER, gameBoard.getCellCode(2, 2));
+    }
+
+    // P.*
+    // .W.
+    // #.*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Get Cell Codes - Copy Creates Independent Game Board")
+    void testGetCellCodesCopy() {
+        gameBoard = GameBoardUtils.createGameBoard(3, 3, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2)) || pos.equals(new Position(2, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(1, 1))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(2, 0))) {
+                return new StopCell(pos);
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+
+        final var copy = new GameBoard(3, 3, gameBoard.getCellCodes());
+        assertEquals(2, copy.getNumGems());
+        assertTrue(copy.getEntityCell(0, 0).getEntity() instanceof Player);
+        assertNotSame(gameBoard.getPlayer(), copy.getPlayer());
+
+        copy.getEntityCell(0, 2).setEntity(null);
+        assertEquals(1, copy.getNumGems());
+        assertEquals(2, gameBoard.getNumGems());
+        assertEquals(CellCode.GEM, gameBoard.getCellCode(0, 2));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Packed Storage - Invalid Codes")
+    void testPackedInvalidCodes() {
+        assertThrows(IllegalArgumentException.class, () -> new GameBoard(2, 2, new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> new GameBoard(1, 2, new byte[]{CellCode.PLAYER, 42}));
+        assertThrows(IllegalArgumentException.class, () -> new GameBoard(1, 2, new byte[]{CellCode.EMPTY, CellCode.GEM}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameBoard(1, 3, new byte[]{CellCode.PLAYER, CellCode.WALL, CellCode.GEM}));
+    }
+
+    // P.*
+    // .L.
+    // *.#
+    @Test
+    @Tag("sanity")
+    @DisplayName("State Hash - Updated on Entity Changes")
+    void testStateHashUpdated() {
+        final var codes = new byte[9];
+        codes[0] = CellCode.PLAYER;
+        codes[2] = CellCode.GEM;
+        codes[4] = CellCode.EXTRA_LIFE;
+        codes[6] = CellCode.GEM;
+        codes[8] = CellCode.STOP;
+
+        gameBoard = new GameBoard(3, 3, codes.clone());
+        final var initialHash = gameBoard.stateHash();
+        assertEquals(initialHash, new GameBoard(3, 3, codes.clone()).stateHash());
+
+        // Move right and collect the gem
+        final var gem = gameBoard.getEntityCell(0, 2).setEntity(gameBoard.getPlayer());
+        final var movedHash = gameBoard.stateHash();
+        assertNotEquals(initialHash, movedHash);
+        assertEquals(movedHash, new GameBoard(3, 3, gameBoard.getCellCodes()).stateHash());
+
+        // Collect the extra life
+        gameBoard.getEntityCell(1, 1).setEntity(null);
+        assertNotEquals(movedHash, gameBoard.stateHash());
+        gameBoard.getEntityCell(1, 1).setEntity(new ExtraLife());
+        assertEquals(movedHash, gameBoard.stateHash());
+
+        // Undo the move, placing the player back before restoring the gem
+        gameBoard.getEntityCell(0, 0).setEntity(gameBoard.getPlayer());
+        gameBoard.getEntityCell(0, 2).setEntity(gem);
+        assertEquals(initialHash, gameBoard.stateHash());
+
+        // Entering a stop cell changes its code
+        gameBoard.getEntityCell(2, 2).setEntity(gameBoard.getPlayer());
+        assertEquals(CellCode.PLAYER_ON_STOP, gameBoard.getCellCode(2, 2));
+        assertEquals(new GameBoard(3, 3, gameBoard.getCellCodes()).stateHash(), gameBoard.stateHash());
+    }
+
+    // P.P
+    // ...
+    // *..
+    @Test
+    @Tag("sanity")
+    @DisplayName("State Hash - Distinguishes Players")
+    void testStateHashPlayers() {
+        final var codes = new byte[9];
+        codes[0] = CellCode.PLAYER;
+        codes[2] = CellCode.PLAYER;
+        codes[6] = CellCode.GEM;
+
+        gameBoard = new GameBoard(3, 3, codes);
+        final var first = gameBoard.getPlayers().get(0);
+        final var second = gameBoard.getPlayers().get(1);
+        final var initialHash = gameBoard.stateHash();
+
+        // Swap the players, which keeps the codes of all cells
+        gameBoard.getEntityCell(1, 0).setEntity(first);
+        gameBoard.getEntityCell(0, 0).setEntity(second);
+        gameBoard.getEntityCell(0, 2).setEntity(first);
+        assertArrayEquals(codes, gameBoard.getCellCodes());
+        assertNotEquals(initialHash, gameBoard.stateHash());
+
+        // Swap them back
+        gameBoard.getEntityCell(1, 0).setEntity(first);
+        gameBoard.getEntityCell(0, 2).setEntity(second);
+        gameBoard.getEntityCell(0, 0).setEntity(first);
+        assertEquals(initialHash, gameBoard.stateHash());
+
+        // A player which is kicked out no longer contributes to the hash
+        gameBoard.getEntityCell(0, 2).setEntity(null);
+        final var codesWithoutSecond = gameBoard.getCellCodes();
+        codesWithoutSecond[0] = CellCode.EMPTY;
+        codesWithoutSecond[2] = CellCode.PLAYER;
+        gameBoard.getEntityCell(0, 0).setEntity(null);
+        gameBoard.getEntityCell(0, 2).setEntity(first);
+        assertEquals(new GameBoard(3, 3, codesWithoutSecond).stateHash(), gameBoard.stateHash());
+    }
+
+    // P*.
+    // ...
+    // ...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Get Position - Canonical Instances")
+    void testGetPositionCanonical() {
+        final var cells = GameBoardUtils.createEmptyCellArray(3, 3, EntityCell::new);
+        ((EntityCell) cells[0][0]).setEntity(new Player());
+        ((EntityCell) cells[0][1]).setEntity(new Gem());
+        gameBoard = new GameBoard(3, 3, cells);
+
+        // The positions of the cells are the canonical positions
+        assertSame(cells[1][2].getPosition(), gameBoard.getPosition(1, 2));
+        assertSame(gameBoard.getPosition(1, 2), gameBoard.getPosition(5));
+        assertEquals(5, gameBoard.indexOf(new Position(1, 2)));
+
+        final var codes = new byte[9];
+        codes[0] = CellCode.PLAYER;
+        codes[1] = CellCode.GEM;
+        final var packed = new GameBoard(3, 3, codes);
+        assertSame(packed.getPosition(2, 1), packed.getPosition(2, 1));
+        assertSame(packed.getPosition(2, 1), packed.getCell(2, 1).getPosition());
+        assertSame(packed.getPosition(0, 0), packed.getPlayer().getOwner().getPosition());
+        assertEquals(new Position(2, 1), packed.getPosition(7));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> packed.getPosition(3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> packed.getPosition(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> packed.getPosition(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> packed.indexOf(new Position(0, 3)));
+    }
+
+    // P*.
+    // ..L
+    // ..#
+    @Test
+    @Tag("sanity")
+    @DisplayName("Get Position - Move Results Use Canonical Instances")
+    void testGetPositionMoveResults() {
+        final var codes = new byte[]{
+                CellCode.PLAYER, CellCode.GEM, CellCode.EMPTY,
+                CellCode.EMPTY, CellCode.EMPTY, CellCode.EXTRA_LIFE,
+                CellCode.EMPTY, CellCode.EMPTY, CellCode.STOP,
+        };
+        gameBoard = new GameBoard(3, 3, codes);
+        final var controller = new GameBoardController(gameBoard);
+        final var playerId = gameBoard.getPlayer().getId();
+
+        final var right = (MoveResult.Valid.Alive) controller.tryMove(new Position(0, 0), Direction.RIGHT, playerId);
+        assertSame(gameBoard.getPosition(0, 0), right.origPosition);
+        assertSame(gameBoard.getPosition(0, 2), right.newPosition);
+        assertSame(gameBoard.getPosition(0, 1), right.collectedGems.get(0));
+
+        final var down = (MoveResult.Valid.Alive) gameBoard.snapshot()
+                .makeMove(Direction.RIGHT, playerId)
+                .tryMove(Direction.DOWN, playerId);
+        assertSame(gameBoard.getPosition(2, 2), down.newPosition);
+        assertSame(gameBoard.getPosition(1, 2), down.collectedExtraLives.get(0));
+    }
+
     @AfterEach
     void tearDown() {
         gameBoard = null;
@@ -10,6 +10,7 @@ import java.lang.reflect.Constructor;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PlayerTest {
 
@@ -48,4 +49,15 @@ public class PlayerTest {
 
         assertEquals(0, publicFields.length);
     }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Get Images - Contains Image Of Every Player")
+    void testGetImages() {
+        final var images = Player.getImages();
+
+        for (int i = 0; i < images.size() * 2; ++i) {
+            assertTrue(images.contains(new Player().toImage()));
+        }
+    }
 }
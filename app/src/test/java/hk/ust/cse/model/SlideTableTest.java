@@ -0,0 +1,90 @@
+package hk.ust.cse.model;
+
+import hk.ust.cse.util.GameBoardUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlideTableTest {
+
+    private GameBoard gameBoard = null;
+
+    // P.*.W.
+    // ......
+    // ..#...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Stop Lookup - Walls, Stop Cells and Borders")
+    void testStops() {
+        gameBoard = GameBoardUtils.createGameBoard(3, 6, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(0, 4))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(2, 2))) {
+                return new StopCell(pos);
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var table = gameBoard.getSlideTable();
+
+        assertEquals(3, table.getStop(0, Direction.RIGHT));
+        assertEquals(0, table.getStop(0, Direction.LEFT));
+        assertEquals(0, table.getStop(0, Direction.UP));
+        assertEquals(12, table.getStop(0, Direction.DOWN));
+        assertEquals(14, table.getStop(2, Direction.DOWN));
+        assertEquals(14, table.getStop(17, Direction.LEFT));
+        assertEquals(5, table.getStop(5, Direction.LEFT));
+    }
+
+    // P.*.W.
+    // ......
+    // ..#...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Next Occupied - Updated on Entity Changes")
+    void testNextOccupiedUpdated() {
+        gameBoard = GameBoardUtils.createGameBoard(3, 6, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(0, 4))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(2, 2))) {
+                return new StopCell(pos);
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var table = gameBoard.getSlideTable();
+
+        assertEquals(2, table.getNextOccupied(0, Direction.RIGHT));
+        assertEquals(SlideTable.NONE, table.getNextOccupied(2, Direction.RIGHT));
+        assertEquals(2, table.getNextOccupied(3, Direction.LEFT));
+
+        gameBoard.getEntityCell(0, 2).setEntity(null);
+        assertEquals(SlideTable.NONE, table.getNextOccupied(0, Direction.RIGHT));
+        assertEquals(0, table.getNextOccupied(3, Direction.LEFT));
+
+        gameBoard.getEntityCell(0, 3).setEntity(new Mine());
+        assertEquals(3, table.getNextOccupied(0, Direction.RIGHT));
+        assertEquals(3, table.getNextOccupied(1, Direction.RIGHT));
+
+        gameBoard.getEntityCell(2, 2).setEntity(gameBoard.getPlayer());
+        assertEquals(SlideTable.NONE, table.getNextOccupied(1, Direction.LEFT));
+        assertEquals(14, table.getNextOccupied(2, Direction.DOWN));
+        assertEquals(14, table.getNextOccupied(17, Direction.LEFT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameBoard = null;
+    }
+}
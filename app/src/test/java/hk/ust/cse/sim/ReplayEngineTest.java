@@ -0,0 +1,173 @@
+package hk.ust.cse.sim;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.model.*;
+import hk.ust.cse.util.GameStateSerializer;
+import hk.ust.cse.util.ReplayLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayEngineTest {
+
+    private Path tempDir = null;
+    private Path replayFile = null;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("replay-engine-test");
+        replayFile = tempDir.resolve("game.replay");
+    }
+
+    private GameState[] load(final String... lines) {
+        try {
+            final var gameFile = Files.createTempFile(tempDir, "puzzle", ".game");
+            Files.writeString(gameFile, String.join(System.lineSeparator(), lines));
+            return GameStateSerializer.loadFrom(gameFile);
+        } catch (IOException e) {
+            fail(e);
+            throw new AssertionError();
+        }
+    }
+
+    // P..
+    // MWL
+    // .GS
+    private GameState[] loadSinglePlayer() {
+        return load("3", "3", "3", "P..", "MWL", ".GS");
+    }
+
+    private static int[] getScores(final GameState[] gameStates) {
+        return Arrays.stream(gameStates).mapToInt(GameState::getScore).toArray();
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Replay - Moves, Deaths And Undos")
+    void testReplaySinglePlayer() throws IOException {
+        final var gameStates = loadSinglePlayer();
+        final var engine = new ReplayEngine(gameStates);
+        final var controller = new GameController(gameStates);
+        try (var log = ReplayLog.create(replayFile, controller)) {
+            // Dies on the mine
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Valid.Dead);
+            assertTrue(controller.processMove(Direction.RIGHT) instanceof MoveResult.Valid.Alive);
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Valid.Alive);
+            assertTrue(controller.processUndo());
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Valid.Alive);
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Invalid);
+
+            log.flush();
+            assertEquals(ReplayLog.HEADER_SIZE + 6, Files.size(replayFile));
+        }
+
+        final var replayed = engine.replay(replayFile);
+        assertEquals(1, replayed.length);
+        assertEquals(gameStates[0].getNumMoves(), replayed[0].getNumMoves());
+        assertEquals(gameStates[0].getNumDeaths(), replayed[0].getNumDeaths());
+        assertEquals(gameStates[0].getNumLives(), replayed[0].getNumLives());
+        assertArrayEquals(gameStates[0].getGameBoard().getCellCodes(), replayed[0].getGameBoard().getCellCodes());
+
+        final var score = gameStates[0].getScore();
+        assertTrue(engine.verify(replayFile, score));
+        assertFalse(engine.verify(replayFile, score + 1));
+    }
+
+    // P.GM
+    // P..L
+    @Test
+    @Tag("sanity")
+    @DisplayName("Replay - Multiple Players")
+    void testReplayMultiplePlayers() throws IOException {
+        final var gameStates = load("2", "4", "1", "P.GM", "P..L");
+        final var engine = new ReplayEngine(gameStates);
+        final var controller = new GameController(gameStates);
+        final var top = gameStates[0].getGameBoard().getPlayers().get(0).getId();
+        final var bottom = gameStates[0].getGameBoard().getPlayers().get(1).getId();
+        final var log = ReplayLog.create(replayFile, controller);
+        assertTrue(controller.processMove(Direction.RIGHT, bottom) instanceof MoveResult.Valid.Alive);
+        // The only life is lost on the mine
+        assertTrue(controller.processMove(Direction.RIGHT, top) instanceof MoveResult.Valid.KickedOut);
+        assertTrue(controller.processMove(Direction.DOWN, bottom) instanceof MoveResult.Invalid);
+        log.close();
+
+        final var expectedScores = new int[]{
+                controller.getGameState(top).getScore(),
+                controller.getGameState(bottom).getScore(),
+        };
+        assertArrayEquals(expectedScores, getScores(engine.replay(replayFile)));
+        assertTrue(engine.verify(replayFile, expectedScores));
+        assertFalse(engine.verify(replayFile, expectedScores[1], expectedScores[0]));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Replay - Tampered Outcome Is Rejected")
+    void testTamperedOutcome() throws IOException {
+        final var gameStates = loadSinglePlayer();
+        final var engine = new ReplayEngine(gameStates);
+        final var controller = new GameController(gameStates);
+        final var log = ReplayLog.create(replayFile, controller);
+        controller.processMove(Direction.RIGHT);
+        controller.processMove(Direction.DOWN);
+        log.close();
+
+        // Claims that moving right from the start collected the extra life without dying
+        final var bytes = Files.readAllBytes(replayFile);
+        bytes[ReplayLog.HEADER_SIZE] = ReplayLog.encode(0, ReplayLog.Outcome.ALIVE, Direction.DOWN);
+        Files.write(replayFile, bytes);
+
+        final var e = assertThrows(IllegalStateException.class, () -> engine.replay(replayFile));
+        assertTrue(e.getMessage().contains("Action 0"));
+        assertFalse(engine.verify(replayFile, gameStates[0].getScore()));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Replay - Replay Of Another Game Is Rejected")
+    void testAnotherGame() throws IOException {
+        final var controller = new GameController(loadSinglePlayer());
+        ReplayLog.create(replayFile, controller).close();
+
+        // P..
+        // MWL
+        // G.S
+        final var otherEngine = new ReplayEngine(load("3", "3", "3", "P..", "MWL", "G.S"));
+        assertThrows(IllegalArgumentException.class, () -> otherEngine.replay(replayFile));
+
+        Files.writeString(replayFile, "not a replay file");
+        assertThrows(IllegalArgumentException.class, () -> new ReplayEngine(loadSinglePlayer()).replay(replayFile));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Record - Only From The Initial State")
+    void testRecordFromInitialState() {
+        final var controller = new GameController(loadSinglePlayer());
+        controller.processMove(Direction.RIGHT);
+        assertThrows(IllegalStateException.class, () -> ReplayLog.create(replayFile, controller));
+        assertFalse(Files.exists(replayFile));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempDir != null) {
+            try (var files = Files.walk(tempDir)) {
+                for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+            tempDir = null;
+        }
+    }
+}
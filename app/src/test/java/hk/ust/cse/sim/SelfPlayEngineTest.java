@@ -0,0 +1,78 @@
+package hk.ust.cse.sim;
+
+import hk.ust.cse.model.*;
+import hk.ust.cse.util.GameBoardUtils;
+import hk.ust.cse.util.Robot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelfPlayEngineTest {
+
+    // P..
+    // ...
+    // ..*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Run - Smart Robot Wins Every Game")
+    void testRunSmart() {
+        final var gameBoard = GameBoardUtils.createGameBoard(3, 3, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new StopCell(pos, new Player());
+            } else if (pos.equals(new Position(2, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var gameState = new GameState(gameBoard);
+
+        final var engine = new SelfPlayEngine(new GameState[]{gameState}, Robot.Strategy.Smart, 100);
+        final var results = engine.run(50, 2);
+
+        assertEquals(50, results.getNumGames());
+        assertEquals(50, results.getNumWins());
+        assertEquals(0, results.getNumUnfinished());
+        assertEquals(2, results.getMoves().getMin());
+        assertEquals(2, results.getMoves().getMax());
+        assertEquals(1, results.getScoreDistribution().size());
+
+        // The template is only copied
+        assertEquals(0, gameState.getNumMoves());
+        assertEquals(1, gameBoard.getNumGems());
+    }
+
+    // P.W
+    // .WM
+    // .M*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Run - Stops Games Without Winners")
+    void testRunUnfinished() {
+        final var gameBoard = GameBoardUtils.createGameBoard(3, 3, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new StopCell(pos, new Player());
+            } else if (pos.equals(new Position(2, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else if (pos.equals(new Position(1, 2)) || pos.equals(new Position(2, 1))) {
+                return new EntityCell(pos, new Mine());
+            } else if (pos.equals(new Position(0, 2)) || pos.equals(new Position(1, 1))) {
+                return new Wall(pos);
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        final var gameState = new GameState(gameBoard, 1);
+
+        final var engine = new SelfPlayEngine(new GameState[]{gameState}, Robot.Strategy.Random, 20);
+        final var results = engine.run(10, 2);
+
+        assertEquals(10, results.getNumGames());
+        assertEquals(0, results.getNumWins());
+        assertEquals(0.0, results.getWinRate());
+        assertEquals(10, results.getNumUnfinished());
+        assertEquals(10, results.getScoreDistribution().values().stream().mapToInt(Integer::intValue).sum());
+    }
+}
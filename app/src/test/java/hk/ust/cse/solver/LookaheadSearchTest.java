@@ -0,0 +1,158 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.model.*;
+import hk.ust.cse.util.GameBoardUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookaheadSearchTest {
+
+    private GameBoard gameBoard = null;
+    private GameState gameState = null;
+
+    // .....
+    // .....
+    // ..P.*
+    // .....
+    // **...
+    @Test
+    @Tag("sanity")
+    @DisplayName("Best Direction - Prefers More Gems Within Lookahead")
+    void testBestDirection() {
+        gameBoard = GameBoardUtils.createGameBoard(5, 5, (pos) -> {
+            if (pos.equals(new Position(2, 2))) {
+                return new StopCell(pos, new Player());
+            } else if (pos.equals(new Position(2, 4)) || pos.equals(new Position(4, 0))
+                    || pos.equals(new Position(4, 1))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        gameState = new GameState(gameBoard);
+
+        final var graph = new MoveGraph(gameBoard, gameState.getPlayer());
+        final var search = new LookaheadSearch(graph);
+        final var random = new Random(0);
+
+        assertEquals(Direction.RIGHT, search.bestDirection(graph.getStartNode(), graph.getAllGems(), 1, random));
+        assertEquals(Direction.DOWN, search.bestDirection(graph.getStartNode(), graph.getAllGems(), 2, random));
+    }
+
+    // P..
+    // ...
+    // ..*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Best Direction - Transposition Table Reused Across Calls")
+    void testTranspositionTableReused() {
+        gameBoard = GameBoardUtils.createGameBoard(3, 3, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(2, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        gameState = new GameState(gameBoard);
+
+        final var graph = new MoveGraph(gameBoard, gameState.getPlayer());
+        final var search = new LookaheadSearch(graph);
+        final var random = new Random(0);
+
+        assertNotNull(search.bestDirection(graph.getStartNode(), graph.getAllGems(), 8, random));
+        final var numStates = search.getNumStates();
+        assertTrue(numStates > 0);
+        // The graph has 4 nodes and a single gem, so no state can be reached through more than one entry
+        assertTrue(numStates <= graph.getNumNodes() * 2);
+
+        assertNotNull(search.bestDirection(graph.getStartNode(), graph.getAllGems(), 8, random));
+        assertEquals(numStates, search.getNumStates());
+    }
+
+    /**
+     * @return The best score of making up to {@code depth} moves from a state, searched without a transposition table.
+     */
+    private static int bruteForceScore(final MoveGraph graph, final int node, final long remainingGems,
+                                       final int depth) {
+        if (depth == 0 || remainingGems == 0) {
+            return 0;
+        }
+        var best = 0;
+        for (final var dir : Direction.values()) {
+            best = Math.max(best, bruteForceScoreMove(graph, node, remainingGems, dir, depth));
+        }
+        return best;
+    }
+
+    private static int bruteForceScoreMove(final MoveGraph graph, final int node, final long remainingGems,
+                                           final Direction dir, final int depth) {
+        final var successor = graph.getSuccessor(node, dir);
+        if (successor == MoveGraph.NONE) {
+            return Integer.MIN_VALUE;
+        }
+        final var collected = remainingGems & graph.getCollectedGems(node, dir);
+        return Long.bitCount(collected) * LookaheadSearch.GEM_SCORE - LookaheadSearch.MOVE_COST
+                + bruteForceScore(graph, successor, remainingGems & ~collected, depth - 1);
+    }
+
+    // .WW.*.
+    // .W..#.
+    // .**#.W
+    // ...#..
+    // ..*P..
+    // ...#**
+    @Test
+    @Tag("sanity")
+    @DisplayName("Best Direction - Same Score As Search Without Transposition Table")
+    void testSameScoreAsBruteForce() {
+        final var rows = new String[]{".WW.*.", ".W..#.", ".**#.W", "...#..", "..*P..", "...#**"};
+        gameBoard = GameBoardUtils.createGameBoard(6, 6, (pos) -> {
+            return switch (rows[pos.row()].charAt(pos.col())) {
+                case 'P' -> new StopCell(pos, new Player());
+                case 'W' -> new Wall(pos);
+                case '#' -> new StopCell(pos);
+                case '*' -> new EntityCell(pos, new Gem());
+                default -> new EntityCell(pos);
+            };
+        });
+        gameState = new GameState(gameBoard);
+
+        final var graph = new MoveGraph(gameBoard, gameState.getPlayer());
+        final var search = new LookaheadSearch(graph);
+        final var random = new Random(0);
+
+        // The table is shared by all searches, so states are reached again with both more and fewer moves left
+        final var depths = new int[]{6, 1, 5, 2, 4, 3, 1, 2, 3, 4, 5, 6};
+        for (final var depth : depths) {
+            for (int node = 0; node < graph.getNumNodes(); ++node) {
+                final var direction = search.bestDirection(node, graph.getAllGems(), depth, random);
+                var expected = Integer.MIN_VALUE;
+                for (final var dir : Direction.values()) {
+                    expected = Math.max(expected, bruteForceScoreMove(graph, node, graph.getAllGems(), dir, depth));
+                }
+
+                if (expected == Integer.MIN_VALUE) {
+                    assertNull(direction);
+                } else {
+                    assertNotNull(direction);
+                    assertEquals(expected, bruteForceScoreMove(graph, node, graph.getAllGems(), direction, depth),
+                            "node " + node + ", depth " + depth);
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameBoard = null;
+        gameState = null;
+    }
+}
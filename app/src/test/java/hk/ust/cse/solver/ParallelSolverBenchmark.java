@@ -0,0 +1,93 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.model.CellCode;
+import hk.ust.cse.model.GameBoard;
+import hk.ust.cse.model.GameState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the speedup of {@link ParallelSolver} over 1 to N worker threads, where N is the number of available
+ * processors.
+ *
+ * <p>
+ * Run with {@code gradle benchmark}. These are excluded from the regular test run.
+ * </p>
+ */
+public class ParallelSolverBenchmark {
+
+    private static final int SIZE = 20;
+    private static final int NUM_GEMS = 24;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark - Parallel Solver Speedup")
+    void benchmarkSpeedup() {
+        final var gameState = createPuzzle(new Random(2));
+        final var graph = new MoveGraph(gameState.getGameBoard(), gameState.getPlayer());
+        final var expected = new Solver(graph).solve();
+        assertNotNull(expected);
+
+        final var maxParallelism = Runtime.getRuntime().availableProcessors();
+        System.out.printf("Parallel solver on %dx%d with %d gems (%d moves):%n", SIZE, SIZE, NUM_GEMS, expected.size());
+
+        var baselineNanos = 0L;
+        for (int parallelism = 1; parallelism <= maxParallelism; ++parallelism) {
+            final var pool = new ForkJoinPool(parallelism);
+            try {
+                final var solver = new ParallelSolver(graph, pool);
+                for (int round = 0; round < WARMUP_ROUNDS; ++round) {
+                    solver.solve();
+                }
+
+                final var startTime = System.nanoTime();
+                final var solution = solver.solve();
+                final var elapsed = System.nanoTime() - startTime;
+
+                assertNotNull(solution);
+                assertEquals(expected.size(), solution.size());
+                if (parallelism == 1) {
+                    baselineNanos = elapsed;
+                }
+                System.out.printf("  %2d threads %10.1f ms %6.2fx%n", parallelism, elapsed / 1e6,
+                        (double) baselineNanos / elapsed);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Creates a random square puzzle with walls, stop cells and gems, retrying until the game board is valid.
+     */
+    private static GameState createPuzzle(final Random random) {
+        while (true) {
+            final var codes = new byte[SIZE * SIZE];
+            for (int i = 0; i < codes.length; ++i) {
+                final var x = random.nextDouble();
+                codes[i] = x < 0.12 ? CellCode.WALL : x < 0.2 ? CellCode.STOP : CellCode.EMPTY;
+            }
+            codes[random.nextInt(codes.length)] = CellCode.PLAYER;
+            for (int placed = 0; placed < NUM_GEMS; ) {
+                final var index = random.nextInt(codes.length);
+                if (codes[index] == CellCode.EMPTY) {
+                    codes[index] = CellCode.GEM;
+                    ++placed;
+                }
+            }
+
+            try {
+                return new GameState(new GameBoard(SIZE, SIZE, codes));
+            } catch (IllegalArgumentException e) {
+                // Some gems are unreachable; try another board
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.model.*;
+import hk.ust.cse.util.GameBoardUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSolverTest {
+
+    private GameBoard gameBoard = null;
+    private GameState gameState = null;
+    private ForkJoinPool pool = null;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+    }
+
+    // .WW.*.
+    // .W..#.
+    // .**#.W
+    // ...#..
+    // ..*P..
+    // ...#**
+    @Test
+    @Tag("sanity")
+    @DisplayName("Parallel Solve - Same Length as Sequential Solver")
+    void testSolveSameLength() {
+        final var rows = new String[]{".WW.*.", ".W..#.", ".**#.W", "...#..", "..*P..", "...#**"};
+        gameBoard = GameBoardUtils.createGameBoard(6, 6, (pos) -> {
+            return switch (rows[pos.row()].charAt(pos.col())) {
+                case 'P' -> new StopCell(pos, new Player());
+                case 'W' -> new Wall(pos);
+                case '#' -> new StopCell(pos);
+                case '*' -> new EntityCell(pos, new Gem());
+                default -> new EntityCell(pos);
+            };
+        });
+        gameState = new GameState(gameBoard);
+
+        final var graph = new MoveGraph(gameBoard, gameState.getPlayer());
+        final var expected = new Solver(graph).solve();
+        final var solution = new ParallelSolver(graph, pool).solve();
+        assertNotNull(expected);
+        assertNotNull(solution);
+        assertEquals(11, expected.size());
+        assertEquals(expected.size(), solution.size());
+
+        final var controller = new GameController(gameState);
+        for (final var direction : solution) {
+            assertTrue(controller.processMove(direction) instanceof MoveResult.Valid.Alive);
+        }
+        assertTrue(gameState.noGemsLeft());
+    }
+
+    // P.M*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Parallel Solve - Gem Behind Mine is Unsolvable")
+    void testSolveUnsolvable() {
+        gameBoard = GameBoardUtils.createGameBoard(1, 4, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2))) {
+                return new EntityCell(pos, new Mine());
+            } else if (pos.equals(new Position(0, 3))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        gameState = new GameState(gameBoard);
+
+        assertNull(new ParallelSolver(gameState, pool).solve());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        pool = null;
+        gameBoard = null;
+        gameState = null;
+    }
+}
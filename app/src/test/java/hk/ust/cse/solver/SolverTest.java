@@ -0,0 +1,155 @@
+package hk.ust.cse.solver;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.model.*;
+import hk.ust.cse.util.GameBoardUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverTest {
+
+    private GameBoard gameBoard = null;
+    private GameState gameState = null;
+
+    // P..*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Solve - Single Move")
+    void testSolveSingleMove() {
+        gameBoard = GameBoardUtils.createGameBoard(1, 4, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 3))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        gameState = new GameState(gameBoard);
+
+        assertEquals(List.of(Direction.RIGHT), new Solver(gameState).solve());
+    }
+
+    // P..
+    // .W.
+    // *.*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Solve - Shortest Solution Replays to a Win")
+    void testSolveReplay() {
+        gameBoard = GameBoardUtils.createGameBoard(3, 3, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(1, 1))) {
+                return new Wall(pos);
+            } else if (pos.equals(new Position(2, 0)) || pos.equals(new Position(2, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        gameState = new GameState(gameBoard);
+
+        final var solution = new Solver(gameState).solve();
+        assertNotNull(solution);
+        assertEquals(2, solution.size());
+
+        final var controller = new GameController(gameState);
+        for (final var direction : solution) {
+            assertTrue(controller.processMove(direction) instanceof MoveResult.Valid.Alive);
+        }
+        assertTrue(gameState.noGemsLeft());
+    }
+
+    // P.M*
+    @Test
+    @Tag("sanity")
+    @DisplayName("Solve - Gem Behind Mine is Unsolvable")
+    void testSolveUnsolvable() {
+        gameBoard = GameBoardUtils.createGameBoard(1, 4, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2))) {
+                return new EntityCell(pos, new Mine());
+            } else if (pos.equals(new Position(0, 3))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        gameState = new GameState(gameBoard);
+
+        assertNull(new Solver(gameState).solve());
+    }
+
+    // P.**.
+    // .....
+    @Test
+    @Tag("sanity")
+    @DisplayName("Move Graph - Gems Always Collected Together are Tracked Once")
+    void testImpliedGemsNotTracked() {
+        gameBoard = GameBoardUtils.createGameBoard(2, 5, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new EntityCell(pos, new Player());
+            } else if (pos.equals(new Position(0, 2)) || pos.equals(new Position(0, 3))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        gameState = new GameState(gameBoard);
+
+        final var graph = new MoveGraph(gameBoard, gameState.getPlayer());
+        assertEquals(1, graph.getNumGems());
+        assertEquals(1, new Solver(graph).solve().size());
+    }
+
+    // P.*.#
+    // ..M.*
+    // P...#
+    @Test
+    @Tag("sanity")
+    @DisplayName("Move Graph - Snapshot Builds The Same Graph")
+    void testGraphFromSnapshot() {
+        final var codes = new byte[]{
+                CellCode.PLAYER, CellCode.EMPTY, CellCode.GEM, CellCode.EMPTY, CellCode.STOP,
+                CellCode.EMPTY, CellCode.EMPTY, CellCode.MINE, CellCode.EMPTY, CellCode.GEM,
+                CellCode.PLAYER, CellCode.EMPTY, CellCode.EMPTY, CellCode.EMPTY, CellCode.STOP,
+        };
+        gameBoard = new GameBoard(3, 5, codes);
+        final var player = gameBoard.getPlayers().get(0);
+
+        final var expected = new MoveGraph(gameBoard, player);
+        final var snapshot = gameBoard.snapshot();
+        final var actual = new MoveGraph(snapshot, player.getId());
+
+        assertEquals(expected.getNumNodes(), actual.getNumNodes());
+        assertEquals(expected.getNumGems(), actual.getNumGems());
+        for (int node = 0; node < expected.getNumNodes(); ++node) {
+            assertSame(expected.getPosition(node), actual.getPosition(node));
+            for (final var dir : Direction.values()) {
+                assertEquals(expected.getSuccessor(node, dir), actual.getSuccessor(node, dir));
+                assertEquals(expected.getCollectedGems(node, dir), actual.getCollectedGems(node, dir));
+            }
+        }
+
+        // The gem collected by moving right is no longer remaining
+        assertEquals(actual.getAllGems(), actual.getRemainingGems(snapshot));
+        final var moved = snapshot.makeMove(Direction.RIGHT, player.getId());
+        assertEquals(actual.getAllGems() & ~actual.getCollectedGems(actual.getStartNode(), Direction.RIGHT),
+                actual.getRemainingGems(moved));
+        assertThrows(IllegalArgumentException.class, () -> new MoveGraph(snapshot, -1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameBoard = null;
+        gameState = null;
+    }
+}
@@ -0,0 +1,123 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGameStateSerializerTest {
+
+    private Path tempDir = null;
+
+    // P..
+    // MWL
+    // .GS
+    private static GameState[] createGameStates(final String numLives) {
+        final var source = String.join(System.lineSeparator(), "3", "3", numLives, "P..", "MWL", ".GS");
+        try (final var reader = new BufferedReader(new StringReader(source))) {
+            return GameStateSerializer.loadFrom(reader);
+        } catch (IOException e) {
+            fail(e);
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Binary Format Test - Round Trip")
+    void testRoundTrip() {
+        final var gameState = createGameStates("10")[0];
+
+        final var buffer = BinaryGameStateSerializer.encode(gameState);
+        // 9 cells are packed into 5 bytes
+        assertEquals(BinaryGameStateSerializer.HEADER_SIZE + 5, buffer.remaining());
+
+        final var gameStates = BinaryGameStateSerializer.decode(buffer);
+        assertEquals(1, gameStates.length);
+        assertEquals(10, gameStates[0].getNumLives());
+
+        final var gameBoard = gameStates[0].getGameBoard();
+        assertTrue(gameBoard.isPacked());
+        assertEquals(3, gameBoard.getNumRows());
+        assertEquals(3, gameBoard.getNumCols());
+        assertEquals(1, gameBoard.getNumGems());
+        assertArrayEquals(gameState.getGameBoard().getCellCodes(), gameBoard.getCellCodes());
+        assertTrue(((StopCell) gameBoard.getCell(0, 0)).getEntity() instanceof Player);
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Binary Format Test - Unlimited Lives")
+    void testUnlimitedLives() {
+        final var gameState = createGameStates("")[0];
+
+        final var gameStates = BinaryGameStateSerializer.decode(BinaryGameStateSerializer.encode(gameState));
+        assertTrue(gameStates[0].hasUnlimitedLives());
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Binary Format Test - Corrupted Cell Data")
+    void testCorruptedCellData() {
+        final var buffer = BinaryGameStateSerializer.encode(createGameStates("")[0]);
+        final var lastIndex = buffer.limit() - 1;
+        buffer.put(lastIndex, (byte) (buffer.get(lastIndex) ^ 0x10));
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryGameStateSerializer.decode(buffer));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Binary Format Test - Not A Binary Game File")
+    void testInvalidMagic() {
+        final var buffer = BinaryGameStateSerializer.encode(createGameStates("")[0]);
+        buffer.putInt(0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryGameStateSerializer.decode(buffer));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryGameStateSerializer.decode(buffer.slice(0, BinaryGameStateSerializer.HEADER_SIZE - 1)));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Binary Format Test - Convert From And To Text")
+    void testConvert() throws IOException {
+        tempDir = Files.createTempDirectory("binary-game-test");
+        final var source = String.join(System.lineSeparator(), "3", "3", "5", "P..", "MWL", ".GS")
+                + System.lineSeparator();
+        final var textFile = Files.writeString(tempDir.resolve("puzzle.game"), source);
+        final var binaryFile = tempDir.resolve("puzzle.bgame");
+        final var convertedFile = tempDir.resolve("converted.game");
+
+        BinaryGameStateSerializer.convertFromText(textFile, binaryFile);
+        final var gameStates = BinaryGameStateSerializer.loadFrom(binaryFile);
+        assertEquals(5, gameStates[0].getNumLives());
+        assertTrue(gameStates[0].getGameBoard().getCell(2, 1) instanceof EntityCell);
+        assertTrue(((EntityCell) gameStates[0].getGameBoard().getCell(2, 1)).getEntity() instanceof Gem);
+
+        BinaryGameStateSerializer.convertToText(binaryFile, convertedFile);
+        assertEquals(source, Files.readString(convertedFile));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempDir != null) {
+            try (var files = Files.list(tempDir)) {
+                for (var file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(tempDir);
+            tempDir = null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameCheckpointTest {
+
+    private Path tempDir = null;
+    private Path checkpointFile = null;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("game-checkpoint-test");
+        checkpointFile = tempDir.resolve("game.checkpoint");
+    }
+
+    // P..
+    // MWL
+    // .GS
+    private static GameController createController() {
+        final var source = String.join(System.lineSeparator(), "3", "3", "3", "P..", "MWL", ".GS");
+        try (final var reader = new BufferedReader(new StringReader(source))) {
+            return new GameController(GameStateSerializer.loadFrom(reader));
+        } catch (IOException e) {
+            fail(e);
+            throw new AssertionError();
+        }
+    }
+
+    private static void assertSameGame(final GameController expected, final GameController actual) {
+        final var expectedState = expected.getGameState();
+        final var actualState = actual.getGameState();
+        assertEquals(expectedState.getNumMoves(), actualState.getNumMoves());
+        assertEquals(expectedState.getNumDeaths(), actualState.getNumDeaths());
+        assertEquals(expectedState.getNumGotGems(), actualState.getNumGotGems());
+        assertEquals(expectedState.getNumLives(), actualState.getNumLives());
+        assertEquals(expectedState.getMoveStack().getPopCount(), actualState.getMoveStack().getPopCount());
+        assertEquals(expectedState.getUndoableMoves().size(), actualState.getUndoableMoves().size());
+        assertEquals(expectedState.getScore(), actualState.getScore());
+        assertArrayEquals(expected.getGameBoard().getCellCodes(), actual.getGameBoard().getCellCodes());
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Checkpoint Test - Restore Moves And Undos")
+    void testRestore() throws IOException {
+        final var controller = createController();
+        try (var checkpoint = GameCheckpoint.create(checkpointFile, controller)) {
+            assertSame(controller, checkpoint.getGameController());
+
+            // Dies on the mine
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Valid.Dead);
+            assertTrue(controller.processMove(Direction.RIGHT) instanceof MoveResult.Valid.Alive);
+            // Collects the extra life
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Valid.Alive);
+            assertTrue(controller.processUndo());
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Valid.Alive);
+            assertTrue(controller.processMove(Direction.DOWN) instanceof MoveResult.Invalid);
+        }
+
+        final var restored = GameCheckpoint.restore(checkpointFile);
+        assertSameGame(controller, restored);
+        assertEquals(1, restored.getGameState().getNumDeaths());
+        assertEquals(1, restored.getGameState().getMoveStack().getPopCount());
+        assertEquals(new Position(2, 2), restored.getGameState().getPlayer().getOwner().getPosition());
+
+        // The move history is restored, so the restored game can be undone
+        assertTrue(controller.processUndo());
+        assertTrue(restored.processUndo());
+        assertSameGame(controller, restored);
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Checkpoint Test - Snapshot In The Middle Of A Game")
+    void testSnapshotInMiddleOfGame() throws IOException {
+        final var controller = createController();
+        controller.processMove(Direction.DOWN);
+        controller.processMove(Direction.RIGHT);
+        controller.processMove(Direction.DOWN);
+        controller.processUndo();
+        controller.processMove(Direction.DOWN);
+
+        GameCheckpoint.create(checkpointFile, controller).close();
+        // Moves made after the checkpoint is closed are not recorded
+        controller.processMove(Direction.LEFT);
+
+        final var restored = GameCheckpoint.restore(checkpointFile);
+        assertEquals(controller.getGameState().getNumMoves() - 1, restored.getGameState().getNumMoves());
+        assertEquals(1, restored.getGameState().getNumDeaths());
+        assertEquals(1, restored.getGameState().getMoveStack().getPopCount());
+        assertEquals(2, restored.getGameState().getUndoableMoves().size());
+
+        restored.processMove(Direction.LEFT);
+        assertSameGame(controller, restored);
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Checkpoint Test - Resume Appends To The Same File")
+    void testResume() throws IOException {
+        final var controller = createController();
+        try (var checkpoint = GameCheckpoint.create(checkpointFile, controller)) {
+            checkpoint.getGameController().processMove(Direction.RIGHT);
+        }
+
+        try (var checkpoint = GameCheckpoint.resume(checkpointFile)) {
+            final var resumed = checkpoint.getGameController();
+            assertSameGame(controller, resumed);
+
+            controller.processMove(Direction.DOWN);
+            resumed.processMove(Direction.DOWN);
+        }
+
+        assertSameGame(controller, GameCheckpoint.restore(checkpointFile));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Checkpoint Test - Partially Written Record Is Discarded")
+    void testPartialRecord() throws IOException {
+        final var controller = createController();
+        final long sizeBeforeLastMove;
+        try (var checkpoint = GameCheckpoint.create(checkpointFile, controller)) {
+            checkpoint.getGameController().processMove(Direction.RIGHT);
+            sizeBeforeLastMove = Files.size(checkpointFile);
+            checkpoint.getGameController().processMove(Direction.DOWN);
+        }
+        try (var channel = FileChannel.open(checkpointFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(checkpointFile) - 1);
+        }
+
+        final var restored = GameCheckpoint.restore(checkpointFile);
+        assertEquals(1, restored.getGameState().getNumMoves());
+        assertEquals(new Position(0, 2), restored.getGameState().getPlayer().getOwner().getPosition());
+
+        // Resuming drops the partial record before appending
+        try (var checkpoint = GameCheckpoint.resume(checkpointFile)) {
+            assertEquals(sizeBeforeLastMove, Files.size(checkpointFile));
+            checkpoint.getGameController().processMove(Direction.DOWN);
+        }
+        assertSameGame(controller, GameCheckpoint.restore(checkpointFile));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempDir != null) {
+            Files.deleteIfExists(checkpointFile);
+            Files.delete(tempDir);
+            tempDir = null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GamePackTest {
+
+    private Path tempDir = null;
+    private Path packFile = null;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("game-pack-test");
+        final var gameDir = Files.createDirectory(tempDir.resolve("puzzles"));
+
+        // P..
+        // MWL
+        // .GS
+        Files.writeString(gameDir.resolve("01-small.game"),
+                String.join(System.lineSeparator(), "3", "3", "", "P..", "MWL", ".GS"));
+        // P...G
+        // S.G.W
+        Files.writeString(gameDir.resolve("02-wide.game"),
+                String.join(System.lineSeparator(), "2", "5", "4", "P...G", "S.G.W"));
+        Files.writeString(gameDir.resolve("notes.txt"), "not a game file");
+
+        packFile = GamePack.build(gameDir, tempDir.resolve("puzzles" + GamePack.FILE_EXTENSION));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Game Pack Test - Index")
+    void testIndex() throws IOException {
+        try (var pack = GamePack.open(packFile)) {
+            final var entries = pack.getEntries();
+            assertEquals(List.of("01-small", "02-wide"), entries.stream().map(GamePack.Entry::name).toList());
+
+            assertEquals(3, entries.get(0).numRows());
+            assertEquals(3, entries.get(0).numCols());
+            assertEquals(1, entries.get(0).numGems());
+            assertEquals(2, entries.get(1).numRows());
+            assertEquals(5, entries.get(1).numCols());
+            assertEquals(2, entries.get(1).numGems());
+
+            assertTrue(pack.contains("02-wide"));
+            assertFalse(pack.contains("notes"));
+        }
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Game Pack Test - Load Entry")
+    void testLoadEntry() throws IOException {
+        try (var pack = GamePack.open(packFile)) {
+            final var gameStates = pack.load("02-wide");
+            assertEquals(1, gameStates.length);
+            assertEquals(4, gameStates[0].getNumLives());
+
+            final var gameBoard = gameStates[0].getGameBoard();
+            assertEquals(2, gameBoard.getNumGems());
+            assertTrue(gameBoard.getCell(1, 4) instanceof Wall);
+            assertTrue(((EntityCell) gameBoard.getCell(0, 4)).getEntity() instanceof Gem);
+
+            assertThrows(FileNotFoundException.class, () -> pack.load("03-missing"));
+        }
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Game Pack Test - Load Entry With GameStateSerializer")
+    void testLoadEntryWithSerializer() throws FileNotFoundException {
+        final var gameStates = GameStateSerializer.loadFrom(packFile.resolve("01-small"));
+        assertEquals(1, gameStates.length);
+        assertTrue(gameStates[0].hasUnlimitedLives());
+        assertTrue(((StopCell) gameStates[0].getGameBoard().getCell(0, 0)).getEntity() instanceof Player);
+
+        assertThrows(FileNotFoundException.class, () -> GameStateSerializer.loadFrom(packFile.resolve("03-missing")));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Game Pack Test - Not A Pack File")
+    void testNotAPackFile() {
+        final var gameFile = tempDir.resolve("puzzles").resolve("01-small.game");
+        assertThrows(IllegalArgumentException.class, () -> GamePack.open(gameFile));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempDir != null) {
+            try (var files = Files.walk(tempDir)) {
+                for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+            tempDir = null;
+        }
+    }
+}
@@ -8,6 +8,9 @@ import org.junit.jupiter.api.Test;
 
 import java.io.*;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -229,6 +232,96 @@ public class GameStateSerializerTest {
         assertNull(((StopCell) gameBoard.getCell(2, 2)).getEntity());
     }
 
+    @Test
+    @Tag("sanity")
+    @DisplayName("Deserialization Test - Large Board Round Trip")
+    void testDeserializeLargeBoard() {
+        final var rows = 200;
+        final var cols = 200;
+        final var lines = new String[rows + 3];
+        lines[0] = Integer.toString(rows);
+        lines[1] = Integer.toString(cols);
+        lines[2] = "";
+        for (int r = 0; r < rows; ++r) {
+            final var line = new StringBuilder(".".repeat(cols));
+            if (r == 0) {
+                line.setCharAt(0, 'P');
+                line.setCharAt(cols - 1, 'G');
+            } else if (r == rows - 1) {
+                line.setCharAt(0, 'S');
+                line.setCharAt(1, 'W');
+                line.setCharAt(2, 'M');
+                line.setCharAt(3, 'L');
+            }
+            lines[r + 3] = line.toString();
+        }
+        final var source = String.join(System.lineSeparator(), lines);
+
+        final GameState[] gameStates;
+        try (final var reader = new BufferedReader(new StringReader(source))) {
+            gameStates = GameStateSerializer.loadFrom(reader);
+        } catch (IOException e) {
+            fail(e);
+            throw new AssertionError();
+        }
+
+        assertEquals(1, gameStates.length);
+        final var gameBoard = gameStates[0].getGameBoard();
+        assertTrue(gameBoard.isPacked());
+        assertEquals(1, gameBoard.getNumGems());
+        assertTrue(gameBoard.getCell(0, 0) instanceof StopCell);
+        assertTrue(((StopCell) gameBoard.getCell(0, 0)).getEntity() instanceof Player);
+        assertTrue(gameBoard.getCell(rows - 1, 1) instanceof Wall);
+
+        final var strWriter = new StringWriter();
+        try (final var writer = new BufferedWriter(strWriter)) {
+            GameStateSerializer.writeTo(gameStates[0], writer);
+        } catch (IOException e) {
+            fail(e);
+        }
+        assertEquals(source + System.lineSeparator(), strWriter.toString());
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Deserialization Test - Reports Progress")
+    void testDeserializeReportsProgress() {
+        final var source = String.join(System.lineSeparator(), "3", "3", "", "P..", "MWL", ".GS");
+
+        final var events = new ArrayList<String>();
+        try (final var reader = new BufferedReader(new StringReader(source))) {
+            GameStateSerializer.loadFrom(reader,
+                    (phase, workDone, totalWork) -> events.add(phase + " " + workDone + "/" + totalWork));
+        } catch (IOException e) {
+            fail(e);
+        }
+
+        assertEquals(List.of("PARSING 1/3", "PARSING 2/3", "PARSING 3/3", "VALIDATING 0/1", "VALIDATING 1/1"), events);
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Deserialization Test - Cancelled By Interrupt")
+    void testDeserializeCancelledByInterrupt() {
+        final var source = String.join(System.lineSeparator(), "3", "3", "", "P..", "MWL", ".GS");
+
+        final var numRowsParsed = new int[]{0};
+        try (final var reader = new BufferedReader(new StringReader(source))) {
+            assertThrows(CancellationException.class, () -> GameStateSerializer.loadFrom(reader,
+                    (phase, workDone, totalWork) -> {
+                        numRowsParsed[0] = workDone;
+                        Thread.currentThread().interrupt();
+                    }));
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            Thread.interrupted();
+        }
+
+        // The interrupt is noticed right after the row during which it happened
+        assertEquals(1, numRowsParsed[0]);
+    }
+
     @AfterEach
     void tearDown() throws IOException {
         if (reader != null) {
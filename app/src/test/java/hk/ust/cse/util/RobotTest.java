@@ -0,0 +1,157 @@
+package hk.ust.cse.util;
+
+import hk.ust.cse.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RobotTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private Generator<Long> timeIntervalGenerator = null;
+    private final List<Robot> robots = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        timeIntervalGenerator = Robot.timeIntervalGenerator;
+        Robot.timeIntervalGenerator = () -> 1L;
+    }
+
+    // P..
+    // ...
+    // ..*
+    private static GameState createGameState() {
+        final var gameBoard = GameBoardUtils.createGameBoard(3, 3, (pos) -> {
+            if (pos.equals(new Position(0, 0))) {
+                return new StopCell(pos, new Player());
+            } else if (pos.equals(new Position(2, 2))) {
+                return new EntityCell(pos, new Gem());
+            } else {
+                return new EntityCell(pos);
+            }
+        });
+        return new GameState(gameBoard);
+    }
+
+    private Robot createRobot(final Robot.Strategy strategy) {
+        final var robot = new Robot(createGameState(), strategy);
+        robots.add(robot);
+        return robot;
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) throws InterruptedException {
+        final var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            Thread.sleep(1);
+        }
+    }
+
+    private static long countSchedulerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("robot-scheduler-"))
+                .count();
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Delegation - No Moves After Stopping")
+    void testStopDelegation() throws InterruptedException {
+        for (final var strategy : Robot.Strategy.values()) {
+            final var robot = createRobot(strategy);
+            final var numMoves = new AtomicInteger();
+            robot.startDelegation(direction -> numMoves.incrementAndGet());
+            awaitCondition(() -> numMoves.get() >= 3);
+
+            robot.stopDelegation();
+            final var numMovesWhenStopped = numMoves.get();
+            Thread.sleep(50);
+            assertEquals(numMovesWhenStopped, numMoves.get(), strategy.toString());
+        }
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Delegation - Many Delegations Share The Scheduler Threads")
+    void testThreadCountBounded() throws InterruptedException {
+        final var numMoves = new AtomicInteger[200];
+        for (int i = 0; i < numMoves.length; ++i) {
+            final var counter = new AtomicInteger();
+            numMoves[i] = counter;
+            createRobot(Robot.Strategy.Random).startDelegation(direction -> counter.incrementAndGet());
+        }
+        for (final var counter : numMoves) {
+            awaitCondition(() -> counter.get() >= 2);
+        }
+
+        assertTrue(countSchedulerThreads() <= Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Delegation - Keeps Moving After A Failed Move")
+    void testFailedMoveReported() throws InterruptedException {
+        final var defaultHandler = Thread.getDefaultUncaughtExceptionHandler();
+        final var reported = new AtomicReference<Throwable>();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> reported.compareAndSet(null, e));
+        try {
+            for (final var strategy : Robot.Strategy.values()) {
+                reported.set(null);
+                final var failure = new IllegalStateException(strategy.toString());
+                final var robot = createRobot(strategy);
+                final var numMoves = new AtomicInteger();
+                robot.startDelegation(direction -> {
+                    if (numMoves.incrementAndGet() == 1) {
+                        throw failure;
+                    }
+                });
+                awaitCondition(() -> numMoves.get() >= 3);
+                robot.stopDelegation();
+
+                assertSame(failure, reported.get());
+            }
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(defaultHandler);
+        }
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Make Move - Anytime Search Does Not Wait For The Time Interval")
+    void testMakeMoveSearchBudget() {
+        // Each move would search for 8 seconds if the time interval was used
+        Robot.timeIntervalGenerator = () -> 10_000L;
+        final var robot = createRobot(Robot.Strategy.Anytime);
+        final var numMoves = new AtomicInteger();
+
+        final var startTime = System.nanoTime();
+        for (int i = 0; i < 10; ++i) {
+            robot.makeMove(direction -> numMoves.incrementAndGet());
+        }
+        robot.makeMove(direction -> numMoves.incrementAndGet(), 0);
+        final var elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        assertEquals(11, numMoves.get());
+        assertTrue(elapsedMillis < 5_000, elapsedMillis + " ms");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (final var robot : robots) {
+            robot.stopDelegation();
+        }
+        robots.clear();
+        Robot.timeIntervalGenerator = timeIntervalGenerator;
+    }
+}
@@ -0,0 +1,124 @@
+package hk.ust.cse.view.events;
+
+import hk.ust.cse.controller.GameController;
+import hk.ust.cse.model.*;
+import hk.ust.cse.util.Robot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the number of moves per second made in fast-forward mode by each {@link Robot.Strategy}.
+ *
+ * <p>
+ * The moves are made the same way as {@code GameControlPane} does in fast-forward mode, recording them into a
+ * {@link FastForwardBuffer} which is sampled at 60 frames per second on another thread, but without the JavaFX toolkit.
+ * Run with {@code gradle benchmark}. These are excluded from the regular test run.
+ * </p>
+ */
+public class FastForwardBenchmark {
+
+    private static final int SIZE = 64;
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final long MEASURED_NANOS = 5_000_000_000L;
+    private static final long FRAME_MILLIS = 16;
+
+    // Stop cells on a grid let the player stop on every fourth row and column, and gems are sprinkled along them. The
+    // board is restarted whenever the robot has collected every gem.
+    //
+    // P...#..*#...#
+    // ....*........
+    // ........*....
+    // *............
+    // #...#...#...#
+    @ParameterizedTest
+    @Tag("benchmark")
+    @EnumSource(Robot.Strategy.class)
+    @DisplayName("Benchmark - Fast Forward Moves Per Second")
+    void benchmarkFastForward(final Robot.Strategy strategy) throws InterruptedException {
+        final var buffer = new FastForwardBuffer();
+        final var sampling = new AtomicBoolean(true);
+        final var sampler = new Thread(() -> {
+            while (sampling.get()) {
+                buffer.drain();
+                try {
+                    Thread.sleep(FRAME_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+        try {
+            runFor(strategy, buffer, WARMUP_NANOS);
+            final var numMoves = runFor(strategy, buffer, MEASURED_NANOS);
+            assertTrue(numMoves > 0);
+            System.out.printf("Fast forward with %s on %dx%d: %.0f moves/s%n", strategy, SIZE, SIZE,
+                    numMoves * 1e9 / MEASURED_NANOS);
+        } finally {
+            sampling.set(false);
+            sampler.join();
+        }
+    }
+
+    private static GameController createGame() {
+        final var codes = new byte[SIZE * SIZE];
+        for (int r = 0; r < SIZE; ++r) {
+            for (int c = 0; c < SIZE; ++c) {
+                if (r % 4 == 0 && c % 4 == 0) {
+                    codes[r * SIZE + c] = CellCode.STOP;
+                } else if ((r % 4 == 0 || c % 4 == 0) && (r * 7 + c * 3) % 23 == 6) {
+                    codes[r * SIZE + c] = CellCode.GEM;
+                }
+            }
+        }
+        codes[0] = CellCode.PLAYER;
+        return new GameController(new GameState(new GameBoard(SIZE, SIZE, codes)));
+    }
+
+    /**
+     * Makes moves of a robot for some time, restarting the game whenever it is over.
+     *
+     * @return The number of moves made.
+     */
+    private static long runFor(final Robot.Strategy strategy, final FastForwardBuffer buffer, final long nanos) {
+        var controller = createGame();
+        var robot = new Robot(controller.getGameState(), strategy);
+        final var chosen = new AtomicReference<Direction>();
+        var numMoves = 0L;
+
+        final var endTime = System.nanoTime() + nanos;
+        while (System.nanoTime() - endTime < 0) {
+            final var gameBoard = controller.getGameBoard();
+            final var player = controller.getGameState().getPlayer();
+            synchronized (gameBoard) {
+                if (gameBoard.getNumGems() == 0 || player.getOwner() == null) {
+                    controller = createGame();
+                    robot = new Robot(controller.getGameState(), strategy);
+                    continue;
+                }
+            }
+
+            chosen.set(null);
+            robot.makeMove(chosen::set);
+
+            synchronized (gameBoard) {
+                final var direction = chosen.get();
+                if (direction != null) {
+                    final var result = controller.processMove(direction, player.getId());
+                    if (result != null) {
+                        buffer.add(new MoveEvent(result, player.getId()));
+                        ++numMoves;
+                    }
+                }
+            }
+        }
+        return numMoves;
+    }
+}
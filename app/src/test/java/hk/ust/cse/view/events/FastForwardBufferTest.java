@@ -0,0 +1,88 @@
+package hk.ust.cse.view.events;
+
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FastForwardBufferTest {
+
+    private static MoveEvent createMove(final int row, final int fromCol, final int toCol) {
+        return new MoveEvent(new MoveResult.Valid.Alive(new Position(row, toCol), new Position(row, fromCol)), row);
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Fast Forward Buffer - Frame Records Every Move Since The Previous Frame")
+    void testDrain() {
+        final var buffer = new FastForwardBuffer();
+        final var kickOut = new MoveEvent(new MoveResult.Valid.KickedOut(new Position(2, 2)), 1);
+        buffer.add(new MoveEvent(new MoveResult.Valid.Alive(new Position(0, 3), new Position(0, 0),
+                List.of(new Position(0, 1)), List.of(new Position(0, 2))), 0));
+        buffer.add(new MoveEvent(new MoveResult.Valid.Dead(new Position(0, 3), new Position(1, 3)), 0));
+        buffer.add(new MoveEvent(new MoveResult.Invalid(new Position(0, 3)), 0));
+        buffer.add(kickOut);
+        buffer.add(createMove(0, 3, 0));
+
+        final var frame = buffer.drain();
+        assertEquals(5, frame.numMoves());
+        assertEquals(List.of(kickOut), frame.kickOutEvents());
+        assertEquals(Set.of(new Position(0, 0), new Position(0, 1), new Position(0, 2), new Position(0, 3),
+                new Position(1, 3), new Position(2, 2)), new HashSet<>(frame.changedCells()));
+        // Each changed cell is only redrawn once
+        assertEquals(6, frame.changedCells().size());
+
+        final var empty = buffer.drain();
+        assertEquals(0, empty.numMoves());
+        assertTrue(empty.changedCells().isEmpty());
+        assertTrue(empty.kickOutEvents().isEmpty());
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Fast Forward Buffer - Frames Sampled While Moving Add Up To All Moves")
+    void testDrainWhileAdding() throws InterruptedException {
+        final var buffer = new FastForwardBuffer();
+        final var numThreads = 4;
+        final var movesPerThread = 100_000;
+
+        final var threads = new ArrayList<Thread>();
+        for (int t = 0; t < numThreads; ++t) {
+            final var row = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < movesPerThread; ++i) {
+                    buffer.add(createMove(row, i % 8, (i + 1) % 8));
+                }
+            }));
+        }
+        for (final var thread : threads) {
+            thread.start();
+        }
+
+        var numMoves = 0L;
+        final var changedCells = new HashSet<Position>();
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            final var frame = buffer.drain();
+            numMoves += frame.numMoves();
+            changedCells.addAll(frame.changedCells());
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+        final var frame = buffer.drain();
+        numMoves += frame.numMoves();
+        changedCells.addAll(frame.changedCells());
+
+        assertEquals((long) numThreads * movesPerThread, numMoves);
+        assertEquals(numThreads * 8, changedCells.size());
+        assertEquals(0, buffer.drain().numMoves());
+    }
+}
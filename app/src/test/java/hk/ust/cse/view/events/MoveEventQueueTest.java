@@ -0,0 +1,119 @@
+package hk.ust.cse.view.events;
+
+import hk.ust.cse.model.MoveResult;
+import hk.ust.cse.model.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveEventQueueTest {
+
+    private List<Runnable> dispatched = null;
+    private List<MoveEvent> handled = null;
+    private List<FastForwardBuffer.Frame> frames = null;
+
+    @BeforeEach
+    void setUp() {
+        dispatched = new ArrayList<>();
+        handled = new ArrayList<>();
+        frames = new ArrayList<>();
+    }
+
+    private MoveEventQueue createQueue(final int capacity) {
+        return new MoveEventQueue(capacity, handled::add, frames::add, dispatched::add);
+    }
+
+    private static MoveEvent createMove(final int fromCol, final int toCol) {
+        return new MoveEvent(new MoveResult.Valid.Alive(new Position(0, toCol), new Position(0, fromCol)), 0);
+    }
+
+    private void runDispatched() {
+        final var drains = new ArrayList<>(dispatched);
+        dispatched.clear();
+        for (final var drain : drains) {
+            drain.run();
+        }
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Move Event Queue - Capacity Must Be Positive")
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> createQueue(0));
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Move Event Queue - Events Delivered In Order By A Single Drain")
+    void testSingleDrain() {
+        final var queue = createQueue(4);
+        final var events = List.of(createMove(0, 1), createMove(1, 2), createMove(2, 3));
+        for (final var event : events) {
+            queue.post(event);
+        }
+        assertEquals(1, dispatched.size());
+        assertTrue(handled.isEmpty());
+
+        runDispatched();
+        assertEquals(events, handled);
+        assertTrue(frames.isEmpty());
+
+        // A new drain is dispatched once the previous one has run
+        queue.post(createMove(3, 4));
+        assertEquals(1, dispatched.size());
+    }
+
+    @Test
+    @Tag("sanity")
+    @DisplayName("Move Event Queue - Events Above Capacity Are Coalesced")
+    void testCoalesced() {
+        final var queue = createQueue(2);
+        final var kept = List.of(createMove(0, 1), createMove(1, 2));
+        final var kickOut = new MoveEvent(new MoveResult.Valid.KickedOut(new Position(0, 5)), 1);
+        for (final var event : kept) {
+            queue.post(event);
+        }
+        for (int i = 0; i < 1000; ++i) {
+            queue.post(createMove(2 + i % 2, 3 - i % 2));
+        }
+        queue.post(kickOut);
+        assertEquals(1, dispatched.size());
+
+        runDispatched();
+        assertEquals(kept, handled);
+        assertEquals(1, frames.size());
+        final var frame = frames.get(0);
+        assertEquals(1001, frame.numMoves());
+        assertEquals(Set.of(new Position(0, 2), new Position(0, 3), new Position(0, 5)),
+                new HashSet<>(frame.changedCells()));
+        assertEquals(3, frame.changedCells().size());
+        assertEquals(List.of(kickOut), frame.kickOutEvents());
+
+        // Each drain delivers up to the capacity again
+        handled.clear();
+        frames.clear();
+        final var next = List.of(createMove(3, 4), createMove(4, 5));
+        for (final var event : next) {
+            queue.post(event);
+        }
+        runDispatched();
+        assertEquals(next, handled);
+        assertTrue(frames.isEmpty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatched = null;
+        handled = null;
+        frames = null;
+    }
+}